@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Time-to-ready for the same build started three ways: plain jar, AOT, and AOT + CDS.
+# Ready means the first HTTP response from the server, of any status.
+#
+#   mvn -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Needs the usual runtime environment (database credentials, JWT_SECRET, ...). Run it on
+# an otherwise idle machine; the first run of each mode is a warm-up for the OS file cache
+# and is not counted.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${BENCHMARK_PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=$(ls target/backend-*.jar | grep -v original | head -1)
+APP_JAR=target/app/$(basename "$JAR")
+CDS_ARCHIVE=target/app/application.jsa
+
+for required in "$JAR" "$APP_JAR" "$CDS_ARCHIVE"; do
+    if [ ! -f "$required" ]; then
+        echo "Missing $required; build with: mvn -Pfast-startup -DskipTests package" >&2
+        exit 1
+    fi
+done
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints milliseconds from launch until the port answers.
+start_once() {
+    local log=$1
+    shift
+    local started=$(now_ms)
+    "$JAVA" "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ready=$(now_ms)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $((ready - started))
+}
+
+measure() {
+    local mode=$1
+    shift
+    local log=target/startup-$mode.log
+    local times=()
+    start_once "$log" "$@" > /dev/null
+    for _ in $(seq "$RUNS"); do
+        times+=("$(start_once "$log" "$@")")
+    done
+    local sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-8s min %6d ms  median %6d ms  max %6d ms  (%s)\n' "$mode" \
+        "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}" \
+        "$(grep -o 'Started [A-Za-z]* in .*' "$log" | tail -1)"
+}
+
+measure jar -jar "$JAR"
+measure aot -Dspring.aot.enabled=true -jar "$JAR"
+measure aot-cds -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$APP_JAR"
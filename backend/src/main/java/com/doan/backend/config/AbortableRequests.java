@@ -0,0 +1,52 @@
+package com.doan.backend.config;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.function.Supplier;
+
+// Lets another thread abort the outbound HTTP exchange a worker is blocked in. A classic
+// socket read ignores Thread.interrupt() until the read timeout, so cancelling a task
+// alone does not free its thread; cancelling the request closes the connection instead.
+public final class AbortableRequests {
+
+    private static final ThreadLocal<Handle> CURRENT = new ThreadLocal<>();
+
+    private AbortableRequests() {
+    }
+
+    public static <T> T run(Handle handle, Supplier<T> call) {
+        CURRENT.set(handle);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    // Called by OutboundHttpClientFactory for every request it creates.
+    static void register(Cancellable request) {
+        Handle handle = CURRENT.get();
+        if (handle != null) {
+            handle.register(request);
+        }
+    }
+
+    public static final class Handle {
+        private Cancellable request;
+        private boolean aborted;
+
+        synchronized void register(Cancellable request) {
+            this.request = request;
+            if (aborted) {
+                request.cancel();
+            }
+        }
+
+        public synchronized void abort() {
+            aborted = true;
+            if (request != null) {
+                request.cancel();
+            }
+        }
+    }
+}
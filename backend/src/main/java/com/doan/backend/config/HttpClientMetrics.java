@@ -0,0 +1,74 @@
+package com.doan.backend.config;
+
+import com.doan.backend.dto.response.HttpClientStatsResponse;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class HttpClientMetrics {
+
+    private final Map<String, HostStats> stats = new ConcurrentHashMap<>();
+
+    private static class HostStats {
+        final String integration;
+        final String host;
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        HostStats(String integration, String host) {
+            this.integration = integration;
+            this.host = host;
+        }
+    }
+
+    public ClientHttpRequestInterceptor interceptor(String integration) {
+        return (HttpRequest request, byte[] body, ClientHttpRequestExecution execution) -> {
+            HostStats hostStats = stats.computeIfAbsent(integration + "|" + request.getURI().getHost(),
+                    key -> new HostStats(integration, request.getURI().getHost()));
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                failed = response.getStatusCode().is5xxServerError();
+                return response;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                hostStats.requests.increment();
+                hostStats.totalNanos.add(elapsed);
+                hostStats.maxNanos.accumulate(elapsed);
+                if (failed) {
+                    hostStats.errors.increment();
+                }
+            }
+        };
+    }
+
+    public List<HttpClientStatsResponse> snapshot() {
+        return stats.values().stream()
+                .map(hostStats -> {
+                    long requests = hostStats.requests.sum();
+                    return HttpClientStatsResponse.builder()
+                            .integration(hostStats.integration)
+                            .host(hostStats.host)
+                            .requests(requests)
+                            .errors(hostStats.errors.sum())
+                            .averageLatencyMs(requests == 0 ? 0 : hostStats.totalNanos.sum() / requests / 1_000_000.0)
+                            .maxLatencyMs(hostStats.maxNanos.get() / 1_000_000.0)
+                            .build();
+                })
+                .sorted(Comparator.comparing(HttpClientStatsResponse::getIntegration).thenComparing(HttpClientStatsResponse::getHost))
+                .toList();
+    }
+}
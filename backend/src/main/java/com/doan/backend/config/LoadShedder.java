@@ -0,0 +1,119 @@
+package com.doan.backend.config;
+
+import com.doan.backend.dto.response.LoadSheddingStatsResponse;
+import com.doan.backend.enums.RequestPriority;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Turns requests away before they queue for a worker thread or a pooled connection.
+// LOW requests are shed as soon as the server gets busy, NORMAL ones only once it is
+// saturated, CRITICAL ones (payment callbacks) never.
+@Component
+public class LoadShedder {
+
+    private final HikariDataSource pool;
+    private final int maxInFlight;
+    private final int busyInFlight;
+    private final int maxPoolWaiters;
+    private final List<PathPattern> criticalPaths;
+    private final List<PathPattern> lowPriorityPaths;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, LongAdder> shed = new EnumMap<>(RequestPriority.class);
+
+    public LoadShedder(DataSource dataSource,
+                       @Value("${load-shedding.max-in-flight:180}") int maxInFlight,
+                       @Value("${load-shedding.busy-ratio:0.75}") double busyRatio,
+                       @Value("${load-shedding.max-pool-waiters:10}") int maxPoolWaiters,
+                       @Value("${load-shedding.critical-paths:}") List<String> criticalPaths,
+                       @Value("${load-shedding.low-priority-paths:}") List<String> lowPriorityPaths) {
+        this.pool = hikari(dataSource);
+        this.maxInFlight = maxInFlight;
+        this.busyInFlight = (int) (maxInFlight * busyRatio);
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.criticalPaths = parse(criticalPaths);
+        this.lowPriorityPaths = parse(lowPriorityPaths);
+        for (RequestPriority priority : RequestPriority.values()) {
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream()
+                .map(String::strip)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    public RequestPriority priorityOf(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        if (criticalPaths.stream().anyMatch(pattern -> pattern.matches(container))) {
+            return RequestPriority.CRITICAL;
+        }
+        if (lowPriorityPaths.stream().anyMatch(pattern -> pattern.matches(container))) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    // Admits the request and counts it in flight, or returns false when it should be shed.
+    // Every admitted request must be matched by exit().
+    public boolean tryEnter(RequestPriority priority) {
+        if (priority != RequestPriority.CRITICAL) {
+            int waiters = poolWaiters();
+            int current = inFlight.get();
+            boolean saturated = current >= maxInFlight || waiters >= maxPoolWaiters;
+            boolean busy = saturated || current >= busyInFlight || waiters > 0;
+            if (saturated || (priority == RequestPriority.LOW && busy)) {
+                shed.get(priority).increment();
+                return false;
+            }
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    private int poolWaiters() {
+        HikariPoolMXBean bean = pool != null ? pool.getHikariPoolMXBean() : null;
+        return bean != null ? bean.getThreadsAwaitingConnection() : 0;
+    }
+
+    public LoadSheddingStatsResponse snapshot() {
+        HikariPoolMXBean bean = pool != null ? pool.getHikariPoolMXBean() : null;
+        Map<String, Long> shedCounts = new LinkedHashMap<>();
+        shed.forEach((priority, count) -> shedCounts.put(priority.name(), count.sum()));
+        return LoadSheddingStatsResponse.builder()
+                .inFlight(inFlight.get())
+                .maxInFlight(maxInFlight)
+                .poolActive(bean != null ? bean.getActiveConnections() : null)
+                .poolWaiting(bean != null ? bean.getThreadsAwaitingConnection() : null)
+                .shed(shedCounts)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.doan.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+// Exposes MySQL full-text search to JPQL as match_against(column, query). Callers
+// compare the score with > 0 so MySQL can answer the predicate from the FULLTEXT index.
+public class MySqlSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "match_against",
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
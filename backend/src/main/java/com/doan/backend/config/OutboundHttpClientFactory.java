@@ -0,0 +1,128 @@
+package com.doan.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One connection pool shared by every outbound integration. Each integration gets its
+// own client on top of it, configured from http.client.<name>.* with fallback to
+// http.client.default.*, so timeouts, retries and the per-host cap can differ per API.
+@Component
+public class OutboundHttpClientFactory {
+
+    private final Environment environment;
+    private final HttpClientMetrics httpClientMetrics;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Map<String, ConnectionConfig> connectionConfigByHost = new ConcurrentHashMap<>();
+    private final ConnectionConfig defaultConnectionConfig;
+    private final List<CloseableHttpClient> clients = new ArrayList<>();
+
+    public OutboundHttpClientFactory(Environment environment, HttpClientMetrics httpClientMetrics) {
+        this.environment = environment;
+        this.httpClientMetrics = httpClientMetrics;
+        this.defaultConnectionConfig = connectionConfig("default");
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(environment.getProperty("http.client.max-total", Integer.class, 100))
+                .setMaxConnPerRoute(setting("default", "max-per-host", 20))
+                .build();
+        this.connectionManager.setConnectionConfigResolver(route ->
+                connectionConfigByHost.getOrDefault(route.getTargetHost().getHostName(), defaultConnectionConfig));
+    }
+
+    public synchronized RestTemplate create(String integration, ClientHttpRequestInterceptor... interceptors) {
+        String baseUrl = environment.getProperty("http.client." + integration + ".base-url");
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            // Pool routes carry the resolved port, so https://host becomes host:443 here too.
+            HttpHost host = RoutingSupport.normalize(HttpHost.create(URI.create(baseUrl)), DefaultSchemePortResolver.INSTANCE);
+            connectionManager.setMaxPerRoute(new HttpRoute(host), setting(integration, "max-per-host", 20));
+            connectionConfigByHost.put(host.getHostName(), connectionConfig(integration));
+        }
+
+        int maxRetries = setting(integration, "max-retries", 2);
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(setting(integration, "connection-request-timeout-ms", 1000)))
+                        .setResponseTimeout(Timeout.ofMilliseconds(setting(integration, "read-timeout-ms", 10000)))
+                        .build())
+                .setRetryStrategy(new DefaultHttpRequestRetryStrategy(maxRetries,
+                        TimeValue.ofMilliseconds(setting(integration, "retry-interval-ms", 200))))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(setting(integration, "keep-alive-seconds", 30)))
+                .build();
+        clients.add(httpClient);
+
+        ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+                ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+                if (request instanceof Cancellable cancellable) {
+                    AbortableRequests.register(cancellable);
+                }
+                return request;
+            }
+        };
+        if (interceptors.length > 0) {
+            requestFactory = new BufferingClientHttpRequestFactory(requestFactory);
+        }
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        List<ClientHttpRequestInterceptor> chain = new ArrayList<>();
+        chain.add(httpClientMetrics.interceptor(integration));
+        chain.addAll(List.of(interceptors));
+        restTemplate.setInterceptors(chain);
+        return restTemplate;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (CloseableHttpClient client : clients) {
+            client.close();
+        }
+        connectionManager.close();
+    }
+
+    private ConnectionConfig connectionConfig(String integration) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(setting(integration, "connect-timeout-ms", 2000)))
+                .setSocketTimeout(Timeout.ofMilliseconds(setting(integration, "read-timeout-ms", 10000)))
+                .setTimeToLive(TimeValue.ofMinutes(5))
+                .build();
+    }
+
+    private int setting(String integration, String key, int defaultValue) {
+        Integer value = environment.getProperty("http.client." + integration + "." + key, Integer.class);
+        if (value == null) {
+            value = environment.getProperty("http.client.default." + key, Integer.class, defaultValue);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,78 @@
+package com.doan.backend.config;
+
+import com.doan.backend.enums.RequestPriority;
+import com.doan.backend.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Runs ahead of JWT authentication, so a rejected request never reaches the user lookup
+// or a pooled connection. The caller is identified from the token subject alone. Not a
+// bean, for the same reason as ReadYourWritesFilter.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RequestRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final long shedRetryAfterSeconds;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RequestRateLimiter rateLimiter, LoadShedder loadShedder, JwtTokenProvider jwtTokenProvider,
+                           long shedRetryAfterSeconds) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.shedRetryAfterSeconds = shedRetryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        long waitNanos = rateLimiter.check(request.getMethod(), path, () -> clientKey(request), () -> ipKey(request));
+        if (waitNanos > 0) {
+            reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)), "Too many requests, please retry later");
+            return;
+        }
+
+        RequestPriority priority = loadShedder.priorityOf(path);
+        if (!loadShedder.tryEnter(priority)) {
+            reject(response, shedRetryAfterSeconds, "Server is busy, please retry");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadShedder.exit();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String token = jwtTokenProvider.resolveToken(request);
+        if (token != null && jwtTokenProvider.validateToken(token)) {
+            return "user:" + jwtTokenProvider.getEmailFromToken(token);
+        }
+        return ipKey(request);
+    }
+
+    // The client address after Tomcat's RemoteIpValve has applied trusted X-Forwarded-For
+    // (server.forward-headers-strategy=native).
+    private String ipKey(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getOutputStream().println(objectMapper.writeValueAsString(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS, message)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.doan.backend.config;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties("rate-limit")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RateLimitProperties {
+
+    boolean enabled = true;
+    List<Policy> policies = new ArrayList<>();
+
+    public enum KeyType {
+        // Signed-in user when the request carries a valid token, client IP otherwise
+        CLIENT,
+        IP
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Policy {
+        String name;
+        // Empty matches every method
+        String method;
+        List<String> paths = new ArrayList<>();
+        long capacity = 10;
+        double perSecond = 1;
+        KeyType key = KeyType.CLIENT;
+    }
+}
@@ -0,0 +1,97 @@
+package com.doan.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Set;
+
+// After a user's own write, their reads stay on the primary for stickyMs so they do not
+// read a replica that has not caught up yet. The pin expiry travels in a short-lived cookie
+// rather than in this instance's memory, so it holds on whichever instance behind the load
+// balancer serves the next read; a client can only ever pin its own reads with it. Added
+// inside the security chain, after the JWT filter, so the user is known; not a bean, so it
+// is not also registered as a plain servlet filter running before authentication.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PIN_COOKIE = "rw_pin";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long stickyMs;
+
+    public ReadYourWritesFilter(long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean signedIn = isSignedIn();
+        ReplicaRoutingDataSource.setPrimaryOnly(signedIn && pinnedUntil(request) > System.currentTimeMillis());
+        PinningResponse pinning = signedIn && WRITE_METHODS.contains(request.getMethod()) ? new PinningResponse(response) : null;
+        try {
+            filterChain.doFilter(request, pinning != null ? pinning : response);
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryOnly(false);
+            if (pinning != null) {
+                pinning.finish();
+            }
+        }
+    }
+
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, PIN_COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean isSignedIn() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    // The cookie has to be set before the controller commits the response, which is also
+    // the last point where the status is known.
+    private class PinningResponse extends OnCommittedResponseWrapper {
+
+        PinningResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (getStatus() < 400) {
+                Cookie cookie = new Cookie(PIN_COOKIE, String.valueOf(System.currentTimeMillis() + stickyMs));
+                cookie.setHttpOnly(true);
+                cookie.setSecure(true);
+                cookie.setPath("/");
+                cookie.setMaxAge((int) Math.ceil(stickyMs / 1000.0));
+                addCookie(cookie);
+            }
+        }
+
+        // A response without a body is only committed after the filter chain returns.
+        void finish() {
+            if (!isDisableOnResponseCommitted() && !isCommitted()) {
+                onResponseCommitted();
+                disableOnResponseCommitted();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.doan.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to a healthy replica and everything else to the primary.
+// It sits behind a LazyConnectionDataSourceProxy, so the key is decided at the first
+// statement, once the transaction's read-only flag is known.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+        volatile Long lagSeconds;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaDataSources, long maxLagSeconds) {
+        this.replicas = replicaDataSources.stream().map(ds -> new Replica(ds.getPoolName(), ds)).toList();
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    public static void setPrimaryOnly(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(true);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    // Carries the caller's read-your-writes pin onto a worker thread.
+    public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+        boolean primaryOnly = isPrimaryOnly();
+        return () -> {
+            boolean previous = isPrimaryOnly();
+            setPrimaryOnly(primaryOnly);
+            try {
+                return supplier.get();
+            } finally {
+                setPrimaryOnly(previous);
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPrimaryOnly()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // A replica is used only while it answers and its replication lag is within bounds.
+    // An instance that reports no replication status is a standalone copy and has no lag.
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.lagSeconds = replicationLag(connection);
+                replica.healthy = replica.lagSeconds != null && replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = null;
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {}s)", replica.name, replica.healthy ? "in rotation" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    private Long replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try {
+                return replicationLag(statement, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                return replicationLag(statement, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private Long replicationLag(Statement statement, String query, String lagColumn) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(query)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong(lagColumn);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.*;
 import org.springframework.web.client.RestTemplate;
@@ -11,8 +12,6 @@ import org.springframework.web.client.RestTemplate;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
 
 @Configuration
 public class RestTemplateConfig {
@@ -58,11 +57,18 @@ public class RestTemplateConfig {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate(new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()));
-        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
-        interceptors.add(new LoggingRequestInterceptor());
-        restTemplate.setInterceptors(interceptors);
-        return restTemplate;
+    @Primary
+    public RestTemplate restTemplate(OutboundHttpClientFactory outboundHttpClientFactory) {
+        return outboundHttpClientFactory.create("default", new LoggingRequestInterceptor());
+    }
+
+    @Bean
+    public RestTemplate ghtkRestTemplate(OutboundHttpClientFactory outboundHttpClientFactory) {
+        return outboundHttpClientFactory.create("ghtk", new LoggingRequestInterceptor());
+    }
+
+    @Bean
+    public RestTemplate chatbotRestTemplate(OutboundHttpClientFactory outboundHttpClientFactory) {
+        return outboundHttpClientFactory.create("chatbot");
     }
 }
@@ -4,8 +4,11 @@ import com.doan.backend.services.CustomUserDetailService;
 import com.doan.backend.services.oauth2.CustomOAuth2UserService;
 import com.doan.backend.services.oauth2.OAuth2AuthenticationFailureHandler;
 import com.doan.backend.services.oauth2.OAuth2AuthenticationSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -40,6 +43,12 @@ public class SecurityConfig {
             "/auth/verify", "/auth/get-user", "/oauth2/**", "/category/**", "/product/**", "size/**", "product-inventory/**", "shipping-address/**", "cart/**", "discounts/**", "order/user/**", "promotion/client/**", "invoices/order/**", "invoices/get-id/**", "payment/payos/**", "reviews/**", "product-image/**"
     };
 
+    // Matched before GET_PUBLIC_ENDPOINTS, whose order/user/** would otherwise open them;
+    // OrderController then checks the userId against the caller.
+    private static final String[] GET_OWNER_ENDPOINTS = {
+            "/order/user/*/history", "/order/user/*/*"
+    };
+
     private static final String[] PUT_PUBLIC_ENDPOINTS = {
             "shipping-address/**", "order/client/**", "cart/**"
     };
@@ -57,6 +66,17 @@ public class SecurityConfig {
     CustomOAuth2UserService customOAuth2UserService;
     OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
+    RequestRateLimiter requestRateLimiter;
+    LoadShedder loadShedder;
+    JwtTokenProvider jwtTokenProvider;
+
+    @NonFinal
+    @Value("${datasource.replica.sticky-ms:5000}")
+    long readYourWritesStickyMs;
+
+    @NonFinal
+    @Value("${load-shedding.retry-after-seconds:2}")
+    long shedRetryAfterSeconds;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -70,6 +90,8 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.GET, GET_OWNER_ENDPOINTS).authenticated()
                         .requestMatchers(HttpMethod.GET, GET_PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(HttpMethod.POST, POST_PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(HttpMethod.DELETE, DELETE_Public_ENDPOINTS).permitAll()
@@ -91,7 +113,10 @@ public class SecurityConfig {
                         .failureHandler(oAuth2AuthenticationFailureHandler)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new RateLimitFilter(requestRateLimiter, loadShedder, jwtTokenProvider, shedRetryAfterSeconds),
+                        JwtAuthenticationFilter.class)
+                .addFilterAfter(new ReadYourWritesFilter(readYourWritesStickyMs), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,42 @@
+package com.doan.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    // Clients only a few requests touch (payment links, uploads, mail) are created on first
+    // use instead of during startup. Their injection points are @Lazy, so nothing pulls them
+    // in early. Under AOT the list is fixed when the application is built.
+    @Bean
+    public static BeanFactoryPostProcessor deferredBeans(Environment environment) {
+        List<String> names = Binder.get(environment)
+                .bind("startup.lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> names.stream()
+                .map(String::strip)
+                .filter(beanFactory::containsBeanDefinition)
+                .forEach(name -> beanFactory.getBeanDefinition(name).setLazyInit(true));
+    }
+
+    // The CDS training run (mvn -Pfast-startup package) refreshes the context without a
+    // database. AOT fixes bean conditions at build time, so spring.flyway.enabled cannot
+    // switch Flyway off there; this property skips the migration instead.
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${startup.training-run:false}") boolean trainingRun) {
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.doan.backend.config;
+
+import com.doan.backend.services.CustomUserDetailService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+// Browsers cannot set headers on the WebSocket handshake, so the JWT travels in the STOMP
+// CONNECT frame instead. Admin topics need an authenticated admin. /queue is only reachable
+// through /user/queue/..., which the broker resolves to the subscriber's own sessions; a
+// direct /queue subscription could name another user's session queue. The simple broker
+// treats a subscription as an Ant pattern, so wildcards are admin-only and the destination is
+// normalised before it is checked.
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String ADMIN_TOPICS = "/topic/admin/";
+    private static final String QUEUES = "/queue/";
+    // Same matcher the simple broker uses to resolve subscriptions
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    JwtTokenProvider jwtTokenProvider;
+    CustomUserDetailService customUserDetailService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String header = accessor.getFirstNativeHeader("Authorization");
+            if (header != null && header.startsWith("Bearer ")) {
+                String token = header.substring(7);
+                if (jwtTokenProvider.validateToken(token)) {
+                    UserDetails userDetails = customUserDetailService.loadUserByUsername(jwtTokenProvider.getEmailFromToken(token));
+                    accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                }
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && accessor.getDestination() != null) {
+            String destination = normalise(accessor.getDestination());
+            if (destination.startsWith(QUEUES)) {
+                throw new MessageDeliveryException("Subscribe to /user/queue/... instead");
+            }
+            if (isAdmin(accessor)) {
+                return message;
+            }
+            if (PATH_MATCHER.isPattern(destination)) {
+                throw new MessageDeliveryException("Wildcard destinations require an admin session");
+            }
+            if (destination.startsWith(ADMIN_TOPICS)) {
+                throw new MessageDeliveryException("Admin topics require an admin session");
+            }
+        }
+        return message;
+    }
+
+    private String normalise(String destination) {
+        return StringUtils.cleanPath(destination).replaceAll("/{2,}", "/");
+    }
+
+    private boolean isAdmin(StompHeaderAccessor accessor) {
+        return accessor.getUser() instanceof Authentication authentication
+                && authentication.getAuthorities().stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.doan.backend.controllers;
+
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.CatalogImportResponse;
+import com.doan.backend.enums.CatalogFormat;
+import com.doan.backend.services.CatalogExportService;
+import com.doan.backend.services.CatalogImportService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/catalog")
+@PreAuthorize("hasRole('ADMIN')")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class CatalogController {
+    CatalogImportService catalogImportService;
+    CatalogExportService catalogExportService;
+
+    @PostMapping("/import")
+    public ApiResponse<CatalogImportResponse> importCatalog(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String jobId,
+            InputStream body) {
+        return catalogImportService.importCatalog(body, toFormat(format), jobId);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ApiResponse<CatalogImportResponse> getImportJob(@PathVariable String jobId) {
+        return catalogImportService.getImportJob(jobId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(defaultValue = "csv") String format) {
+        CatalogFormat catalogFormat = toFormat(format);
+        boolean csv = catalogFormat == CatalogFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=catalog." + (csv ? "csv" : "ndjson"))
+                .body(outputStream -> catalogExportService.exportCatalog(outputStream, catalogFormat));
+    }
+
+    private CatalogFormat toFormat(String format) {
+        try {
+            return CatalogFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported catalog format: " + format);
+        }
+    }
+}
@@ -1,40 +1,54 @@
-//package com.doan.backend.controllers;
-//
-//import com.doan.backend.dto.request.MessageRequest;
-//import com.doan.backend.dto.response.ApiResponse;
-//import com.doan.backend.dto.response.ChatRoomResponse;
-//import com.doan.backend.services.ChatRoomService;
-//import com.doan.backend.services.MessageService;
-//import lombok.AccessLevel;
-//import lombok.RequiredArgsConstructor;
-//import lombok.experimental.FieldDefaults;
-//import org.springframework.web.bind.annotation.*;
-//
-//@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-//@RequiredArgsConstructor
-//@RestController
-//@RequestMapping("/chat")
-//public class ChatController {
-//    MessageService messageService;
-//    ChatRoomService chatRoomService;
-//
-//    @PostMapping("/sendMessage")
-//    public ApiResponse<Void> sendMessage(@RequestBody MessageRequest messageRequest) {
-//        return messageService.sendMessage(messageRequest);
-//    }
-//
-//    @GetMapping("/getChatRoom/{customerId}")
-//    public ApiResponse<ChatRoomResponse> getChatRoom(@PathVariable String customerId) {
-//        return chatRoomService.getChatRoom(customerId);
-//    }
-//
-//    @GetMapping("/joinChatRoom/{chatRoomId}")
-//    public ApiResponse<String> joinChat(@PathVariable String chatRoomId) {
-//        return chatRoomService.userJoinChatRoom(chatRoomId);
-//    }
-//
-//    @GetMapping("/leaveChatRoom/{chatRoomId}")
-//    public ApiResponse<String> leaveChat(@PathVariable String chatRoomId) {
-//        return chatRoomService.userLeaveChatRoom(chatRoomId);
-//    }
-//}
+package com.doan.backend.controllers;
+
+import com.doan.backend.dto.request.MessageRequest;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.ChatRoomResponse;
+import com.doan.backend.dto.response.MessageResponse;
+import com.doan.backend.services.ChatRoomService;
+import com.doan.backend.services.MessageService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/chat")
+public class ChatController {
+    MessageService messageService;
+    ChatRoomService chatRoomService;
+
+    @PostMapping("/sendMessage")
+    public ApiResponse<Void> sendMessage(@RequestBody MessageRequest messageRequest) {
+        return messageService.sendMessage(messageRequest);
+    }
+
+    @GetMapping("/getChatRoom/{customerId}")
+    public ApiResponse<ChatRoomResponse> getChatRoom(@PathVariable String customerId) {
+        return chatRoomService.getChatRoom(customerId);
+    }
+
+    @GetMapping("/messages/{chatRoomId}")
+    public ApiResponse<List<MessageResponse>> getMessages(
+            @PathVariable String chatRoomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) String beforeId,
+            @RequestParam(defaultValue = "30") int size) {
+        return messageService.getMessages(chatRoomId, before, beforeId, size);
+    }
+
+    @GetMapping("/joinChatRoom/{chatRoomId}")
+    public ApiResponse<String> joinChat(@PathVariable String chatRoomId) {
+        return chatRoomService.userJoinChatRoom(chatRoomId);
+    }
+
+    @GetMapping("/leaveChatRoom/{chatRoomId}")
+    public ApiResponse<String> leaveChat(@PathVariable String chatRoomId) {
+        return chatRoomService.userLeaveChatRoom(chatRoomId);
+    }
+}
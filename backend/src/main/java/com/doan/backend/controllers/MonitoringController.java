@@ -0,0 +1,68 @@
+package com.doan.backend.controllers;
+
+import com.doan.backend.config.HttpClientMetrics;
+import com.doan.backend.config.LoadShedder;
+import com.doan.backend.config.RequestRateLimiter;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.HttpClientStatsResponse;
+import com.doan.backend.dto.response.LoadSheddingStatsResponse;
+import com.doan.backend.dto.response.OrderExpiryStatsResponse;
+import com.doan.backend.dto.response.RateLimitStatsResponse;
+import com.doan.backend.services.OrderExpiryService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/monitoring")
+@PreAuthorize("hasRole('ADMIN')")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class MonitoringController {
+    HttpClientMetrics httpClientMetrics;
+    OrderExpiryService orderExpiryService;
+    RequestRateLimiter requestRateLimiter;
+    LoadShedder loadShedder;
+
+    @GetMapping("/http-clients")
+    public ApiResponse<List<HttpClientStatsResponse>> getHttpClientStats() {
+        return ApiResponse.<List<HttpClientStatsResponse>>builder()
+                .code(200)
+                .message("HTTP client statistics retrieved successfully")
+                .result(httpClientMetrics.snapshot())
+                .build();
+    }
+
+    @GetMapping("/order-expiry")
+    public ApiResponse<OrderExpiryStatsResponse> getOrderExpiryStats() {
+        return ApiResponse.<OrderExpiryStatsResponse>builder()
+                .code(200)
+                .message("Order expiry statistics retrieved successfully")
+                .result(orderExpiryService.stats())
+                .build();
+    }
+
+    @GetMapping("/rate-limits")
+    public ApiResponse<List<RateLimitStatsResponse>> getRateLimitStats() {
+        return ApiResponse.<List<RateLimitStatsResponse>>builder()
+                .code(200)
+                .message("Rate limit statistics retrieved successfully")
+                .result(requestRateLimiter.snapshot())
+                .build();
+    }
+
+    @GetMapping("/load-shedding")
+    public ApiResponse<LoadSheddingStatsResponse> getLoadSheddingStats() {
+        return ApiResponse.<LoadSheddingStatsResponse>builder()
+                .code(200)
+                .message("Load shedding statistics retrieved successfully")
+                .result(loadShedder.snapshot())
+                .build();
+    }
+}
@@ -4,13 +4,17 @@ import com.doan.backend.dto.request.OrderRequest;
 import com.doan.backend.dto.request.UpdateOrderRequest;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.OrderResponse;
+import com.doan.backend.dto.response.OrderSummaryResponse;
 import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.services.CheckoutAdmissionService;
 import com.doan.backend.services.OrderService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -21,10 +25,11 @@ import org.springframework.web.bind.annotation.*;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderController {
     OrderService orderService;
+    CheckoutAdmissionService checkoutAdmissionService;
 
     @PostMapping("/create")
     public ApiResponse<OrderResponse> createOrderFromCart(@RequestBody @Validated OrderRequest orderRequest) {
-        return orderService.createOrderFromCart(orderRequest);
+        return checkoutAdmissionService.admit(orderRequest.getUserId(), () -> orderService.createOrderFromCart(orderRequest));
     }
 
     @PutMapping("/client/edit")
@@ -37,6 +42,20 @@ public class OrderController {
         return orderService.getOrderByUserId(userId);
     }
 
+    @GetMapping("/user/{userId}/history")
+    @PreAuthorize("hasRole('ADMIN') or @authService.isCurrentUser(#userId)")
+    public ApiResponse<Page<OrderSummaryResponse>> getOrderHistory(
+            @PathVariable String userId,
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return orderService.getOrderHistory(userId, pageable);
+    }
+
+    @GetMapping("/user/{userId}/{orderId}")
+    @PreAuthorize("hasRole('ADMIN') or @authService.isCurrentUser(#userId)")
+    public ApiResponse<OrderResponse> getOrderDetail(@PathVariable String userId, @PathVariable String orderId) {
+        return orderService.getOrderDetail(userId, orderId);
+    }
+
     @PutMapping("/admin/edit/{orderId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ApiResponse<OrderResponse> adminEditOrder(
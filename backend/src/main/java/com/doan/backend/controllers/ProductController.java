@@ -2,17 +2,24 @@ package com.doan.backend.controllers;
 
 import com.doan.backend.dto.request.ProductRequest;
 import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.ProductDetailResponse;
 import com.doan.backend.dto.response.ProductResponse;
+import com.doan.backend.services.ProductDetailService;
 import com.doan.backend.services.ProductService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/product")
 @RequiredArgsConstructor
@@ -20,18 +27,30 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     ProductService productService;
+    ProductDetailService productDetailService;
 
     @GetMapping("/{id}")
     public ApiResponse<ProductResponse> getProductById(@PathVariable String id) {
         return productService.getProductById(id);
     }
 
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ApiResponse<ProductDetailResponse>> getProductDetail(@PathVariable String id) {
+        ApiResponse<ProductDetailResponse> response = productDetailService.getProductDetail(id);
+        CacheControl cacheControl = response.getResult().getUnavailableSections().isEmpty()
+                ? CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noStore();
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    }
+
     @GetMapping
     public ApiResponse<Page<ProductResponse>> searchProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
             Pageable pageable) {
-        return productService.searchProducts(name, categoryId, pageable);
+        return productService.searchProducts(name, categoryId, minPrice, maxPrice, pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
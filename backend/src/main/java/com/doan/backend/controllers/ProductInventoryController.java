@@ -1,21 +1,29 @@
 package com.doan.backend.controllers;
 
+import com.doan.backend.dto.request.BulkInventoryAdjustmentRequest;
 import com.doan.backend.dto.request.ProductIdsRequest;
 import com.doan.backend.dto.request.ProductInventoryRequest;
 import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.InventoryAdjustmentReport;
 import com.doan.backend.dto.response.ProductInventoryResponse;
+import com.doan.backend.services.InventoryAdjustmentService;
 import com.doan.backend.services.ProductInventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/product-inventory")
 public class ProductInventoryController {
     @Autowired
     private ProductInventoryService productInventoryService;
 
+    @Autowired
+    private InventoryAdjustmentService inventoryAdjustmentService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ApiResponse<?> createProductInventory(@RequestBody @Validated ProductInventoryRequest productInventoryRequest) {
@@ -43,4 +51,16 @@ public class ProductInventoryController {
     public ApiResponse<?> deleteProductInventory(@PathVariable String id) {
         return productInventoryService.deleteProductInventory(id);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk-adjust")
+    public ApiResponse<InventoryAdjustmentReport> bulkAdjust(@RequestBody @Validated BulkInventoryAdjustmentRequest bulkInventoryAdjustmentRequest) {
+        return inventoryAdjustmentService.adjust(bulkInventoryAdjustmentRequest.getItems());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/bulk-adjust/file", consumes = {"text/csv", "application/octet-stream"})
+    public ApiResponse<InventoryAdjustmentReport> bulkAdjustFromFile(InputStream body) {
+        return inventoryAdjustmentService.adjustFromCsv(body);
+    }
 }
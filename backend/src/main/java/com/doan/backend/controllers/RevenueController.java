@@ -4,6 +4,10 @@ import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.CategoryStatistics.CategoryRevenueResponse;
 import com.doan.backend.dto.response.CustomerStatistics.CustomerRevenueResponse;
 import com.doan.backend.dto.response.ProductStatistics.ProductRevenueResponse;
+import com.doan.backend.dto.response.DashboardMetricsResponse;
+import com.doan.backend.dto.response.TopRevenueResponse;
+import com.doan.backend.enums.RevenueDimension;
+import com.doan.backend.services.DashboardMetricsService;
 import com.doan.backend.services.RevenueService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +29,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RevenueController {
     RevenueService revenueService;
+    DashboardMetricsService dashboardMetricsService;
 
     @GetMapping("/product")
     public ApiResponse<List<ProductRevenueResponse>> getProductRevenue(
@@ -47,4 +52,22 @@ public class RevenueController {
             @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return revenueService.getCustomerRevenue(startDate,endDate);
     }
+
+    @GetMapping("/top")
+    public ApiResponse<List<TopRevenueResponse>> getTopRevenue(
+            @RequestParam("dimension") RevenueDimension dimension,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return revenueService.getTopRevenue(dimension, startDate, endDate, limit);
+    }
+
+    // Same snapshot the dashboard topic pushes, read from memory
+    @GetMapping("/live")
+    public ApiResponse<DashboardMetricsResponse> getLiveMetrics() {
+        return ApiResponse.<DashboardMetricsResponse>builder()
+                .code(200)
+                .result(dashboardMetricsService.snapshot())
+                .build();
+    }
 }
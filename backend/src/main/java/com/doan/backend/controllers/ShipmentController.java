@@ -0,0 +1,34 @@
+package com.doan.backend.controllers;
+
+import com.doan.backend.dto.request.ShipmentRequest;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.ShipmentResponse;
+import com.doan.backend.services.ShipmentService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/shipment")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ShipmentController {
+    ShipmentService shipmentService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<ShipmentResponse> createShipment(@RequestBody @Validated ShipmentRequest shipmentRequest) {
+        return shipmentService.createShipment(shipmentRequest);
+    }
+
+    @GetMapping("/order/{orderId}")
+    @PreAuthorize("hasRole('ADMIN') or @authService.isOrderOwner(#orderId)")
+    public ApiResponse<List<ShipmentResponse>> getShipmentsByOrderId(@PathVariable String orderId) {
+        return shipmentService.getShipmentsByOrderId(orderId);
+    }
+}
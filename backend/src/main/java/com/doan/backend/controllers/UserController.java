@@ -2,7 +2,9 @@ package com.doan.backend.controllers;
 
 import com.doan.backend.dto.request.UserRequest;
 import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.LoyaltyResponse;
 import com.doan.backend.dto.response.UserResponse;
+import com.doan.backend.services.LoyaltyService;
 import com.doan.backend.services.UserService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserController {
     UserService userService;
+    LoyaltyService loyaltyService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -35,6 +38,12 @@ public class UserController {
         return userService.getUserById(id);
     }
 
+    @GetMapping("/{id}/loyalty")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<LoyaltyResponse> getLoyalty(@PathVariable String id) {
+        return loyaltyService.getLoyalty(id);
+    }
+
     @GetMapping("get-all")
     @PreAuthorize("hasRole('ADMIN')")
     public ApiResponse<List<UserResponse>> getAll() {
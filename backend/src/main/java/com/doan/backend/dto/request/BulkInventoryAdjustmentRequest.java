@@ -0,0 +1,19 @@
+package com.doan.backend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+@Validated
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInventoryAdjustmentRequest {
+    @NotEmpty(message = "Items are required")
+    List<InventoryAdjustmentRequest> items;
+}
@@ -0,0 +1,33 @@
+package com.doan.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// One product per row, shared by import and export. Multi-valued columns are
+// pipe-separated so CSV and NDJSON rows have the same flat shape:
+// inventory = "S:10|M:5", images = "https://...|https://...".
+// A product without a SKU is keyed "id:<product id>"; importing that row recreates the
+// product under the same id and still without a SKU, so importing it twice is rejected
+// the same way as a known SKU.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"sku", "name", "description", "price", "categoryId", "status", "mainImage", "inventory", "images"})
+public class CatalogRow {
+    public static final String ID_KEY_PREFIX = "id:";
+
+    String sku;
+    String name;
+    String description;
+    String price;
+    String categoryId;
+    String status;
+    String mainImage;
+    String inventory;
+    String images;
+}
@@ -0,0 +1,24 @@
+package com.doan.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Exactly one of quantity (absolute count, e.g. from a stocktake) or delta must be set.
+// expectedVersion is optional; when given, an absolute update only applies if the row
+// has not changed since the caller read it.
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"productId", "sizeId", "quantity", "delta", "expectedVersion"})
+public class InventoryAdjustmentRequest {
+    String productId;
+    String sizeId;
+    Integer quantity;
+    Integer delta;
+    Long expectedVersion;
+}
@@ -0,0 +1,18 @@
+package com.doan.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ShipmentRequest {
+    @NotBlank(message = "Order is required")
+    String orderId;
+
+    @NotBlank(message = "Tracking code is required")
+    String trackingCode;
+}
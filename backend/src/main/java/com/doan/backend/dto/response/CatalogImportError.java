@@ -0,0 +1,15 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CatalogImportError {
+    long line;
+    String sku;
+    String message;
+}
@@ -0,0 +1,21 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.ImportJobStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CatalogImportResponse {
+    String jobId;
+    ImportJobStatus status;
+    long lastCommittedLine;
+    long imported;
+    long failed;
+    List<CatalogImportError> errors;
+}
@@ -0,0 +1,14 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ChatTypingResponse {
+    String chatRoomId;
+    boolean typing;
+}
@@ -0,0 +1,20 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardMetricsResponse {
+    LocalDate date;
+    long ordersToday;
+    BigDecimal revenueToday;
+    // Orders still PENDING, i.e. waiting to be paid or confirmed
+    long pendingPayments;
+}
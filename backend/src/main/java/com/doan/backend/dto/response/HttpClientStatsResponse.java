@@ -0,0 +1,18 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HttpClientStatsResponse {
+    String integration;
+    String host;
+    long requests;
+    long errors;
+    double averageLatencyMs;
+    double maxLatencyMs;
+}
@@ -0,0 +1,18 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class InventoryAdjustmentReport {
+    int updated;
+    int unchanged;
+    int failed;
+    List<InventoryAdjustmentResult> results;
+}
@@ -0,0 +1,20 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.InventoryAdjustmentStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class InventoryAdjustmentResult {
+    String productId;
+    String sizeId;
+    InventoryAdjustmentStatus status;
+    Integer before;
+    Integer after;
+    Long version;
+    String message;
+}
@@ -0,0 +1,30 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class InventoryUpdateResponse {
+    String productId;
+    List<SizeStock> sizes;
+    int totalQuantity;
+    LocalDateTime timestamp;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class SizeStock {
+        String sizeId;
+        String sizeName;
+        int quantity;
+    }
+}
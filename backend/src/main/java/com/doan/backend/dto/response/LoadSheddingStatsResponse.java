@@ -0,0 +1,19 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoadSheddingStatsResponse {
+    int inFlight;
+    int maxInFlight;
+    Integer poolActive;
+    Integer poolWaiting;
+    Map<String, Long> shed;
+}
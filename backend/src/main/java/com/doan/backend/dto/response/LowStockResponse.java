@@ -0,0 +1,17 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LowStockResponse {
+    String productId;
+    String sizeId;
+    String sizeName;
+    int quantity;
+    int threshold;
+}
@@ -0,0 +1,21 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.LoyaltyTierEnum;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoyaltyResponse {
+    String userId;
+    LoyaltyTierEnum tier;
+    BigDecimal lifetimeSpend;
+    Integer completedOrders;
+    LoyaltyTierEnum nextTier;
+    BigDecimal spendToNextTier;
+}
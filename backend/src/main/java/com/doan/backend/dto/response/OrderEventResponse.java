@@ -0,0 +1,20 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.OutboxEventType;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderEventResponse {
+    String orderId;
+    OutboxEventType type;
+    Map<String, Object> data;
+    LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderExpiryStatsResponse {
+    long sweeps;
+    long ordersCancelled;
+    long unitsReleased;
+    long discountsReleased;
+    LocalDateTime lastSweepAt;
+    long lastSweepDurationMs;
+}
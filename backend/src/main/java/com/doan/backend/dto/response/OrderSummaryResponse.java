@@ -0,0 +1,25 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.OrderStatusEnum;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filled straight from OrderRepository.findSummariesByUserId; the field order is the
+// constructor the query calls.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderSummaryResponse {
+    String id;
+    OrderStatusEnum status;
+    BigDecimal totalPriceBeforeDiscount;
+    BigDecimal totalPriceAfterDiscount;
+    Long itemCount;
+    String thumbnailUrl;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@Builder
+@AllArgsConstructor
+public class ProductDetailResponse {
+    ProductResponse product;
+    Iterable<ProductImageResponse> images;
+    Iterable<ProductInventoryResponse> inventories;
+    Iterable<ReviewResponse> reviews;
+    PromotionResponse promotion;
+    List<String> unavailableSections;
+}
@@ -17,4 +17,11 @@ public class ProductInventoryResponse {
     SizeResponse size;
 
     Integer quantity;
+
+    Long version;
+
+    // Listing row for ProductInventoryRepository projections; the product itself is not loaded.
+    public ProductInventoryResponse(String id, String idProduct, String sizeId, String sizeName, Integer quantity, Long version) {
+        this(id, idProduct, new SizeResponse(sizeId, sizeName), quantity, version);
+    }
 }
@@ -1,6 +1,7 @@
 package com.doan.backend.dto.response;
 
 import com.doan.backend.enums.StatusEnum;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -16,8 +17,11 @@ import java.util.List;
 public class ProductResponse {
     String id;
     String name;
+    // Only product detail and the admin order screens carry the description; listings leave it out.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     String description;
     BigDecimal price;
+    BigDecimal effectivePrice;
     CategoryResponse categoryResponse;
     PromotionResponse promotionResponse;
     List<PromotionResponse> promotions;
@@ -27,4 +31,23 @@ public class ProductResponse {
     LocalDateTime createdAt;
     LocalDateTime updatedAt;
     String mainImage;
+
+    // Listing row for ProductRepository projections; never reads the description.
+    public ProductResponse(String id, String name, BigDecimal price, BigDecimal effectivePrice,
+                           BigDecimal discountPercentage, Double rating, StatusEnum status, String mainImage,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, String categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.effectivePrice = effectivePrice;
+        this.discountPercentage = discountPercentage;
+        this.rating = rating;
+        this.status = status;
+        this.mainImage = mainImage;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        if (categoryId != null) {
+            this.categoryResponse = CategoryResponse.builder().id(categoryId).name(categoryName).build();
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RateLimitStatsResponse {
+    String policy;
+    long allowed;
+    long rejected;
+    int activeBuckets;
+}
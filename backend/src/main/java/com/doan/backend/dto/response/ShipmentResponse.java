@@ -0,0 +1,22 @@
+package com.doan.backend.dto.response;
+
+import com.doan.backend.enums.ShipmentStatusEnum;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ShipmentResponse {
+    String id;
+    String orderId;
+    String trackingCode;
+    ShipmentStatusEnum status;
+    String carrierStatus;
+    LocalDateTime lastSyncedAt;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.doan.backend.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TopRevenueResponse {
+    String id;
+    String name;
+    BigDecimal revenue;
+    // Units sold for products, categories and sizes; completed orders for customers
+    Long count;
+}
@@ -0,0 +1,46 @@
+package com.doan.backend.entity;
+
+import com.doan.backend.enums.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Builder
+@Table(name = "catalog_import_jobs")
+public class CatalogImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    ImportJobStatus status;
+
+    // Rows up to and including this one are committed; a resumed import skips them.
+    @Column(name = "last_committed_line", nullable = false)
+    Long lastCommittedLine;
+
+    @Column(name = "imported", nullable = false)
+    Long imported;
+
+    @Column(name = "failed", nullable = false)
+    Long failed;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
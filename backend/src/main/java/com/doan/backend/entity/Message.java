@@ -15,7 +15,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "messages")
+@Table(
+        name = "messages",
+        indexes = @Index(name = "idx_message_chat_room_timestamp", columnList = "chat_room_id, timestamp, id")
+)
 public class Message {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
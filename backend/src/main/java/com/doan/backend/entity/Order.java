@@ -19,7 +19,10 @@ import java.util.List;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_order_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_order_user_created", columnList = "user_id, created_at")
+})
 public class Order {
 
     @Id
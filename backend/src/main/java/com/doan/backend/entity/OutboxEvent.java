@@ -0,0 +1,61 @@
+package com.doan.backend.entity;
+
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Builder
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_id, id")
+})
+public class OutboxEvent {
+
+    // Sequential so events of one aggregate are delivered in the order they were written.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    OutboxEventType eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    LocalDateTime processedAt;
+}
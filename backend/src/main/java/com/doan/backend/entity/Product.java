@@ -16,13 +16,19 @@ import java.time.LocalDateTime;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
 @Builder
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_product_status_effective_price", columnList = "status, effective_price"),
+        @Index(name = "idx_product_category_effective_price", columnList = "category_id, effective_price")
+})
 public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     String id;
 
+    @Column(name = "sku", unique = true, length = 64)
+    String sku;
+
     @Column(name = "name", nullable = false)
     String name;
 
@@ -33,6 +39,13 @@ public class Product {
     @Column(name = "price", nullable = false)
     BigDecimal price;
 
+    // Maintained by ProductPricingService from the promotion tables; do not set directly.
+    @Column(name = "effective_price", precision = 38, scale = 2)
+    BigDecimal effectivePrice;
+
+    @Column(name = "active_discount_percentage")
+    BigDecimal activeDiscountPercentage;
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     Category category;
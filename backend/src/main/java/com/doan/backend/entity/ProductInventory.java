@@ -30,4 +30,10 @@ public class ProductInventory {
 
     @Column(name = "quantity", nullable = false)
     Integer quantity;
+
+    // Checkout decrements through the entity, so a stocktake or bulk adjustment that
+    // commits in between makes that save fail instead of silently overwriting it.
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    Long version;
 }
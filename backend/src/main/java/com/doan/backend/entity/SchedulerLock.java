@@ -0,0 +1,26 @@
+package com.doan.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    String name;
+
+    @Column(name = "locked_until", nullable = false)
+    LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false, length = 64)
+    String lockedBy;
+}
@@ -1,5 +1,6 @@
 package com.doan.backend.entity;
 
+import com.doan.backend.enums.ShipmentStatusEnum;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -18,7 +19,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "shipments")
+@Table(name = "shipments", indexes = {
+        @Index(name = "idx_shipment_status_next_sync", columnList = "status, next_sync_at"),
+        @Index(name = "idx_shipment_order_id", columnList = "order_id")
+})
 public class Shipment {
 
     @Id
@@ -33,8 +37,22 @@ public class Shipment {
     @JoinColumn(name = "shipper_id")
     User shipper;
 
+    @Column(name = "tracking_code", unique = true, length = 64)
+    String trackingCode;
+
+    @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
-    String status;
+    ShipmentStatusEnum status;
+
+    @Column(name = "carrier_status")
+    String carrierStatus;
+
+    @Column(name = "last_synced_at")
+    LocalDateTime lastSyncedAt;
+
+    // Null once the shipment reaches a final status and no longer needs polling.
+    @Column(name = "next_sync_at")
+    LocalDateTime nextSyncAt;
 
     @CreationTimestamp
     @Column(name = "created_at")
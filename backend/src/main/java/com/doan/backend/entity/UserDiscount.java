@@ -12,7 +12,10 @@ import lombok.experimental.FieldDefaults;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "user_discounts")
+@Table(
+        name = "user_discounts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_discount", columnNames = {"user_id", "discount_id"})
+)
 public class UserDiscount {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
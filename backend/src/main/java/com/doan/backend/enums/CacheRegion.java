@@ -0,0 +1,9 @@
+package com.doan.backend.enums;
+
+public enum CacheRegion {
+    PRODUCTS,
+    PROMOTIONS,
+    DISCOUNTS,
+    CATEGORIES,
+    INVENTORY
+}
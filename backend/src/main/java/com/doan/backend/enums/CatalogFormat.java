@@ -0,0 +1,6 @@
+package com.doan.backend.enums;
+
+public enum CatalogFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,7 @@
+package com.doan.backend.enums;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.doan.backend.enums;
+
+public enum InventoryAdjustmentStatus {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,7 @@
+package com.doan.backend.enums;
+
+public enum OutboxEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    INVOICE_PAID
+}
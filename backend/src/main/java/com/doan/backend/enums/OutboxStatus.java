@@ -0,0 +1,8 @@
+package com.doan.backend.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.doan.backend.enums;
+
+public enum RequestPriority {
+    CRITICAL,
+    NORMAL,
+    LOW
+}
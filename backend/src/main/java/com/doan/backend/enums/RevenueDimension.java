@@ -0,0 +1,8 @@
+package com.doan.backend.enums;
+
+public enum RevenueDimension {
+    PRODUCT,
+    CATEGORY,
+    SIZE,
+    CUSTOMER
+}
@@ -0,0 +1,10 @@
+package com.doan.backend.enums;
+
+public enum ShipmentStatusEnum {
+    CREATED,
+    PICKED_UP,
+    IN_TRANSIT,
+    DELIVERED,
+    RETURNED,
+    CANCELLED
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -56,6 +57,19 @@ public class CustomExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handlerTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // Another request changed the row between this request's read and its write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handlerOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT, "The resource was modified concurrently, please retry");
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     //Xử lý các exception chưa được khai báo
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handlerException(Exception ex, WebRequest request) {
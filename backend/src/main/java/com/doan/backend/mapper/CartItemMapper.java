@@ -9,7 +9,7 @@ import java.util.List;
 
 @Mapper(componentModel = "spring", uses = {ProductMapper.class, SizeMapper.class})
 public interface CartItemMapper {
-    @Mapping(source = "cartItem.product", target = "product")
+    @Mapping(source = "cartItem.product", target = "product", qualifiedByName = "productReference")
     @Mapping(source = "cartItem.size", target = "size")
     CartItemResponse toCartItemResponse(CartItem cartItem);
 
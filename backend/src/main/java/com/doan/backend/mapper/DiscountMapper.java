@@ -10,4 +10,6 @@ public interface DiscountMapper {
     Discount toDiscount(DiscountRequest discountRequest);
 
     Iterable<DiscountResponse> toDiscountResponseIterable(Iterable<Discount> discounts);
+
+    Discount copy(Discount discount);
 }
@@ -10,7 +10,7 @@ import java.util.List;
 @Mapper(componentModel = "spring", uses = {ProductMapper.class, SizeMapper.class, PromotionMapper.class})
 public interface OrderItemMapper {
 
-    @Mapping(source = "product", target = "productResponse")
+    @Mapping(source = "product", target = "productResponse", qualifiedByName = "productReference")
     @Mapping(source = "size", target = "size")
     @Mapping(source = "promotion", target = "promotion")
     OrderItemResponse toOrderItemResponse(OrderItem orderItem);
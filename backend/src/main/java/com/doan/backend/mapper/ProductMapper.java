@@ -3,8 +3,10 @@ package com.doan.backend.mapper;
 import com.doan.backend.dto.request.ProductRequest;
 import com.doan.backend.dto.response.ProductResponse;
 import com.doan.backend.entity.Product;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring", uses = {CategoryMapper.class})
 public interface ProductMapper {
@@ -14,4 +16,10 @@ public interface ProductMapper {
 
     @Mapping(source = "category", target = "categoryResponse")
     ProductResponse toProductResponse(Product product);
+
+    // Id only, so a lazy product is not loaded; ProductListingService fills in the rest.
+    @Named("productReference")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(source = "id", target = "id")
+    ProductResponse toProductReference(Product product);
 }
@@ -0,0 +1,154 @@
+package com.doan.backend.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Tables, columns and indexes the entities gained before migrations took over. Databases
+// that ran some of that code under ddl-auto=update already have part of it, and MySQL has
+// no ADD COLUMN / CREATE INDEX IF NOT EXISTS, so every piece is checked first.
+public class V1_1__SchemaSinceBaseline extends BaseJavaMigration {
+
+    private static final String COLUMN_TYPE = "SELECT data_type FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+
+    private static final String INDEX_EXISTS = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+
+    private static final String[] TABLES = {
+            "create table if not exists catalog_import_jobs (" +
+                    "id varchar(255) not null, " +
+                    "created_at datetime(6), " +
+                    "failed bigint not null, " +
+                    "imported bigint not null, " +
+                    "last_committed_line bigint not null, " +
+                    "status enum ('COMPLETED','FAILED','RUNNING') not null, " +
+                    "updated_at datetime(6), " +
+                    "primary key (id)) engine=InnoDB",
+            "create table if not exists outbox_events (" +
+                    "id bigint not null auto_increment, " +
+                    "aggregate_id varchar(64) not null, " +
+                    "attempts integer not null, " +
+                    "created_at datetime(6), " +
+                    "event_type enum ('INVOICE_PAID','ORDER_CREATED','ORDER_STATUS_CHANGED') not null, " +
+                    "last_error varchar(1000), " +
+                    "locked_until datetime(6), " +
+                    "next_attempt_at datetime(6) not null, " +
+                    "payload TEXT, " +
+                    "processed_at datetime(6), " +
+                    "status enum ('DONE','FAILED','PENDING','PROCESSING') not null, " +
+                    "primary key (id)) engine=InnoDB",
+            "create table if not exists scheduler_locks (" +
+                    "name varchar(64) not null, " +
+                    "locked_by varchar(64) not null, " +
+                    "locked_until datetime(6) not null, " +
+                    "primary key (name)) engine=InnoDB",
+    };
+
+    // table, column, definition
+    private static final String[][] COLUMNS = {
+            {"product_inventory", "version", "bigint default 0 not null"},
+            {"products", "active_discount_percentage", "decimal(38,2)"},
+            {"products", "effective_price", "decimal(38,2)"},
+            {"products", "sku", "varchar(64)"},
+            {"shipments", "carrier_status", "varchar(255)"},
+            {"shipments", "last_synced_at", "datetime(6)"},
+            {"shipments", "next_sync_at", "datetime(6)"},
+            {"shipments", "tracking_code", "varchar(64)"},
+    };
+
+    // table, index, columns
+    private static final String[][] INDEXES = {
+            {"messages", "idx_message_chat_room_timestamp", "chat_room_id, timestamp, id"},
+            {"orders", "idx_order_status_created", "status, created_at, id"},
+            {"orders", "idx_order_user_created", "user_id, created_at"},
+            {"outbox_events", "idx_outbox_status_next_attempt", "status, next_attempt_at"},
+            {"outbox_events", "idx_outbox_aggregate", "aggregate_id, id"},
+            {"products", "idx_product_status_effective_price", "status, effective_price"},
+            {"products", "idx_product_category_effective_price", "category_id, effective_price"},
+            {"shipments", "idx_shipment_status_next_sync", "status, next_sync_at"},
+            {"shipments", "idx_shipment_order_id", "order_id"},
+    };
+
+    // table, constraint, columns; names as Hibernate generated them under ddl-auto=update
+    private static final String[][] UNIQUE_KEYS = {
+            {"products", "UKfhmd06dsmj6k0n90swsh8ie9g", "sku"},
+            {"shipments", "UK3welgwg6vbaaqfqdrp2f4ynwc", "tracking_code"},
+            {"user_discounts", "uk_user_discount", "user_id, discount_id"},
+    };
+
+    private static final String SHIPMENT_STATUSES = "'CANCELLED','CREATED','DELIVERED','IN_TRANSIT','PICKED_UP','RETURNED'";
+
+    // Checkout used to insert a new user_discounts row for every order, so before the unique key
+    // can go on, each (user, discount) pair is folded into its lowest id with the uses summed.
+    private static final String DUPLICATE_USER_DISCOUNTS = "(SELECT user_id, discount_id, MIN(id) AS keep_id, " +
+            "SUM(uses_count) AS uses FROM user_discounts WHERE user_id IS NOT NULL AND discount_id IS NOT NULL " +
+            "GROUP BY user_id, discount_id HAVING COUNT(*) > 1) d";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute(table);
+            }
+            for (String[] column : COLUMNS) {
+                if (columnType(connection, column[0], column[1]) == null) {
+                    statement.execute("ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2]);
+                }
+            }
+
+            // The application never wrote shipments before the status became an enum, so only a
+            // hand-entered row can hold a value outside it; such a row restarts at CREATED.
+            if (!"enum".equals(columnType(connection, "shipments", "status"))) {
+                statement.execute("UPDATE shipments SET status = 'CREATED' WHERE status NOT IN (" + SHIPMENT_STATUSES + ")");
+                statement.execute("ALTER TABLE shipments MODIFY status enum (" + SHIPMENT_STATUSES + ") not null");
+            }
+
+            if (!indexExists(connection, "user_discounts", "uk_user_discount")) {
+                statement.execute("UPDATE user_discounts ud JOIN " + DUPLICATE_USER_DISCOUNTS +
+                        " ON ud.id = d.keep_id SET ud.uses_count = d.uses");
+                statement.execute("UPDATE orders o JOIN user_discounts ud ON o.user_discount_id = ud.id JOIN " +
+                        DUPLICATE_USER_DISCOUNTS + " ON ud.user_id = d.user_id AND ud.discount_id = d.discount_id " +
+                        "SET o.user_discount_id = d.keep_id WHERE ud.id <> d.keep_id");
+                statement.execute("DELETE ud FROM user_discounts ud JOIN " + DUPLICATE_USER_DISCOUNTS +
+                        " ON ud.user_id = d.user_id AND ud.discount_id = d.discount_id WHERE ud.id <> d.keep_id");
+            }
+
+            for (String[] index : INDEXES) {
+                if (!indexExists(connection, index[0], index[1])) {
+                    statement.execute("ALTER TABLE " + index[0] + " ADD INDEX " + index[1] + " (" + index[2] + ")");
+                }
+            }
+            for (String[] key : UNIQUE_KEYS) {
+                if (!indexExists(connection, key[0], key[1])) {
+                    statement.execute("ALTER TABLE " + key[0] + " ADD CONSTRAINT " + key[1] + " UNIQUE (" + key[2] + ")");
+                }
+            }
+        }
+    }
+
+    private String columnType(Connection connection, String table, String column) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(COLUMN_TYPE)) {
+            statement.setString(1, table);
+            statement.setString(2, column);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String index) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_EXISTS)) {
+            statement.setString(1, table);
+            statement.setString(2, index);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+}
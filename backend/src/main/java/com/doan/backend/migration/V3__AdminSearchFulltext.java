@@ -0,0 +1,51 @@
+package com.doan.backend.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Admin search indexes. Written in Java because databases that ran the earlier startup
+// code already have some of them and MySQL has no CREATE INDEX IF NOT EXISTS.
+// The default stopword list contains single letters such as "a" and "i", and the ngram
+// parser drops every token containing a stopword, so the indexes are built without it.
+public class V3__AdminSearchFulltext extends BaseJavaMigration {
+
+    private static final String INDEX_EXISTS = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+
+    private static final String[][] INDEXES = {
+            {"users", "email", "ft_users_email"},
+            {"users", "name", "ft_users_name"},
+            {"discounts", "code", "ft_discounts_code"},
+            {"promotions", "name", "ft_promotions_name"},
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+            for (String[] index : INDEXES) {
+                if (!exists(connection, index[0], index[2])) {
+                    statement.execute("ALTER TABLE " + index[0] + " ADD FULLTEXT INDEX " + index[2] +
+                            " (" + index[1] + ") WITH PARSER ngram");
+                }
+            }
+            statement.execute("SET SESSION innodb_ft_enable_stopword = ON");
+        }
+    }
+
+    private boolean exists(Connection connection, String table, String index) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_EXISTS)) {
+            statement.setString(1, table);
+            statement.setString(2, index);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.doan.backend.repositories;
+
+import com.doan.backend.entity.CatalogImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogImportJobRepository extends JpaRepository<CatalogImportJob, String> {
+}
@@ -4,11 +4,13 @@ import com.doan.backend.entity.Discount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,12 +21,25 @@ public interface DiscountRepository extends JpaRepository<Discount, String> {
 
     Iterable<Discount> findByAutoApplyTrueAndExpiryDateAfter(LocalDateTime now);
 
+    List<Discount> findByExpiryDateAfter(LocalDateTime now);
+
     Optional<Discount> findByCodeAndExpiryDateAfter(String code, LocalDateTime now);
 
     @Query("SELECT d FROM Discount d WHERE (:code IS NULL OR d.code LIKE %:code%)")
     Page<Discount> findByCodeContaining(@Param("code") String code, Pageable pageable);
 
+    @Query("SELECT d FROM Discount d WHERE match_against(d.code, :phrase) > 0 AND d.code LIKE %:code%")
+    Page<Discount> searchByCode(@Param("phrase") String phrase, @Param("code") String code, Pageable pageable);
+
     @Query("SELECT d FROM Discount d WHERE d.startDate <= :currentDate AND d.expiryDate >= :currentDate" +
             " AND d.maxUses > d.usedCount")
     Iterable<Discount> getCurrentDiscounts(@Param("currentDate") LocalDateTime currentDate);
+
+    @Modifying
+    @Query("UPDATE Discount d SET d.usedCount = d.usedCount + 1 WHERE d.id = :id AND d.usedCount < d.maxUses")
+    int incrementUsedCount(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE Discount d SET d.usedCount = d.usedCount - 1 WHERE d.id = :id AND d.usedCount > 0")
+    int decrementUsedCount(@Param("id") String id);
 }
@@ -1,12 +1,15 @@
 package com.doan.backend.repositories;
 
 import com.doan.backend.entity.Invoice;
+import com.doan.backend.enums.InvoiceStatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -21,4 +24,23 @@ public interface InvoiceRepository extends JpaRepository<Invoice, String> {
             "JOIN o.user u " +
             "WHERE LOWER(u.email) LIKE LOWER(CONCAT('%', :customerEmail, '%'))")
     Page<Invoice> findByAllSearchEmail(@Param("customerEmail") String customerEmail, Pageable pageable);
+
+    @Query("SELECT i FROM Invoice i " +
+            "JOIN i.order o " +
+            "JOIN o.user u " +
+            "WHERE match_against(u.email, :phrase) > 0 " +
+            "AND LOWER(u.email) LIKE LOWER(CONCAT('%', :customerEmail, '%'))")
+    Page<Invoice> searchByCustomerEmail(@Param("phrase") String phrase, @Param("customerEmail") String customerEmail, Pageable pageable);
+
+    Page<Invoice> findByInvoiceNumberStartingWith(String invoiceNumber, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Invoice i SET i.status = :to WHERE i.id = :id AND i.status = :from")
+    int transitionStatus(@Param("id") String id, @Param("from") InvoiceStatusEnum from, @Param("to") InvoiceStatusEnum to);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Invoice i SET i.status = :to WHERE i.order.id = :orderId AND i.status = :from")
+    int transitionStatusByOrderId(@Param("orderId") String orderId, @Param("from") InvoiceStatusEnum from, @Param("to") InvoiceStatusEnum to);
 }
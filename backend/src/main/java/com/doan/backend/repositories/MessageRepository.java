@@ -1,12 +1,28 @@
 package com.doan.backend.repositories;
 
 import com.doan.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, String> {
-    List<Message> findByChatRoomIdOrderByTimestampAsc(String chatRoomId);
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :chatRoomId " +
+            "ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findLatestByChatRoomId(@Param("chatRoomId") String chatRoomId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :chatRoomId " +
+            "AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) " +
+            "ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findByChatRoomIdBefore(@Param("chatRoomId") String chatRoomId,
+                                         @Param("timestamp") LocalDateTime timestamp,
+                                         @Param("id") String id,
+                                         Pageable pageable);
 }
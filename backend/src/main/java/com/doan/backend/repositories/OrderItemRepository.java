@@ -3,7 +3,9 @@ package com.doan.backend.repositories;
 import com.doan.backend.dto.response.CategoryStatistics.CategoryStatisticResponse;
 import com.doan.backend.dto.response.CustomerStatistics.CustomerStatisticResponse;
 import com.doan.backend.dto.response.ProductStatistics.ProductStatisticResponse;
+import com.doan.backend.dto.response.TopRevenueResponse;
 import com.doan.backend.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -75,4 +77,56 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, String> {
                   AND (o.updatedAt BETWEEN :startDate AND :endDate)
             """)
     List<CustomerStatisticResponse> getCustomerRevenue(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    // Top-N queries: grouped and ordered in the database, the Pageable turns into LIMIT so
+    // only N rows ever leave it. Item prices already include the product promotion.
+    @Query("""
+            SELECT new com.doan.backend.dto.response.TopRevenueResponse(p.id, p.name, SUM(oi.price * oi.quantity), SUM(oi.quantity))
+            FROM OrderItem oi
+            JOIN oi.order o
+            JOIN oi.product p
+            WHERE o.status = com.doan.backend.enums.OrderStatusEnum.COMPLETED
+                  AND o.updatedAt BETWEEN :startDate AND :endDate
+            GROUP BY p.id, p.name
+            ORDER BY SUM(oi.price * oi.quantity) DESC
+            """)
+    List<TopRevenueResponse> getTopProducts(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query("""
+            SELECT new com.doan.backend.dto.response.TopRevenueResponse(c.id, c.name, SUM(oi.price * oi.quantity), SUM(oi.quantity))
+            FROM OrderItem oi
+            JOIN oi.order o
+            JOIN oi.product p
+            JOIN p.category c
+            WHERE o.status = com.doan.backend.enums.OrderStatusEnum.COMPLETED
+                  AND o.updatedAt BETWEEN :startDate AND :endDate
+            GROUP BY c.id, c.name
+            ORDER BY SUM(oi.price * oi.quantity) DESC
+            """)
+    List<TopRevenueResponse> getTopCategories(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query("""
+            SELECT new com.doan.backend.dto.response.TopRevenueResponse(s.id, s.name, SUM(oi.price * oi.quantity), SUM(oi.quantity))
+            FROM OrderItem oi
+            JOIN oi.order o
+            JOIN oi.size s
+            WHERE o.status = com.doan.backend.enums.OrderStatusEnum.COMPLETED
+                  AND o.updatedAt BETWEEN :startDate AND :endDate
+            GROUP BY s.id, s.name
+            ORDER BY SUM(oi.price * oi.quantity) DESC
+            """)
+    List<TopRevenueResponse> getTopSizes(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query("""
+            SELECT new com.doan.backend.dto.response.TopRevenueResponse(u.id, u.name, SUM(o.totalPriceAfterDiscount), COUNT(o.id))
+            FROM Invoice i
+            JOIN i.order o
+            JOIN o.user u
+            JOIN u.roles r
+            WHERE o.status = com.doan.backend.enums.OrderStatusEnum.COMPLETED AND r = 'CUSTOMER'
+                  AND o.updatedAt BETWEEN :startDate AND :endDate
+            GROUP BY u.id, u.name
+            ORDER BY SUM(o.totalPriceAfterDiscount) DESC
+            """)
+    List<TopRevenueResponse> getTopCustomers(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+}
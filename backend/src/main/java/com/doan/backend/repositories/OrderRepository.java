@@ -1,13 +1,19 @@
 package com.doan.backend.repositories;
 
+import com.doan.backend.dto.response.OrderSummaryResponse;
 import com.doan.backend.entity.Order;
 import com.doan.backend.enums.OrderStatusEnum;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -15,6 +21,30 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, String> {
     Iterable<Order> findByUserId(String userId);
     Optional<Order> findByIdAndUserId(String id, String userId);
+    boolean existsByIdAndUserId(String id, String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") String id);
+
+    @Query("SELECT o.user.email FROM Order o WHERE o.id = :id")
+    Optional<String> findUserEmailById(@Param("id") String id);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.size", "orderItems.promotion", "shippingAddress", "userDiscount"})
+    Optional<Order> findDetailByIdAndUserId(String id, String userId);
+
+    // The thumbnail is an image of one of the order's items, looked up without loading any
+    // item, product or image entity. Item ids are random UUIDs and order_items has no
+    // insertion column, so MIN(id) only makes the pick stable, not the first line added.
+    @Query(value = "SELECT new com.doan.backend.dto.response.OrderSummaryResponse(o.id, o.status, " +
+            "o.totalPriceBeforeDiscount, o.totalPriceAfterDiscount, " +
+            "(SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order = o), " +
+            "(SELECT MIN(pi.imageUrl) FROM ProductImage pi, OrderItem fi WHERE pi.product = fi.product " +
+            "AND fi.id = (SELECT MIN(oi2.id) FROM OrderItem oi2 WHERE oi2.order = o)), " +
+            "o.createdAt) " +
+            "FROM Order o WHERE o.user.id = :userId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummaryResponse> findSummariesByUserId(@Param("userId") String userId, Pageable pageable);
     Iterable<Order> findByStatus(OrderStatusEnum status);
 
     Iterable<Order> findByUserIdAndStatus(String userId, OrderStatusEnum status);
@@ -34,6 +64,20 @@ public interface OrderRepository extends JpaRepository<Order, String> {
             Pageable pageable
     );
 
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN o.orderItems oi " +
+            "JOIN o.user u " +
+            "WHERE match_against(u.email, :emailPhrase) > 0 AND u.email LIKE %:customerEmail% " +
+            "AND (:productName IS NULL OR oi.product.name LIKE %:productName%) " +
+            "AND (:status IS NULL OR o.status = :status)")
+    Page<Order> searchOrdersForAdminByEmail(
+            @Param("productName") String productName,
+            @Param("emailPhrase") String emailPhrase,
+            @Param("customerEmail") String customerEmail,
+            @Param("status") OrderStatusEnum status,
+            Pageable pageable
+    );
+
     @Query("SELECT CASE WHEN COUNT(o) > 0 THEN true ELSE false END " +
             "FROM Order o JOIN o.orderItems oi " +
             "WHERE o.user.id = :userId " +
@@ -42,5 +86,10 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     boolean existOrderCompletedByUserId(@Param("userId") String userId,
                                         @Param("productId") String productId);
 
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id = :id AND o.status <> :status")
+    int transitionStatus(@Param("id") String id, @Param("status") OrderStatusEnum status);
+
 
 }
@@ -1,7 +1,11 @@
 package com.doan.backend.repositories;
 
+import com.doan.backend.dto.response.ProductInventoryResponse;
 import com.doan.backend.entity.ProductInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,11 +14,23 @@ import java.util.Optional;
 
 @Repository
 public interface ProductInventoryRepository extends JpaRepository<ProductInventory, String> {
-    Iterable<ProductInventory> findByProductId(String productId);
+    String LISTING = "SELECT new com.doan.backend.dto.response.ProductInventoryResponse(pi.id, pi.product.id, " +
+            "s.id, s.name, pi.quantity, pi.version) FROM ProductInventory pi JOIN pi.size s ";
 
-    Iterable<ProductInventory> findByProductIdIn(List<String> productIds);
+    @Query(LISTING + "WHERE pi.product.id = :productId")
+    List<ProductInventoryResponse> findListingsByProductId(@Param("productId") String productId);
+
+    @Query(LISTING + "WHERE pi.product.id IN :productIds")
+    List<ProductInventoryResponse> findListingsByProductIdIn(@Param("productIds") List<String> productIds);
 
     Boolean existsByProductIdAndSizeId(String productId, String sizeId);
 
     Optional<ProductInventory> findByProductIdAndSizeId(String productId, String sizeId);
+
+    // Checkout reserves stock with one conditional statement instead of a versioned
+    // read-modify-write, so concurrent checkouts and restocks of a SKU queue on the row lock.
+    @Modifying
+    @Query("UPDATE ProductInventory pi SET pi.quantity = pi.quantity - :quantity, pi.version = pi.version + 1 " +
+            "WHERE pi.id = :id AND pi.quantity >= :quantity")
+    int decrementQuantity(@Param("id") String id, @Param("quantity") int quantity);
 }
@@ -1,21 +1,77 @@
 package com.doan.backend.repositories;
 
+import com.doan.backend.dto.response.ProductResponse;
 import com.doan.backend.entity.Product;
 import com.doan.backend.enums.StatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String> {
+    // Same precedence as checkout: the newest active promotion linked to the product,
+    // otherwise the newest active apply-to-all promotion. MySQL evaluates the SET list
+    // left to right, so effective_price sees the new active_discount_percentage.
+    String REFRESH_PRICING = "UPDATE products p SET p.active_discount_percentage = COALESCE(" +
+            "(SELECT pr.discount_percentage FROM promotion_products pp JOIN promotions pr ON pr.id = pp.promotion_id " +
+            " WHERE pp.product_id = p.id AND pr.is_active = true AND pr.start_date <= :now AND pr.end_date >= :now " +
+            " ORDER BY pr.start_date DESC LIMIT 1), " +
+            "(SELECT pr.discount_percentage FROM promotions pr " +
+            " WHERE pr.apply_to_all = true AND pr.is_active = true AND pr.start_date <= :now AND pr.end_date >= :now " +
+            " ORDER BY pr.start_date DESC LIMIT 1), 0), " +
+            "p.effective_price = p.price - p.price * p.active_discount_percentage / 100 ";
+
+    String LISTING = "SELECT new com.doan.backend.dto.response.ProductResponse(p.id, p.name, p.price, " +
+            "p.effectivePrice, p.activeDiscountPercentage, p.rating, p.status, p.mainImage, p.createdAt, p.updatedAt, " +
+            "c.id, c.name) FROM Product p LEFT JOIN p.category c ";
+
     Optional<Product> findByIdAndStatusNot(String id, StatusEnum status);
 
-    Page<Product> findByNameContainingIgnoreCaseAndStatusNot(String name, StatusEnum status, Pageable pageable);
+    String SEARCH_FILTER = "WHERE p.status <> :status " +
+            "AND (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "AND (:minPrice IS NULL OR p.effectivePrice >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.effectivePrice <= :maxPrice)";
+
+    @Query(value = LISTING + SEARCH_FILTER,
+            countQuery = "SELECT COUNT(p) FROM Product p " + SEARCH_FILTER)
+    Page<ProductResponse> searchProductListings(@Param("name") String name,
+                                                @Param("categoryId") String categoryId,
+                                                @Param("minPrice") BigDecimal minPrice,
+                                                @Param("maxPrice") BigDecimal maxPrice,
+                                                @Param("status") StatusEnum status,
+                                                Pageable pageable);
+
+    @Query(LISTING + "WHERE p.id IN :ids")
+    List<ProductResponse> findListingsByIdIn(@Param("ids") Collection<String> ids);
+
+    // id, description pairs for the few screens that show the description next to a listing
+    @Query("SELECT p.id, p.description FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findDescriptionsByIdIn(@Param("ids") Collection<String> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = REFRESH_PRICING, nativeQuery = true)
+    int refreshPricing(@Param("now") LocalDateTime now);
 
-    Page<Product> findByCategory_IdAndStatusNot(String categoryId, StatusEnum status, Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query(value = REFRESH_PRICING + "WHERE p.id = :productId", nativeQuery = true)
+    int refreshPricingByProductId(@Param("productId") String productId, @Param("now") LocalDateTime now);
 
-    Page<Product> findByNameContainingIgnoreCaseAndCategory_IdAndStatusNot(String name, String categoryId, StatusEnum status, Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query(value = REFRESH_PRICING + "WHERE p.id IN (SELECT pp.product_id FROM promotion_products pp WHERE pp.promotion_id = :promotionId)", nativeQuery = true)
+    int refreshPricingByPromotionId(@Param("promotionId") String promotionId, @Param("now") LocalDateTime now);
 }
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PromotionRepository extends JpaRepository<Promotion, String> {
@@ -18,9 +19,18 @@ public interface PromotionRepository extends JpaRepository<Promotion, String> {
     List<Promotion> findActiveCurrentPromotionsExcludeApplyToAll(@Param("currentDate") LocalDateTime currentDate);
 
     @Query("SELECT p FROM Promotion p WHERE p.applyToAll = true AND p.isActive = true " +
-            "AND p.startDate <= :currentDate AND p.endDate >= :currentDate")
-    List<Promotion> findApplyToAllPromotions(@Param("currentDate") LocalDateTime currentDate);
+            "AND p.startDate <= :currentDate AND p.endDate >= :currentDate " +
+            "ORDER BY p.startDate DESC LIMIT 1")
+    Optional<Promotion> findActiveApplyToAllPromotion(@Param("currentDate") LocalDateTime currentDate);
 
     @Query("SELECT p FROM Promotion p WHERE (:name IS NULL OR p.name LIKE %:name%)")
     Page<Promotion> findByNameContaining(@Param("name") String name, Pageable pageable);
+
+    @Query("SELECT p FROM Promotion p WHERE match_against(p.name, :phrase) > 0 AND p.name LIKE %:name%")
+    Page<Promotion> searchByName(@Param("phrase") String phrase, @Param("name") String name, Pageable pageable);
+
+    @Query("SELECT COUNT(p) > 0 FROM Promotion p " +
+            "WHERE (p.startDate > :from AND p.startDate <= :to) " +
+            "   OR (p.endDate >= :from AND p.endDate < :to)")
+    boolean existsBoundaryBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -4,6 +4,11 @@ import com.doan.backend.entity.Shipment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, String> {
+    List<Shipment> findByOrderIdOrderByCreatedAtDesc(String orderId);
+
+    boolean existsByTrackingCode(String trackingCode);
 }
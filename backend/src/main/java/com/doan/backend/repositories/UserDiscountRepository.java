@@ -2,10 +2,14 @@ package com.doan.backend.repositories;
 
 import com.doan.backend.entity.UserDiscount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserDiscountRepository extends JpaRepository<UserDiscount, String> {
@@ -14,4 +18,18 @@ public interface UserDiscountRepository extends JpaRepository<UserDiscount, Stri
     Optional<UserDiscount> findByUserIdAndDiscount_Code(String userId, String code);
 
     Optional<UserDiscount> findByUserIdAndDiscount_Id(String userId, String discountId);
+
+    boolean existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(String userId, String discountId, Integer usesCount);
+
+    @Query("SELECT ud.discount.id FROM UserDiscount ud WHERE ud.user.id = :userId AND ud.usesCount > 0")
+    Set<String> findUsedDiscountIdsByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE UserDiscount ud SET ud.usesCount = 1 " +
+            "WHERE ud.user.id = :userId AND ud.discount.id = :discountId AND ud.usesCount = 0")
+    int reclaimUserDiscount(@Param("userId") String userId, @Param("discountId") String discountId);
+
+    @Modifying
+    @Query("UPDATE UserDiscount ud SET ud.usesCount = 0 WHERE ud.id = :id AND ud.usesCount > 0")
+    int releaseUserDiscount(@Param("id") String id);
 }
@@ -6,6 +6,8 @@ import com.doan.backend.enums.StatusEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,5 +27,10 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Page<User> findByNameContainingIgnoreCaseAndStatusNot(String name, StatusEnum status, Pageable pageable);
 
+    @Query("SELECT u FROM User u WHERE match_against(u.name, :phrase) > 0 " +
+            "AND LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%')) AND u.status <> :status")
+    Page<User> searchByName(@Param("phrase") String phrase, @Param("name") String name,
+                            @Param("status") StatusEnum status, Pageable pageable);
+
     List<User> findByStatusNot(StatusEnum status);
 }
\ No newline at end of file
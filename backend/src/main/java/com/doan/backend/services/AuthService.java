@@ -11,6 +11,7 @@ import com.doan.backend.enums.RoleEnum;
 import com.doan.backend.enums.StatusEnum;
 import com.doan.backend.exception.Unauthorized;
 import com.doan.backend.mapper.UserMapper;
+import com.doan.backend.repositories.OrderRepository;
 import com.doan.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -36,6 +37,7 @@ public class AuthService {
 
     EmailService emailService;
     UserRepository userRepository;
+    OrderRepository orderRepository;
     PasswordEncoder passwordEncoder;
     JwtTokenProvider jwtTokenProvider;
     UserMapper userMapper;
@@ -139,6 +141,14 @@ public class AuthService {
         }
     }
 
+    public boolean isCurrentUser(String userId) {
+        return getUserByToken().getId().equals(userId);
+    }
+
+    public boolean isOrderOwner(String orderId) {
+        return orderRepository.existsByIdAndUserId(orderId, getUserByToken().getId());
+    }
+
     public User getChatBotUser() {
         List<User> users = userRepository.findByRoles(RoleEnum.CHATBOT);
 
@@ -0,0 +1,12 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.CacheRegion;
+
+// Evicts node-local state when another instance changes the underlying rows. A null key
+// means the whole region. Events can arrive more than once, so evict() has to be idempotent.
+public interface CacheInvalidationListener {
+
+    boolean supports(CacheRegion region);
+
+    void evict(CacheRegion region, String key);
+}
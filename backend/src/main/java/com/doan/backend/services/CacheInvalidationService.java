@@ -0,0 +1,143 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.CacheRegion;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private static final String INSERT = "INSERT INTO cache_invalidations (region, cache_key, origin, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_AFTER = "SELECT id, region, cache_key, origin FROM cache_invalidations " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String PURGE = "DELETE FROM cache_invalidations WHERE created_at < ? LIMIT 1000";
+
+    JdbcTemplate jdbcTemplate;
+    ObjectProvider<CacheInvalidationListener> listeners;
+
+    String origin = UUID.randomUUID().toString();
+
+    @NonFinal
+    volatile long highWater = -1;
+
+    @NonFinal
+    volatile long gapSince;
+
+    @NonFinal
+    @Value("${cache.invalidation.batch-size:500}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${cache.invalidation.gap-timeout-ms:5000}")
+    long gapTimeoutMs;
+
+    @NonFinal
+    @Value("${cache.invalidation.retention-minutes:60}")
+    long retentionMinutes;
+
+    private record Invalidation(long id, CacheRegion region, String key, String origin) {
+    }
+
+    // Records the change for the other instances; the caller evicts its own cache. Inside a
+    // transaction the rows commit or roll back with the write they describe.
+    public void broadcast(CacheRegion region, String key) {
+        jdbcTemplate.update(INSERT, region.name(), key, origin, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void broadcast(CacheRegion region, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, keys.stream()
+                .map(key -> new Object[]{region.name(), key, origin, now})
+                .toList());
+    }
+
+    // Ids are assigned at insert but become visible at commit, so a lower id can show up
+    // after a higher one. The high-water mark only moves over contiguous ids; a gap is
+    // waited on for at most gap-timeout-ms (a rolled-back insert never fills it), which
+    // bounds the eviction delay at poll interval plus gap timeout.
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            if (highWater < 0) {
+                Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+                highWater = max != null ? max : 0;
+                return;
+            }
+
+            List<Invalidation> rows = jdbcTemplate.query(SELECT_AFTER, (rs, rowNum) -> new Invalidation(
+                    rs.getLong("id"),
+                    CacheRegion.valueOf(rs.getString("region")),
+                    rs.getString("cache_key"),
+                    rs.getString("origin")), highWater, batchSize);
+
+            long now = System.currentTimeMillis();
+            for (Invalidation row : rows) {
+                if (row.id() != highWater + 1) {
+                    if (gapSince == 0) {
+                        gapSince = now;
+                    }
+                    if (now - gapSince < gapTimeoutMs) {
+                        return;
+                    }
+                    log.debug("Skipping cache invalidation ids {}..{}", highWater + 1, row.id() - 1);
+                }
+                gapSince = 0;
+                if (!origin.equals(row.origin())) {
+                    dispatch(row.region(), row.key());
+                }
+                highWater = row.id();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE, before);
+            } while (deleted == 1000);
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(CacheRegion region, String key) {
+        listeners.orderedStream()
+                .filter(listener -> listener.supports(region))
+                .forEach(listener -> {
+                    try {
+                        listener.evict(region, key);
+                    } catch (RuntimeException e) {
+                        log.warn("Cache listener {} failed to evict {} {}: {}", listener.getClass().getSimpleName(), region, key, e.getMessage());
+                    }
+                });
+    }
+}
@@ -4,6 +4,7 @@ import com.doan.backend.dto.request.CartItemRequest;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.CartItemResponse;
 import com.doan.backend.dto.response.CartResponse;
+import com.doan.backend.dto.response.ProductResponse;
 import com.doan.backend.entity.Cart;
 import com.doan.backend.entity.CartItem;
 import com.doan.backend.entity.ProductInventory;
@@ -18,6 +19,8 @@ import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -28,6 +31,7 @@ public class CartService {
     CartItemRepository cartItemRepository;
     ProductInventoryRepository productInventoryRepository;
     UserRepository userRepository;
+    ProductListingService productListingService;
     CartMapper cartMapper;
     CartItemMapper cartItemMapper;
 
@@ -36,7 +40,7 @@ public class CartService {
 
         if (cartOptional.isPresent()) {
             CartResponse cartResponse = cartMapper.toCartResponse(cartOptional.get());
-            cartResponse.setCartItems(cartItemMapper.tocartItemResponseList(cartItemRepository.findByCartId(cartOptional.get().getId())));
+            cartResponse.setCartItems(withProducts(cartItemMapper.tocartItemResponseList(cartItemRepository.findByCartId(cartOptional.get().getId()))));
             return ApiResponse.<CartResponse>builder()
                     .code(200)
                     .message("get cart successfully")
@@ -72,7 +76,7 @@ public class CartService {
         newCartItem.setSize(productInventory.getSize());
         newCartItem.setQuantity(cartItemRequest.getQuantity());
 
-        CartItemResponse cartItemResponse = cartItemMapper.toCartItemResponse(cartItemRepository.save(newCartItem));
+        CartItemResponse cartItemResponse = withProducts(cartItemMapper.toCartItemResponse(cartItemRepository.save(newCartItem)));
 
         return ApiResponse.<CartItemResponse>builder()
                 .code(200)
@@ -89,7 +93,7 @@ public class CartService {
         cartItem.setQuantity(cartItemRequest.getQuantity());
         cartItem.setProduct(productInventory.getProduct());
         cartItem.setSize(productInventory.getSize());
-        CartItemResponse cartItemResponse = cartItemMapper.toCartItemResponse(cartItemRepository.save(cartItem));
+        CartItemResponse cartItemResponse = withProducts(cartItemMapper.toCartItemResponse(cartItemRepository.save(cartItem)));
         return ApiResponse.<CartItemResponse>builder()
                 .code(200)
                 .message("Cart item updated successfully")
@@ -114,4 +118,18 @@ public class CartService {
         return cartResponse;
     }
 
+
+    private CartItemResponse withProducts(CartItemResponse cartItem) {
+        withProducts(Collections.singletonList(cartItem));
+        return cartItem;
+    }
+
+    private List<CartItemResponse> withProducts(List<CartItemResponse> cartItems) {
+        List<ProductResponse> products = cartItems.stream()
+                .filter(Objects::nonNull)
+                .map(CartItemResponse::getProduct)
+                .toList();
+        productListingService.fill(products);
+        return cartItems;
+    }
 }
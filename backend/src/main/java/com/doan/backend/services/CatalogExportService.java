@@ -0,0 +1,104 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.CatalogRow;
+import com.doan.backend.enums.CatalogFormat;
+import com.doan.backend.enums.StatusEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CatalogExportService {
+
+    private static final String SELECT_PRODUCTS = "SELECT id, sku, name, description, price, category_id, status, main_image " +
+            "FROM products WHERE status <> :deleted AND id > :afterId ORDER BY id LIMIT :limit";
+    private static final String SELECT_INVENTORY = "SELECT pi.product_id, s.name, pi.quantity FROM product_inventory pi " +
+            "JOIN sizes s ON s.id = pi.size_id WHERE pi.product_id IN (:productIds)";
+    private static final String SELECT_IMAGES = "SELECT product_id, image_url FROM product_image WHERE product_id IN (:productIds)";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    ObjectMapper objectMapper;
+    CsvMapper csvMapper = new CsvMapper();
+    int pageSize;
+
+    public CatalogExportService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.export.page-size:1000}") int pageSize) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+    }
+
+    // Walks products by primary key in pages, so memory stays flat and no connection
+    // is held between pages. The output can be fed back to CatalogImportService.
+    public void exportCatalog(OutputStream outputStream, CatalogFormat format) throws IOException {
+        SequenceWriter writer = format == CatalogFormat.NDJSON
+                ? objectMapper.writerFor(CatalogRow.class).withRootValueSeparator("\n")
+                        .without(SerializationFeature.INDENT_OUTPUT)
+                        .writeValues(outputStream)
+                : csvMapper.writerFor(CatalogRow.class).with(csvMapper.schemaFor(CatalogRow.class).withHeader())
+                        .writeValues(outputStream);
+
+        try (writer) {
+            String afterId = "";
+            while (true) {
+                List<CatalogRow> page = new ArrayList<>();
+                List<String> ids = new ArrayList<>();
+                namedParameterJdbcTemplate.query(SELECT_PRODUCTS, new MapSqlParameterSource()
+                        .addValue("deleted", StatusEnum.DELETED.ordinal())
+                        .addValue("afterId", afterId)
+                        .addValue("limit", pageSize), rs -> {
+                    String id = rs.getString("id");
+                    String sku = rs.getString("sku");
+                    ids.add(id);
+                    page.add(CatalogRow.builder()
+                            .sku(sku != null ? sku : CatalogRow.ID_KEY_PREFIX + id)
+                            .name(rs.getString("name"))
+                            .description(rs.getString("description"))
+                            .price(rs.getBigDecimal("price").toPlainString())
+                            .categoryId(rs.getString("category_id"))
+                            .status(StatusEnum.values()[rs.getInt("status")].name())
+                            .mainImage(rs.getString("main_image"))
+                            .build());
+                });
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                Map<String, StringJoiner> inventory = new HashMap<>();
+                Map<String, StringJoiner> images = new HashMap<>();
+                MapSqlParameterSource byIds = new MapSqlParameterSource("productIds", ids);
+                namedParameterJdbcTemplate.query(SELECT_INVENTORY, byIds, rs -> {
+                    inventory.computeIfAbsent(rs.getString("product_id"), id -> new StringJoiner("|"))
+                            .add(rs.getString("name") + ":" + rs.getInt("quantity"));
+                });
+                namedParameterJdbcTemplate.query(SELECT_IMAGES, byIds, rs -> {
+                    images.computeIfAbsent(rs.getString("product_id"), id -> new StringJoiner("|"))
+                            .add(rs.getString("image_url"));
+                });
+
+                for (int i = 0; i < page.size(); i++) {
+                    CatalogRow row = page.get(i);
+                    String id = ids.get(i);
+                    row.setInventory(inventory.containsKey(id) ? inventory.get(id).toString() : "");
+                    row.setImages(images.containsKey(id) ? images.get(id).toString() : "");
+                    writer.write(row);
+                }
+                writer.flush();
+                afterId = ids.getLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.CatalogRow;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.CatalogImportError;
+import com.doan.backend.dto.response.CatalogImportResponse;
+import com.doan.backend.entity.CatalogImportJob;
+import com.doan.backend.enums.CatalogFormat;
+import com.doan.backend.enums.ImportJobStatus;
+import com.doan.backend.enums.StatusEnum;
+import com.doan.backend.repositories.CatalogImportJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, sku, name, description, price, effective_price, " +
+            "active_discount_percentage, category_id, main_image, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INVENTORY = "INSERT INTO product_inventory (id, product_id, size_id, quantity) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_IMAGE = "INSERT INTO product_image (id, product_id, image_url) VALUES (?, ?, ?)";
+    private static final String UPDATE_CHECKPOINT = "UPDATE catalog_import_jobs SET last_committed_line = ?, imported = ?, failed = ?, " +
+            "status = ?, updated_at = ? WHERE id = ?";
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    CatalogImportJobRepository catalogImportJobRepository;
+    ProductPricingService productPricingService;
+    ObjectMapper objectMapper;
+    CsvMapper csvMapper = new CsvMapper();
+    int chunkSize;
+    int maxReportedErrors;
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                CatalogImportJobRepository catalogImportJobRepository,
+                                ProductPricingService productPricingService,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.import.chunk-size:1000}") int chunkSize,
+                                @Value("${catalog.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogImportJobRepository = catalogImportJobRepository;
+        this.productPricingService = productPricingService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    record InventoryLine(String sizeId, int quantity) {
+    }
+
+    // failedBefore counts the rows that failed before this one, for its own checkpoint.
+    record ValidRow(long line, long failedBefore, String productId, String sku, CatalogRow row, BigDecimal price,
+                    StatusEnum status, List<InventoryLine> inventory, List<String> images) {
+    }
+
+    private class ImportRun {
+        final CatalogImportJob job;
+        final Map<String, String> sizeIdByName = new HashMap<>();
+        final Set<String> categoryIds = new HashSet<>();
+        final Set<String> seenSkus = new HashSet<>();
+        final List<ValidRow> chunk = new ArrayList<>(chunkSize);
+        final List<CatalogImportError> errors = new ArrayList<>();
+        long imported;
+        long failed;
+        long lastLine;
+
+        ImportRun(CatalogImportJob job) {
+            this.job = job;
+            this.imported = job.getImported();
+            this.failed = job.getFailed();
+            this.lastLine = job.getLastCommittedLine();
+            jdbcTemplate.query("SELECT id, name FROM sizes",
+                    rs -> {
+                        sizeIdByName.put(rs.getString("name").trim().toUpperCase(), rs.getString("id"));
+                    });
+            categoryIds.addAll(jdbcTemplate.queryForList("SELECT id FROM categories", String.class));
+        }
+
+        void error(long line, String sku, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CatalogImportError(line, sku, message));
+            }
+        }
+    }
+
+    // Rows are numbered from 1 in file order, blank NDJSON lines excluded. Passing the
+    // jobId of an interrupted import skips every row up to its last committed one.
+    public ApiResponse<CatalogImportResponse> importCatalog(InputStream inputStream, CatalogFormat format, String jobId) {
+        CatalogImportJob job;
+        if (jobId != null) {
+            job = catalogImportJobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found"));
+            if (job.getStatus() == ImportJobStatus.COMPLETED) {
+                throw new RuntimeException("Import job already completed");
+            }
+        } else {
+            job = catalogImportJobRepository.save(CatalogImportJob.builder()
+                    .status(ImportJobStatus.RUNNING)
+                    .lastCommittedLine(0L)
+                    .imported(0L)
+                    .failed(0L)
+                    .build());
+        }
+
+        ImportRun run = new ImportRun(job);
+        long skipUntil = job.getLastCommittedLine();
+        ImportJobStatus status = ImportJobStatus.COMPLETED;
+        try {
+            if (format == CatalogFormat.NDJSON) {
+                readNdjson(inputStream, run, skipUntil);
+            } else {
+                readCsv(inputStream, run, skipUntil);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Catalog import {} stopped at row {}: {}", job.getId(), run.lastLine, e.getMessage());
+            run.errors.add(new CatalogImportError(run.lastLine + 1, null, "Import stopped: " + e.getMessage()));
+            status = ImportJobStatus.FAILED;
+        }
+        // Rows read before a failure were fully parsed and validated, so they are
+        // committed too and the checkpoint lands on the last readable row.
+        commit(run, status);
+
+        if (run.imported > job.getImported()) {
+            productPricingService.refreshAll();
+        }
+
+        return ApiResponse.<CatalogImportResponse>builder()
+                .code(200)
+                .message(status == ImportJobStatus.COMPLETED ? "Catalog imported successfully" : "Catalog import stopped, resume with jobId")
+                .result(CatalogImportResponse.builder()
+                        .jobId(job.getId())
+                        .status(status)
+                        .lastCommittedLine(run.lastLine)
+                        .imported(run.imported)
+                        .failed(run.failed)
+                        .errors(run.errors)
+                        .build())
+                .build();
+    }
+
+    public ApiResponse<CatalogImportResponse> getImportJob(String jobId) {
+        CatalogImportJob job = catalogImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+        return ApiResponse.<CatalogImportResponse>builder()
+                .code(200)
+                .message("Import job retrieved successfully")
+                .result(CatalogImportResponse.builder()
+                        .jobId(job.getId())
+                        .status(job.getStatus())
+                        .lastCommittedLine(job.getLastCommittedLine())
+                        .imported(job.getImported())
+                        .failed(job.getFailed())
+                        .errors(List.of())
+                        .build())
+                .build();
+    }
+
+    private void readNdjson(InputStream inputStream, ImportRun run, long skipUntil) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(CatalogRow.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long line = 0;
+        String text;
+        while ((text = lines.readLine()) != null) {
+            if (text.isBlank()) {
+                continue;
+            }
+            if (++line <= skipUntil) {
+                continue;
+            }
+            try {
+                accept(run, line, reader.readValue(text));
+            } catch (JsonProcessingException e) {
+                run.lastLine = line;
+                run.error(line, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream inputStream, ImportRun run, long skipUntil) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<CatalogRow> rows = csvMapper.readerFor(CatalogRow.class).with(schema).readValues(inputStream)) {
+            long line = 0;
+            while (rows.hasNextValue()) {
+                CatalogRow row = rows.nextValue();
+                if (++line <= skipUntil) {
+                    continue;
+                }
+                accept(run, line, row);
+            }
+        }
+    }
+
+    private void accept(ImportRun run, long line, CatalogRow row) {
+        run.lastLine = line;
+        String error = validate(run, row);
+        if (error != null) {
+            run.error(line, row.getSku(), error);
+            return;
+        }
+        run.seenSkus.add(row.getSku().trim());
+        run.chunk.add(toValidRow(run, line, row));
+        if (run.chunk.size() >= chunkSize) {
+            commit(run, ImportJobStatus.RUNNING);
+        }
+    }
+
+    private String validate(ImportRun run, CatalogRow row) {
+        if (row.getSku() == null || row.getSku().isBlank() || row.getSku().trim().equals(CatalogRow.ID_KEY_PREFIX)) {
+            return "SKU is required";
+        }
+        if (row.getSku().trim().length() > 64) {
+            return "SKU is longer than 64 characters";
+        }
+        if (run.seenSkus.contains(row.getSku().trim())) {
+            return "Duplicate SKU in file";
+        }
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (row.getPrice() == null || row.getPrice().isBlank()) {
+            return "Price is required";
+        }
+        try {
+            if (new BigDecimal(row.getPrice().trim()).signum() < 0) {
+                return "Price must not be negative";
+            }
+        } catch (NumberFormatException e) {
+            return "Invalid price: " + row.getPrice();
+        }
+        if (row.getCategoryId() == null || !run.categoryIds.contains(row.getCategoryId().trim())) {
+            return "Category not found";
+        }
+        if (row.getStatus() != null && !row.getStatus().isBlank()) {
+            try {
+                if (StatusEnum.valueOf(row.getStatus().trim().toUpperCase()) == StatusEnum.DELETED) {
+                    return "Status DELETED cannot be imported";
+                }
+            } catch (IllegalArgumentException e) {
+                return "Invalid status: " + row.getStatus();
+            }
+        }
+        for (String entry : split(row.getInventory())) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                return "Invalid inventory entry: " + entry;
+            }
+            if (!run.sizeIdByName.containsKey(parts[0].trim().toUpperCase())) {
+                return "Size not found: " + parts[0].trim();
+            }
+            try {
+                if (Integer.parseInt(parts[1].trim()) < 0) {
+                    return "Quantity must not be negative: " + entry;
+                }
+            } catch (NumberFormatException e) {
+                return "Invalid quantity: " + entry;
+            }
+        }
+        for (String image : split(row.getImages())) {
+            if (image.length() > 500) {
+                return "Image URL is longer than 500 characters";
+            }
+        }
+        return null;
+    }
+
+    private ValidRow toValidRow(ImportRun run, long line, CatalogRow row) {
+        List<InventoryLine> inventory = new ArrayList<>();
+        for (String entry : split(row.getInventory())) {
+            String[] parts = entry.split(":");
+            inventory.add(new InventoryLine(run.sizeIdByName.get(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim())));
+        }
+        StatusEnum status = row.getStatus() == null || row.getStatus().isBlank()
+                ? StatusEnum.ACTIVE
+                : StatusEnum.valueOf(row.getStatus().trim().toUpperCase());
+        String key = row.getSku().trim();
+        boolean idKey = key.startsWith(CatalogRow.ID_KEY_PREFIX);
+        return new ValidRow(line, run.failed,
+                idKey ? key.substring(CatalogRow.ID_KEY_PREFIX.length()) : UUID.randomUUID().toString(),
+                idKey ? null : key,
+                row, new BigDecimal(row.getPrice().trim()), status, inventory, split(row.getImages()));
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split("\\|"))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toList();
+    }
+
+    // The checkpoint is written in the same transaction as the chunk, so a resumed
+    // import never skips uncommitted rows or re-inserts committed ones.
+    private void commit(ImportRun run, ImportJobStatus status) {
+        if (!run.chunk.isEmpty()) {
+            long imported = run.imported + run.chunk.size();
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    insert(run.chunk);
+                    checkpoint(run.job.getId(), run.lastLine, imported, run.failed, status);
+                });
+                run.imported = imported;
+                run.chunk.clear();
+                return;
+            } catch (DataAccessException e) {
+                // Usually a SKU that already exists from an earlier import; find the
+                // offending rows one by one so the rest of the chunk still lands. Each
+                // row commits with its own checkpoint, as a chunk does.
+                long chunkFailed = 0;
+                for (ValidRow row : run.chunk) {
+                    long rowImported = run.imported + 1;
+                    long rowFailed = row.failedBefore() + chunkFailed;
+                    try {
+                        transactionTemplate.executeWithoutResult(tx -> {
+                            insert(List.of(row));
+                            checkpoint(run.job.getId(), row.line(), rowImported, rowFailed, ImportJobStatus.RUNNING);
+                        });
+                        run.imported = rowImported;
+                    } catch (DataAccessException rowError) {
+                        chunkFailed++;
+                        run.error(row.line(), row.row().getSku(), "SKU already exists or references are invalid");
+                    }
+                }
+                run.chunk.clear();
+            }
+        }
+        checkpoint(run.job.getId(), run.lastLine, run.imported, run.failed, status);
+    }
+
+    private void checkpoint(String jobId, long lastLine, long imported, long failed, ImportJobStatus status) {
+        jdbcTemplate.update(UPDATE_CHECKPOINT, lastLine, imported, failed, status.name(),
+                Timestamp.valueOf(LocalDateTime.now()), jobId);
+    }
+
+    private void insert(List<ValidRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.productId());
+            ps.setString(2, row.sku());
+            ps.setString(3, row.row().getName().trim());
+            ps.setString(4, row.row().getDescription());
+            ps.setBigDecimal(5, row.price());
+            ps.setBigDecimal(6, row.price());
+            ps.setString(7, row.row().getCategoryId().trim());
+            ps.setString(8, row.row().getMainImage());
+            ps.setInt(9, row.status().ordinal());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+
+        List<Object[]> inventory = new ArrayList<>();
+        List<Object[]> images = new ArrayList<>();
+        for (ValidRow row : rows) {
+            for (InventoryLine line : row.inventory()) {
+                inventory.add(new Object[]{UUID.randomUUID().toString(), row.productId(), line.sizeId(), line.quantity()});
+            }
+            for (String image : row.images()) {
+                images.add(new Object[]{UUID.randomUUID().toString(), row.productId(), image});
+            }
+        }
+        if (!inventory.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_INVENTORY, inventory);
+        }
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, images);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.doan.backend.entity.Category;
 import com.doan.backend.enums.StatusEnum;
 import com.doan.backend.mapper.CategoryMapper;
 import com.doan.backend.repositories.CategoryRepository;
+import com.doan.backend.enums.CacheRegion;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
@@ -22,6 +23,7 @@ import java.util.Optional;
 public class CategoryService {
     CategoryMapper categoryMapper;
     CategoryRepository categoryRepository;
+    CacheInvalidationService cacheInvalidationService;
 
     public ApiResponse<CategoryResponse> getCategory(String id) {
         Optional<Category> categoryOptional = categoryRepository.findById(id);
@@ -65,6 +67,7 @@ public class CategoryService {
 
         category.setStatus(StatusEnum.DELETED);
         categoryRepository.save(category);
+        cacheInvalidationService.broadcast(CacheRegion.CATEGORIES, category.getId());
         return ApiResponse.<String>builder()
                 .code(200)
                 .result(category.getId())
@@ -87,6 +90,7 @@ public class CategoryService {
             categoryToUpdate.setDescription(category.getDescription());
             categoryToUpdate.setStatus(category.getStatus());
             categoryRepository.save(categoryToUpdate);
+            cacheInvalidationService.broadcast(CacheRegion.CATEGORIES, id);
             return ApiResponse.<String>builder()
                     .code(200)
                     .message("Category updated successfully")
@@ -103,6 +107,7 @@ public class CategoryService {
             throw new IllegalArgumentException("Category name already exists");
         } else {
             Category newCategory = categoryRepository.save(categoryMapper.toCategory(categoryRequest));
+            cacheInvalidationService.broadcast(CacheRegion.CATEGORIES, newCategory.getId());
             return ApiResponse.<CategoryResponse>builder()
                     .code(200)
                     .message("Category created successfully")
@@ -0,0 +1,160 @@
+package com.doan.backend.services;
+
+import com.doan.backend.config.AbortableRequests;
+import com.doan.backend.dto.response.ChatTypingResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Service
+public class ChatbotBridgeService {
+    private static final Logger log = LoggerFactory.getLogger(ChatbotBridgeService.class);
+
+    static final String FALLBACK_REPLY = "Xin lỗi, tôi không thể xử lý yêu cầu của bạn lúc này.";
+
+    private final ChatbotClient chatbotClient;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Map<String, Set<Call>> pending = new ConcurrentHashMap<>();
+
+    public ChatbotBridgeService(ChatbotClient chatbotClient,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${chatbot.max-concurrency:4}") int maxConcurrency,
+                                @Value("${chatbot.queue-capacity:100}") int queueCapacity,
+                                @Value("${chatbot.timeout-ms:15000}") long timeoutMs) {
+        this.chatbotClient = chatbotClient;
+        this.messagingTemplate = messagingTemplate;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chatbot-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Returns immediately. onReply runs later on a bridge thread with the bot's answer,
+    // or with FALLBACK_REPLY if the bot is saturated, fails or times out. Nothing is
+    // delivered for requests cancelled through cancel(chatRoomId).
+    public void submit(String chatRoomId, String userInput, Consumer<String> onReply) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AbortableRequests.Handle request = new AbortableRequests.Handle();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(AbortableRequests.run(request, () -> chatbotClient.reply(userInput)));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Chatbot queue is full, rejecting request for chat room {}", chatRoomId);
+            deliver(chatRoomId, onReply, FALLBACK_REPLY);
+            return;
+        }
+
+        Call call = new Call(result, task, request);
+        track(chatRoomId, call);
+        result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((reply, error) -> {
+            untrack(chatRoomId, call);
+            if (error != null) {
+                call.stop();
+            }
+            if (error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                log.warn("Chatbot request failed for chat room {}: {}", chatRoomId, error.toString());
+                deliver(chatRoomId, onReply, FALLBACK_REPLY);
+            } else if (reply != null) {
+                deliver(chatRoomId, onReply, reply);
+            }
+        });
+    }
+
+    public void cancel(String chatRoomId) {
+        Set<Call> calls = pending.remove(chatRoomId);
+        if (calls != null) {
+            calls.forEach(call -> {
+                call.result().cancel(false);
+                call.stop();
+            });
+            executor.purge();
+            sendTyping(chatRoomId, false);
+        }
+    }
+
+    public int pendingCount() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void deliver(String chatRoomId, Consumer<String> onReply, String reply) {
+        try {
+            onReply.accept(reply);
+        } catch (Exception e) {
+            log.error("Failed to publish chatbot reply for chat room {}", chatRoomId, e);
+        }
+    }
+
+    private void track(String chatRoomId, Call call) {
+        boolean[] first = {false};
+        pending.compute(chatRoomId, (id, calls) -> {
+            if (calls == null) {
+                calls = new HashSet<>();
+                first[0] = true;
+            }
+            calls.add(call);
+            return calls;
+        });
+        if (first[0]) {
+            sendTyping(chatRoomId, true);
+        }
+    }
+
+    private void untrack(String chatRoomId, Call call) {
+        boolean[] last = {false};
+        pending.computeIfPresent(chatRoomId, (id, calls) -> {
+            calls.remove(call);
+            if (calls.isEmpty()) {
+                last[0] = true;
+                return null;
+            }
+            return calls;
+        });
+        if (last[0]) {
+            sendTyping(chatRoomId, false);
+        }
+    }
+
+    private void sendTyping(String chatRoomId, boolean typing) {
+        messagingTemplate.convertAndSend("/topic/chatRoom/" + chatRoomId + "/typing", new ChatTypingResponse(chatRoomId, typing));
+    }
+
+    // stop() frees the worker: interrupt the task and abort its HTTP exchange.
+    private record Call(CompletableFuture<String> result, Future<?> task, AbortableRequests.Handle request) {
+        void stop() {
+            task.cancel(true);
+            request.abort();
+        }
+    }
+}
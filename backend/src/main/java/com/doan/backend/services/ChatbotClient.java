@@ -0,0 +1,5 @@
+package com.doan.backend.services;
+
+public interface ChatbotClient {
+    String reply(String userInput);
+}
@@ -0,0 +1,158 @@
+package com.doan.backend.services;
+
+import com.doan.backend.exception.TooManyRequestsException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CheckoutAdmissionService {
+
+    private static final String SELECT_CART_LINES = "SELECT ci.product_id, ci.size_id, ci.quantity, p.name FROM cart_items ci " +
+            "JOIN carts c ON c.id = ci.cart_id JOIN products p ON p.id = ci.product_id WHERE c.user_id = ?";
+
+    JdbcTemplate jdbcTemplate;
+    InventoryEventService inventoryEventService;
+
+    Map<Key, KeyState> keys = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${checkout.admission.hot-threshold:20}")
+    int hotThreshold;
+
+    @NonFinal
+    @Value("${checkout.admission.hot-cooldown-ms:10000}")
+    long hotCooldownMs;
+
+    @NonFinal
+    @Value("${checkout.admission.per-key-concurrency:2}")
+    int perKeyConcurrency;
+
+    @NonFinal
+    @Value("${checkout.admission.queue-capacity:50}")
+    int queueCapacity;
+
+    @NonFinal
+    @Value("${checkout.admission.queue-timeout-ms:3000}")
+    long queueTimeoutMs;
+
+    public record Key(String productId, String sizeId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byProduct = productId.compareTo(other.productId);
+            return byProduct != 0 ? byProduct : sizeId.compareTo(other.sizeId);
+        }
+    }
+
+    private record Line(Key key, int quantity, String productName) {
+    }
+
+    // A key turns hot once it sees hot-threshold checkouts within one second and stays
+    // hot for hot-cooldown-ms after the last busy second. Hot keys get a fair gate so
+    // waiting checkouts queue here, in arrival order, instead of on the row lock while
+    // holding a pooled connection.
+    private class KeyState {
+        final Semaphore gate = new Semaphore(perKeyConcurrency, true);
+        final AtomicInteger waiting = new AtomicInteger();
+        final AtomicInteger hits = new AtomicInteger();
+        volatile long windowStart = System.currentTimeMillis();
+        volatile long hotUntil;
+        volatile long lastSeen;
+
+        boolean record(long now) {
+            lastSeen = now;
+            if (now - windowStart >= 1000) {
+                synchronized (this) {
+                    if (now - windowStart >= 1000) {
+                        windowStart = now;
+                        hits.set(0);
+                    }
+                }
+            }
+            if (hits.incrementAndGet() >= hotThreshold) {
+                hotUntil = now + hotCooldownMs;
+            }
+            return now < hotUntil;
+        }
+    }
+
+    public <T> T admit(String userId, Supplier<T> checkout) {
+        List<Line> lines = jdbcTemplate.query(SELECT_CART_LINES, (rs, rowNum) -> new Line(
+                new Key(rs.getString("product_id"), rs.getString("size_id")),
+                rs.getInt("quantity"),
+                rs.getString("name")), userId);
+
+        long now = System.currentTimeMillis();
+        Map<Key, KeyState> hot = new TreeMap<>();
+        for (Line line : lines) {
+            KeyState state = keys.computeIfAbsent(line.key(), key -> new KeyState());
+            if (state.record(now)) {
+                hot.put(line.key(), state);
+            }
+        }
+        if (hot.isEmpty()) {
+            return checkout.get();
+        }
+
+        rejectIfSoldOut(lines);
+
+        List<KeyState> acquired = new ArrayList<>();
+        try {
+            for (KeyState state : hot.values()) {
+                enter(state);
+                acquired.add(state);
+            }
+            rejectIfSoldOut(lines);
+            return checkout.get();
+        } finally {
+            acquired.forEach(state -> state.gate.release());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.admission.eviction-interval-ms:60000}")
+    public void evictIdleKeys() {
+        long threshold = System.currentTimeMillis() - Math.max(hotCooldownMs, 60_000);
+        keys.values().removeIf(state -> state.lastSeen < threshold && state.waiting.get() == 0
+                && state.gate.availablePermits() == perKeyConcurrency);
+    }
+
+    private void enter(KeyState state) {
+        if (state.waiting.incrementAndGet() > queueCapacity) {
+            state.waiting.decrementAndGet();
+            throw new TooManyRequestsException("Checkout is busy, please retry");
+        }
+        try {
+            if (!state.gate.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new TooManyRequestsException("Checkout is busy, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Checkout is busy, please retry");
+        } finally {
+            state.waiting.decrementAndGet();
+        }
+    }
+
+    private void rejectIfSoldOut(List<Line> lines) {
+        for (Line line : lines) {
+            Optional<Integer> remaining = inventoryEventService.lastKnownQuantity(line.key().productId(), line.key().sizeId());
+            if (remaining.isPresent() && remaining.get() < line.quantity()) {
+                throw new RuntimeException("Insufficient stock for product: " + line.productName());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.DashboardMetricsResponse;
+import com.doan.backend.enums.OrderStatusEnum;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+// Today's dashboard counters, kept in memory so a dashboard refresh never reaches the
+// database. Deltas come from the outbox events this instance commits; the periodic reseed
+// picks up what other instances wrote and corrects any drift.
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DashboardMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardMetricsService.class);
+
+    public static final String TOPIC = "/topic/admin/dashboard";
+
+    private static final String COUNT_ORDERS_SINCE = "SELECT COUNT(*) FROM orders WHERE created_at >= ?";
+
+    private static final String SUM_PAID_SINCE = "SELECT COALESCE(SUM(total_amount), 0) FROM invoices " +
+            "WHERE status = 'PAID' AND updated_at >= ?";
+
+    private static final String COUNT_PENDING = "SELECT COUNT(*) FROM orders WHERE status = ?";
+
+    JdbcTemplate jdbcTemplate;
+    SimpMessagingTemplate messagingTemplate;
+
+    LongAdder ordersToday = new LongAdder();
+    LongAdder revenueToday = new LongAdder();
+    LongAdder pendingPayments = new LongAdder();
+
+    @NonFinal
+    volatile LocalDate day;
+
+    @NonFinal
+    volatile DashboardMetricsResponse lastPushed;
+
+    @TransactionalEventListener
+    public void onEventWritten(OutboxService.EventsWritten event) {
+        switch (event.eventType()) {
+            case ORDER_CREATED -> {
+                ordersToday.increment();
+                pendingPayments.increment();
+            }
+            case ORDER_STATUS_CHANGED -> {
+                if (isPending(event.payload().get("from"))) {
+                    pendingPayments.decrement();
+                }
+                if (isPending(event.payload().get("to"))) {
+                    pendingPayments.increment();
+                }
+            }
+            case INVOICE_PAID -> {
+                Object amount = event.payload().get("totalAmount");
+                if (amount != null) {
+                    revenueToday.add(new BigDecimal(amount.toString()).setScale(0, RoundingMode.HALF_UP).longValue());
+                }
+            }
+        }
+    }
+
+    private boolean isPending(Object status) {
+        return status != null && OrderStatusEnum.PENDING.name().equals(status.toString());
+    }
+
+    // A delta committed while the seed queries run can be counted twice or not at all; the
+    // next reseed settles it.
+    @Scheduled(fixedDelayString = "${dashboard.metrics.reseed-interval-ms:60000}")
+    public void reseed() {
+        try {
+            LocalDate today = LocalDate.now();
+            Timestamp since = Timestamp.valueOf(today.atStartOfDay());
+            Long orders = jdbcTemplate.queryForObject(COUNT_ORDERS_SINCE, Long.class, since);
+            BigDecimal revenue = jdbcTemplate.queryForObject(SUM_PAID_SINCE, BigDecimal.class, since);
+            Long pending = jdbcTemplate.queryForObject(COUNT_PENDING, Long.class, OrderStatusEnum.PENDING.ordinal());
+
+            reset(ordersToday, orders != null ? orders : 0);
+            reset(revenueToday, revenue != null ? revenue.setScale(0, RoundingMode.HALF_UP).longValue() : 0);
+            reset(pendingPayments, pending != null ? pending : 0);
+            day = today;
+        } catch (RuntimeException e) {
+            log.warn("Dashboard metrics reseed failed: {}", e.getMessage());
+        }
+    }
+
+    private void reset(LongAdder adder, long value) {
+        adder.add(value - adder.sum());
+    }
+
+    public DashboardMetricsResponse snapshot() {
+        return DashboardMetricsResponse.builder()
+                .date(day)
+                .ordersToday(ordersToday.sum())
+                .revenueToday(BigDecimal.valueOf(revenueToday.sum()))
+                .pendingPayments(Math.max(0, pendingPayments.sum()))
+                .build();
+    }
+
+    // Sends only when something changed, so an idle shop costs no traffic.
+    @Scheduled(fixedRateString = "${dashboard.metrics.push-interval-ms:1000}")
+    public void push() {
+        if (day == null) {
+            return;
+        }
+        if (!LocalDate.now().equals(day)) {
+            reseed();
+        }
+        DashboardMetricsResponse current = snapshot();
+        if (current.equals(lastPushed)) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(TOPIC, current);
+            lastPushed = current;
+        } catch (RuntimeException e) {
+            log.warn("Dashboard metrics push failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Discount;
+import com.doan.backend.enums.CacheRegion;
+import com.doan.backend.mapper.DiscountMapper;
+import com.doan.backend.repositories.DiscountRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DiscountCatalogService implements CacheInvalidationListener {
+
+    DiscountRepository discountRepository;
+    DiscountMapper discountMapper;
+    CacheInvalidationService cacheInvalidationService;
+
+    @NonFinal
+    @Value("${discount.catalog.ttl-seconds:60}")
+    long ttlSeconds;
+
+    @NonFinal
+    volatile Snapshot snapshot;
+
+    // Holds every discount that has not expired yet, including ones that start later, so
+    // validity is still decided per call. A reload happens after DiscountService writes, after
+    // a redemption commits, at the next expiry boundary, or once the TTL has passed. Entries
+    // are detached copies and every lookup hands out its own copy, so callers never share or
+    // change what the snapshot holds.
+    private record Snapshot(Map<String, Discount> byCode, List<Discount> autoApply, LocalDateTime refreshAt) {
+    }
+
+    public Optional<Discount> findByCode(String code) {
+        LocalDateTime now = LocalDateTime.now();
+        return Optional.ofNullable(current(now).byCode().get(code))
+                .filter(discount -> discount.getExpiryDate().isAfter(now))
+                .map(discountMapper::copy);
+    }
+
+    public List<Discount> findAutoApply() {
+        LocalDateTime now = LocalDateTime.now();
+        return current(now).autoApply().stream()
+                .filter(discount -> discount.getExpiryDate().isAfter(now))
+                .map(discountMapper::copy)
+                .toList();
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    // Called inside the redeeming transaction: the other instances drop their snapshot when
+    // the broadcast row commits, this one right after the commit, so no reload can pick up
+    // the count from before it.
+    public void usedCountChanged(String discountId) {
+        cacheInvalidationService.broadcast(CacheRegion.DISCOUNTS, discountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean supports(CacheRegion region) {
+        return region == CacheRegion.DISCOUNTS;
+    }
+
+    @Override
+    public void evict(CacheRegion region, String key) {
+        invalidate();
+    }
+
+    private Snapshot current(LocalDateTime now) {
+        Snapshot current = snapshot;
+        if (current != null && now.isBefore(current.refreshAt())) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || !now.isBefore(current.refreshAt())) {
+                current = load(now);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot load(LocalDateTime now) {
+        Map<String, Discount> byCode = new HashMap<>();
+        LocalDateTime refreshAt = now.plusSeconds(ttlSeconds);
+
+        for (Discount discount : discountRepository.findByExpiryDateAfter(now)) {
+            byCode.put(discount.getCode(), discountMapper.copy(discount));
+            if (discount.getExpiryDate().isBefore(refreshAt)) {
+                refreshAt = discount.getExpiryDate();
+            }
+        }
+
+        List<Discount> autoApply = byCode.values().stream()
+                .filter(discount -> Boolean.TRUE.equals(discount.getAutoApply()))
+                .toList();
+
+        return new Snapshot(Map.copyOf(byCode), autoApply, refreshAt);
+    }
+}
@@ -0,0 +1,61 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Discount;
+import com.doan.backend.entity.User;
+import com.doan.backend.entity.UserDiscount;
+import com.doan.backend.repositories.DiscountRepository;
+import com.doan.backend.repositories.UserDiscountRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DiscountRedemptionService {
+
+    DiscountRepository discountRepository;
+    UserDiscountRepository userDiscountRepository;
+    DiscountCatalogService discountCatalogService;
+
+    // Callers should claim as late as possible in their transaction: the conditional
+    // UPDATE keeps the discount row locked until commit, so a hot code stays contended
+    // only for that short window instead of for the whole checkout.
+    @Transactional
+    public UserDiscount claim(String discountId, User user) {
+        UserDiscount userDiscount;
+        if (userDiscountRepository.reclaimUserDiscount(user.getId(), discountId) > 0) {
+            userDiscount = userDiscountRepository.findByUserIdAndDiscount_Id(user.getId(), discountId)
+                    .orElseThrow(() -> new RuntimeException("Discount not found"));
+        } else {
+            userDiscount = new UserDiscount();
+            userDiscount.setUser(user);
+            userDiscount.setDiscount(discountRepository.getReferenceById(discountId));
+            userDiscount.setUsesCount(1);
+            try {
+                userDiscount = userDiscountRepository.saveAndFlush(userDiscount);
+            } catch (DataIntegrityViolationException e) {
+                throw new RuntimeException("Discount has been used");
+            }
+        }
+
+        if (discountRepository.incrementUsedCount(discountId) == 0) {
+            throw new RuntimeException("Discount are out of stock");
+        }
+        discountCatalogService.usedCountChanged(discountId);
+
+        return userDiscount;
+    }
+
+    @Transactional
+    public void release(UserDiscount userDiscount) {
+        Discount discount = userDiscount.getDiscount();
+        if (userDiscountRepository.releaseUserDiscount(userDiscount.getId()) > 0) {
+            discountRepository.decrementUsedCount(discount.getId());
+            discountCatalogService.usedCountChanged(discount.getId());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.doan.backend.enums.DiscountType;
 import com.doan.backend.mapper.DiscountMapper;
 import com.doan.backend.repositories.DiscountRepository;
 import com.doan.backend.repositories.UserDiscountRepository;
+import com.doan.backend.enums.CacheRegion;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -21,7 +22,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
@@ -31,6 +31,9 @@ public class DiscountService {
     DiscountRepository discountRepository;
     UserDiscountRepository userDiscountRepository;
     DiscountMapper discountMapper;
+    DiscountCatalogService discountCatalogService;
+    SearchIndexService searchIndexService;
+    CacheInvalidationService cacheInvalidationService;
 
     public ApiResponse<Discount> createDiscount(DiscountRequest discountRequest) {
         Discount discount = discountMapper.toDiscount(discountRequest);
@@ -57,10 +60,14 @@ public class DiscountService {
             discount.setDiscountValue(BigDecimal.ZERO);
         }
 
+        Discount savedDiscount = discountRepository.save(discount);
+        discountCatalogService.invalidate();
+        cacheInvalidationService.broadcast(CacheRegion.DISCOUNTS, savedDiscount.getId());
+
         return ApiResponse.<Discount>builder()
                 .code(200)
                 .message("Discount created successfully")
-                .result(discountRepository.save(discount))
+                .result(savedDiscount)
                 .build();
     }
 
@@ -78,6 +85,8 @@ public class DiscountService {
         Optional.ofNullable(discountRequest.getStartDate()).ifPresent(discount::setStartDate);
 
         discountRepository.save(discount);
+        discountCatalogService.invalidate();
+        cacheInvalidationService.broadcast(CacheRegion.DISCOUNTS, id);
 
         return ApiResponse.<Discount>builder()
                 .code(200)
@@ -88,6 +97,8 @@ public class DiscountService {
 
     public ApiResponse<Void> deleteDiscount(String id) {
         discountRepository.deleteById(id);
+        discountCatalogService.invalidate();
+        cacheInvalidationService.broadcast(CacheRegion.DISCOUNTS, id);
         return ApiResponse.<Void>builder()
                 .code(200)
                 .message("Discount deleted successfully")
@@ -95,7 +106,9 @@ public class DiscountService {
     }
 
     public ApiResponse<Page<Discount>> getDiscountSearchByCode(String code, Pageable pageable) {
-        Page<Discount> discounts = discountRepository.findByCodeContaining(code, pageable);
+        Page<Discount> discounts = searchIndexService.covers(SearchIndexService.Index.DISCOUNT_CODE, code)
+                ? discountRepository.searchByCode(SearchIndexService.phrase(code), code.strip(), pageable)
+                : discountRepository.findByCodeContaining(code, pageable);
         return ApiResponse.<Page<Discount>>builder()
                 .code(200)
                 .message("Discount retrieved successfully")
@@ -104,17 +117,13 @@ public class DiscountService {
     }
 
     public ApiResponse<Discount> getDiscount(String code, String userId) {
-        boolean userHasUsedDiscount = userDiscountRepository.findByUserIdAndDiscount_Code(userId, code)
-                .map(userDiscount -> userDiscount.getUsesCount() > 0)
-                .orElse(false);
+        Discount discount = discountCatalogService.findByCode(code)
+                .orElseThrow(() -> new RuntimeException("Discount not found"));
 
-        if (userHasUsedDiscount) {
+        if (userDiscountRepository.existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(userId, discount.getId(), 0)) {
             throw new RuntimeException("User has already used this discount.");
         }
 
-        Discount discount = discountRepository.findByCodeAndExpiryDateAfter(code, LocalDateTime.now())
-                .orElseThrow(() -> new RuntimeException("Discount not found"));
-
         if (discount.getUsedCount() >= discount.getMaxUses()) {
             throw new RuntimeException("Discount has reached its maximum uses");
         }
@@ -131,15 +140,10 @@ public class DiscountService {
     }
 
     public ApiResponse<Iterable<Discount>> getAllDiscountsByAutoApply(String userId) {
-        Iterable<Discount> discounts = discountRepository.findByAutoApplyTrueAndExpiryDateAfter(LocalDateTime.now());
-
-        Set<String> usedDiscountCodes = userDiscountRepository.findByUserId(userId).stream()
-                .filter(userDiscount -> userDiscount.getUsesCount() > 0)
-                .map(userDiscount -> userDiscount.getDiscount().getCode())
-                .collect(Collectors.toSet());
+        Set<String> usedDiscountIds = userDiscountRepository.findUsedDiscountIdsByUserId(userId);
 
-        List<Discount> availableDiscounts = StreamSupport.stream(discounts.spliterator(), false)
-                .filter(discount -> !usedDiscountCodes.contains(discount.getCode()) && (discount.getMaxUses() - discount.getUsedCount() > 0))
+        List<Discount> availableDiscounts = discountCatalogService.findAutoApply().stream()
+                .filter(discount -> !usedDiscountIds.contains(discount.getId()) && (discount.getMaxUses() - discount.getUsedCount() > 0))
                 .collect(Collectors.toList());
 
         return ApiResponse.<Iterable<Discount>>builder()
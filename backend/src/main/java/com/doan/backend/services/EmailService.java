@@ -3,6 +3,7 @@ package com.doan.backend.services;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 @Service
 public class EmailService {
+    @Lazy
     JavaMailSender mailSender;
 
     public void sendVerificationEmail(String toEmail, String subject, String verificationUrl) {
@@ -5,7 +5,10 @@ import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.GHTKCostResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -20,6 +23,8 @@ import java.nio.charset.StandardCharsets;
 
 @Service
 public class GHTKService {
+    private static final Logger log = LoggerFactory.getLogger(GHTKService.class);
+
     @Value("${ghtk.url}")
     private String apiUrl;
 
@@ -27,6 +32,7 @@ public class GHTKService {
     private String token;
 
     @Autowired
+    @Qualifier("ghtkRestTemplate")
     private RestTemplate restTemplate;
 
     public ApiResponse<GHTKCostResponse> shippingCosts(AddressRequest addressRequest) {
@@ -46,18 +52,13 @@ public class GHTKService {
                 "none"
         );
 
-        System.out.println("url  " + url);
-
-        System.out.println("token  " + token);
+        log.debug("GHTK shipping fee request {}", url);
 
         HttpHeaders headers = new HttpHeaders();
         headers.set("Token", token);
         headers.set("X-Client-Source", "S22810482");
         headers.set("Accept", "text/plain, application/json, application/* json, */*");
-        headers.set("Host", apiUrl);
         headers.set("Content-Type", "application/x-www-form-urlencoded");
-        headers.set("Content-Length", "0");
-        System.out.println("headers" + headers);
         HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
 
         try {
@@ -70,14 +71,13 @@ public class GHTKService {
 
             ObjectMapper objectMapper = new ObjectMapper();
 
-            System.out.println("responseEntity.getBody()" + responseEntity.getBody());
+            log.debug("GHTK shipping fee response {}", responseEntity.getBody());
 
             GHTKCostResponse gHTKResponse = objectMapper.readValue(
                     responseEntity.getBody(),
                     new TypeReference<GHTKCostResponse>() {
                     }
             );
-            System.out.println("gHTKResponse" + gHTKResponse);
 
             return ApiResponse.<GHTKCostResponse>builder()
                     .code(200)
@@ -87,7 +87,7 @@ public class GHTKService {
         } catch (HttpClientErrorException e) {
             throw new HttpClientErrorException(e.getStatusCode());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("GHTK shipping fee request failed", e);
             throw new RuntimeException("Error when calling GHTK API");
         }
     }
@@ -0,0 +1,86 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.ShipmentStatusEnum;
+import com.doan.backend.utils.TokenBucket;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// GHTK only answers one label per request, so a batch costs one call per code; the bucket
+// keeps the total under the rate GHTK tolerates however many batches run in parallel.
+@Service
+@ConditionalOnProperty(name = "shipment.carrier", havingValue = "ghtk", matchIfMissing = true)
+public class GhtkShipmentCarrierClient implements ShipmentCarrierClient {
+
+    private static final Logger log = LoggerFactory.getLogger(GhtkShipmentCarrierClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String apiUrl;
+    private final String token;
+    private final TokenBucket rateLimiter;
+
+    public GhtkShipmentCarrierClient(@Qualifier("ghtkRestTemplate") RestTemplate restTemplate,
+                                     @Value("${ghtk.url}") String apiUrl,
+                                     @Value("${ghtk.token}") String token,
+                                     @Value("${shipment.ghtk.requests-per-second:5}") double requestsPerSecond) {
+        this.restTemplate = restTemplate;
+        this.apiUrl = apiUrl;
+        this.token = token;
+        this.rateLimiter = new TokenBucket(Math.max(1, (long) requestsPerSecond), requestsPerSecond);
+    }
+
+    @Override
+    public Map<String, Tracking> track(List<String> trackingCodes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Token", token);
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        Map<String, Tracking> result = new HashMap<>();
+        for (String code : trackingCodes) {
+            try {
+                rateLimiter.acquire();
+                JsonNode body = restTemplate.exchange(apiUrl + "/services/shipment/v2/" + code, HttpMethod.GET, request,
+                        JsonNode.class).getBody();
+                JsonNode order = body == null ? null : body.get("order");
+                if (order == null || !body.path("success").asBoolean(false)) {
+                    continue;
+                }
+                ShipmentStatusEnum status = toStatus(order.path("status").asInt(Integer.MIN_VALUE));
+                if (status != null) {
+                    result.put(code, new Tracking(status, order.path("status_text").asText(null)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RestClientException e) {
+                log.warn("GHTK tracking failed for {}: {}", code, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    static ShipmentStatusEnum toStatus(int ghtkStatus) {
+        return switch (ghtkStatus) {
+            case -1 -> ShipmentStatusEnum.CANCELLED;
+            case 1, 2, 7, 8, 12 -> ShipmentStatusEnum.CREATED;
+            case 3 -> ShipmentStatusEnum.PICKED_UP;
+            case 4, 9, 10, 45, 49, 410 -> ShipmentStatusEnum.IN_TRANSIT;
+            case 5, 6 -> ShipmentStatusEnum.DELIVERED;
+            case 11, 13, 20, 21 -> ShipmentStatusEnum.RETURNED;
+            default -> null;
+        };
+    }
+}
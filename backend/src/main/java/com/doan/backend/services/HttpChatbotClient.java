@@ -0,0 +1,29 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.BotRequest;
+import com.doan.backend.dto.response.BotResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+@Service
+@ConditionalOnProperty(name = "chatbot.mode", havingValue = "http", matchIfMissing = true)
+public class HttpChatbotClient implements ChatbotClient {
+
+    private final RestTemplate restTemplate;
+    private final String botApiUrl;
+
+    public HttpChatbotClient(@Qualifier("chatbotRestTemplate") RestTemplate restTemplate,
+                             @Value("${chatbot.url}") String botApiUrl) {
+        this.restTemplate = restTemplate;
+        this.botApiUrl = botApiUrl;
+    }
+
+    @Override
+    public String reply(String userInput) {
+        BotResponse botResponse = restTemplate.postForObject(botApiUrl, new BotRequest(userInput), BotResponse.class);
+        return botResponse != null ? botResponse.getResponse() : null;
+    }
+}
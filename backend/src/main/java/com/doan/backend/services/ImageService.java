@@ -5,6 +5,7 @@ import com.cloudinary.utils.ObjectUtils;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.exception.FileUploadException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -13,6 +14,7 @@ import java.util.Map;
 
 @Service
 public class ImageService {
+    @Lazy
     @Autowired
     private Cloudinary cloudinary;
 
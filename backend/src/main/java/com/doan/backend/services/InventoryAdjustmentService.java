@@ -0,0 +1,200 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.InventoryAdjustmentRequest;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.InventoryAdjustmentReport;
+import com.doan.backend.dto.response.InventoryAdjustmentResult;
+import com.doan.backend.enums.InventoryAdjustmentStatus;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InventoryAdjustmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryAdjustmentService.class);
+
+    private static final String UPDATE_QUANTITY = "UPDATE product_inventory SET quantity = ?, version = version + 1 WHERE id = ?";
+
+    JdbcTemplate jdbcTemplate;
+    InventoryEventService inventoryEventService;
+    TransactionTemplate transactionTemplate;
+    CsvMapper csvMapper = new CsvMapper();
+    int chunkSize;
+
+    public InventoryAdjustmentService(JdbcTemplate jdbcTemplate,
+                                      InventoryEventService inventoryEventService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${inventory.bulk.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryEventService = inventoryEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    record Key(String productId, String sizeId) {
+    }
+
+    record Current(String id, int quantity, long version) {
+    }
+
+    public ApiResponse<InventoryAdjustmentReport> adjustFromCsv(InputStream inputStream) {
+        List<InventoryAdjustmentRequest> items = new ArrayList<>();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<InventoryAdjustmentRequest> rows = csvMapper.readerFor(InventoryAdjustmentRequest.class).with(schema).readValues(inputStream)) {
+            while (rows.hasNextValue()) {
+                items.add(rows.nextValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Invalid inventory file at row " + (items.size() + 1) + ": " + e.getMessage());
+        }
+        return adjust(items);
+    }
+
+    // Results come back in request order. Each chunk locks its rows, applies every
+    // change with one batched UPDATE and commits, so a checkout that read a row before
+    // the chunk fails its version check rather than overwriting the new quantity.
+    public ApiResponse<InventoryAdjustmentReport> adjust(List<InventoryAdjustmentRequest> items) {
+        InventoryAdjustmentResult[] results = new InventoryAdjustmentResult[items.size()];
+        Set<Key> seen = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            InventoryAdjustmentRequest item = items.get(i);
+            String error = validate(item);
+            if (error == null && !seen.add(new Key(item.getProductId(), item.getSizeId()))) {
+                error = "Duplicate product and size in request";
+            }
+            if (error != null) {
+                results[i] = result(item, InventoryAdjustmentStatus.INVALID, null, null, null, error);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                Map<Integer, InventoryAdjustmentResult> applied = transactionTemplate.execute(status -> applyChunk(items, chunk));
+                applied.forEach((index, result) -> results[index] = result);
+            } catch (DataAccessException e) {
+                log.warn("Inventory adjustment chunk of {} rows failed: {}", chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    results[index] = result(items.get(index), InventoryAdjustmentStatus.CONFLICT, null, null, null,
+                            "Could not apply, retry the row");
+                }
+            }
+        }
+
+        List<InventoryAdjustmentResult> resultList = Arrays.asList(results);
+        int updated = (int) resultList.stream().filter(r -> r.getStatus() == InventoryAdjustmentStatus.UPDATED).count();
+        int unchanged = (int) resultList.stream().filter(r -> r.getStatus() == InventoryAdjustmentStatus.UNCHANGED).count();
+
+        return ApiResponse.<InventoryAdjustmentReport>builder()
+                .code(200)
+                .message("Inventory adjusted successfully")
+                .result(InventoryAdjustmentReport.builder()
+                        .updated(updated)
+                        .unchanged(unchanged)
+                        .failed(resultList.size() - updated - unchanged)
+                        .results(resultList)
+                        .build())
+                .build();
+    }
+
+    private Map<Integer, InventoryAdjustmentResult> applyChunk(List<InventoryAdjustmentRequest> items, List<Integer> chunk) {
+        Map<Key, Current> current = lockRows(items, chunk);
+        Map<Integer, InventoryAdjustmentResult> applied = new HashMap<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        for (Integer index : chunk) {
+            InventoryAdjustmentRequest item = items.get(index);
+            Current row = current.get(new Key(item.getProductId(), item.getSizeId()));
+            if (row == null) {
+                applied.put(index, result(item, InventoryAdjustmentStatus.NOT_FOUND, null, null, null, "Product inventory not found"));
+                continue;
+            }
+            if (item.getExpectedVersion() != null && item.getExpectedVersion() != row.version()) {
+                applied.put(index, result(item, InventoryAdjustmentStatus.CONFLICT, row.quantity(), row.quantity(), row.version(),
+                        "Inventory changed since version " + item.getExpectedVersion()));
+                continue;
+            }
+            int quantity = item.getQuantity() != null ? item.getQuantity() : row.quantity() + item.getDelta();
+            if (quantity < 0) {
+                applied.put(index, result(item, InventoryAdjustmentStatus.INVALID, row.quantity(), row.quantity(), row.version(),
+                        "Quantity would become negative"));
+            } else if (quantity == row.quantity()) {
+                applied.put(index, result(item, InventoryAdjustmentStatus.UNCHANGED, row.quantity(), quantity, row.version(), null));
+            } else {
+                updates.add(new Object[]{quantity, row.id()});
+                inventoryEventService.markChanged(item.getProductId());
+                applied.put(index, result(item, InventoryAdjustmentStatus.UPDATED, row.quantity(), quantity, row.version() + 1, null));
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_QUANTITY, updates);
+        }
+        return applied;
+    }
+
+    private Map<Key, Current> lockRows(List<InventoryAdjustmentRequest> items, List<Integer> chunk) {
+        StringJoiner placeholders = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>();
+        for (Integer index : chunk) {
+            placeholders.add("(?, ?)");
+            args.add(items.get(index).getProductId());
+            args.add(items.get(index).getSizeId());
+        }
+        Map<Key, Current> current = new HashMap<>();
+        jdbcTemplate.query("SELECT id, product_id, size_id, quantity, version FROM product_inventory " +
+                        "WHERE (product_id, size_id) IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    current.put(new Key(rs.getString("product_id"), rs.getString("size_id")),
+                            new Current(rs.getString("id"), rs.getInt("quantity"), rs.getLong("version")));
+                }, args.toArray());
+        return current;
+    }
+
+    private static String validate(InventoryAdjustmentRequest item) {
+        if (item.getProductId() == null || item.getProductId().isBlank()
+                || item.getSizeId() == null || item.getSizeId().isBlank()) {
+            return "Product id and size id are required";
+        }
+        if ((item.getQuantity() == null) == (item.getDelta() == null)) {
+            return "Exactly one of quantity or delta is required";
+        }
+        if (item.getQuantity() != null && item.getQuantity() < 0) {
+            return "Quantity must not be negative";
+        }
+        return null;
+    }
+
+    private static InventoryAdjustmentResult result(InventoryAdjustmentRequest item, InventoryAdjustmentStatus status,
+                                                    Integer before, Integer after, Long version, String message) {
+        return InventoryAdjustmentResult.builder()
+                .productId(item.getProductId())
+                .sizeId(item.getSizeId())
+                .status(status)
+                .before(before)
+                .after(after)
+                .version(version)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.InventoryUpdateResponse;
+import com.doan.backend.dto.response.LowStockResponse;
+import com.doan.backend.enums.CacheRegion;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InventoryEventService implements CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventService.class);
+
+    // Under /topic/admin/ so only admin sessions may subscribe.
+    public static final String LOW_STOCK_TOPIC = "/topic/admin/inventory/low-stock";
+
+    private static final String SELECT_STOCK = "SELECT pi.product_id, pi.size_id, s.name, pi.quantity FROM product_inventory pi " +
+            "JOIN sizes s ON s.id = pi.size_id WHERE pi.product_id IN (:productIds) ORDER BY s.name";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    SimpMessagingTemplate messagingTemplate;
+    CacheInvalidationService cacheInvalidationService;
+
+    Set<String> dirtyProducts = ConcurrentHashMap.newKeySet();
+    Set<String> remoteDirtyProducts = ConcurrentHashMap.newKeySet();
+    Map<String, Integer> lastQuantities = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${inventory.events.low-stock-threshold:5}")
+    int lowStockThreshold;
+
+    @NonFinal
+    @Value("${inventory.events.batch-size:500}")
+    int batchSize;
+
+    // Inside a transaction the product is only marked once it commits, so subscribers
+    // never see stock from a checkout that rolled back.
+    public void markChanged(String productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyProducts.add(productId);
+                }
+            });
+        } else {
+            dirtyProducts.add(productId);
+        }
+    }
+
+    // Stock as of the last publish, at most one coalesce window behind the database.
+    public Optional<Integer> lastKnownQuantity(String productId, String sizeId) {
+        return Optional.ofNullable(lastQuantities.get(productId + "|" + sizeId));
+    }
+
+    @Override
+    public boolean supports(CacheRegion region) {
+        return region == CacheRegion.INVENTORY || region == CacheRegion.PRODUCTS;
+    }
+
+    // Stock changed on another instance: refresh the cached quantities and push the update
+    // to this instance's subscribers, without broadcasting it back.
+    @Override
+    public void evict(CacheRegion region, String key) {
+        if (key == null) {
+            lastQuantities.keySet().stream()
+                    .map(cacheKey -> cacheKey.substring(0, cacheKey.indexOf('|')))
+                    .forEach(remoteDirtyProducts::add);
+        } else {
+            remoteDirtyProducts.add(key);
+        }
+    }
+
+    // Every change to a product inside one window collapses into a single message
+    // carrying the stock read at publish time.
+    @Scheduled(fixedDelayString = "${inventory.events.coalesce-ms:500}")
+    public void publish() {
+        if (dirtyProducts.isEmpty() && remoteDirtyProducts.isEmpty()) {
+            return;
+        }
+        Set<String> local = new HashSet<>(dirtyProducts);
+        dirtyProducts.removeAll(local);
+        Set<String> remote = new HashSet<>(remoteDirtyProducts);
+        remoteDirtyProducts.removeAll(remote);
+
+        Set<String> all = new LinkedHashSet<>(local);
+        all.addAll(remote);
+        List<String> productIds = new ArrayList<>(all);
+
+        for (int from = 0; from < productIds.size(); from += batchSize) {
+            List<String> batch = productIds.subList(from, Math.min(from + batchSize, productIds.size()));
+            try {
+                publishBatch(batch);
+                cacheInvalidationService.broadcast(CacheRegion.INVENTORY, batch.stream().filter(local::contains).toList());
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish inventory updates for {} products: {}", batch.size(), e.getMessage());
+                batch.forEach(productId -> (local.contains(productId) ? dirtyProducts : remoteDirtyProducts).add(productId));
+            }
+        }
+    }
+
+    private void publishBatch(List<String> productIds) {
+        Map<String, List<InventoryUpdateResponse.SizeStock>> stock = new LinkedHashMap<>();
+        productIds.forEach(productId -> stock.put(productId, new ArrayList<>()));
+        namedParameterJdbcTemplate.query(SELECT_STOCK, new MapSqlParameterSource("productIds", productIds), rs -> {
+            stock.get(rs.getString("product_id")).add(new InventoryUpdateResponse.SizeStock(
+                    rs.getString("size_id"), rs.getString("name"), rs.getInt("quantity")));
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        stock.forEach((productId, sizes) -> {
+            messagingTemplate.convertAndSend("/topic/inventory/" + productId, InventoryUpdateResponse.builder()
+                    .productId(productId)
+                    .sizes(sizes)
+                    .totalQuantity(sizes.stream().mapToInt(InventoryUpdateResponse.SizeStock::getQuantity).sum())
+                    .timestamp(now)
+                    .build());
+
+            for (InventoryUpdateResponse.SizeStock size : sizes) {
+                Integer previous = lastQuantities.put(productId + "|" + size.getSizeId(), size.getQuantity());
+                if (size.getQuantity() <= lowStockThreshold && (previous == null || previous > lowStockThreshold)) {
+                    messagingTemplate.convertAndSend(LOW_STOCK_TOPIC, new LowStockResponse(
+                            productId, size.getSizeId(), size.getSizeName(), size.getQuantity(), lowStockThreshold));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.doan.backend.services;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InventoryRestockService {
+
+    private static final String SELECT_RESERVED = "SELECT product_id, size_id, SUM(quantity) AS quantity FROM order_items " +
+            "WHERE order_id IN (:orderIds) GROUP BY product_id, size_id";
+
+    private static final String INCREMENT = "UPDATE product_inventory SET quantity = quantity + :quantity, version = version + 1 " +
+            "WHERE product_id = :productId AND size_id = :sizeId";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    InventoryEventService inventoryEventService;
+
+    // Returns the stock held by the given orders, one increment per (product, size) no
+    // matter how many orders are released. Callers must already have moved the orders out
+    // of their reserving status in the same transaction so a retry cannot restock twice.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long restockOrders(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<SqlParameterSource> increments = new ArrayList<>();
+        Set<String> productIds = new HashSet<>();
+        long[] units = {0};
+        namedParameterJdbcTemplate.query(SELECT_RESERVED, new MapSqlParameterSource("orderIds", orderIds), rs -> {
+            int quantity = rs.getInt("quantity");
+            increments.add(new MapSqlParameterSource()
+                    .addValue("quantity", quantity)
+                    .addValue("productId", rs.getString("product_id"))
+                    .addValue("sizeId", rs.getString("size_id")));
+            productIds.add(rs.getString("product_id"));
+            units[0] += quantity;
+        });
+
+        if (!increments.isEmpty()) {
+            namedParameterJdbcTemplate.batchUpdate(INCREMENT, increments.toArray(SqlParameterSource[]::new));
+            productIds.forEach(inventoryEventService::markChanged);
+        }
+        return units[0];
+    }
+}
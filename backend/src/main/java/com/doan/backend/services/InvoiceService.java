@@ -4,21 +4,33 @@ import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.InvoiceResponse;
 import com.doan.backend.entity.Invoice;
 import com.doan.backend.enums.InvoiceStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
 import com.doan.backend.mapper.InvoiceMapper;
 import com.doan.backend.repositories.InvoiceRepository;
+import com.doan.backend.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = lombok.AccessLevel.PRIVATE)
 public class InvoiceService {
 
+    // The admin search box also takes invoice numbers; those go to the unique index by prefix.
+    private static final Pattern INVOICE_NUMBER = Pattern.compile(Pattern.quote(Constants.INVOICE_PREFIX) + "\\d*",
+            Pattern.CASE_INSENSITIVE);
+
     InvoiceRepository invoiceRepository;
     InvoiceMapper invoiceMapper;
+    OutboxService outboxService;
+    SearchIndexService searchIndexService;
 
 
     public ApiResponse<InvoiceResponse> getInvoiceByOrderId(String orderId) {
@@ -42,7 +54,14 @@ public class InvoiceService {
     }
 
     public ApiResponse<Page<InvoiceResponse>> getAllInvoiceSearchEmail(String customerEmail, Pageable pageable) {
-        Page<Invoice> invoices = invoiceRepository.findByAllSearchEmail(customerEmail, pageable);
+        Page<Invoice> invoices;
+        if (customerEmail != null && INVOICE_NUMBER.matcher(customerEmail.strip()).matches()) {
+            invoices = invoiceRepository.findByInvoiceNumberStartingWith(customerEmail.strip().toUpperCase(), pageable);
+        } else if (searchIndexService.covers(SearchIndexService.Index.USER_EMAIL, customerEmail)) {
+            invoices = invoiceRepository.searchByCustomerEmail(SearchIndexService.phrase(customerEmail), customerEmail.strip(), pageable);
+        } else {
+            invoices = invoiceRepository.findByAllSearchEmail(customerEmail, pageable);
+        }
         Page<InvoiceResponse> invoiceResponses = invoices.map(invoiceMapper::toInvoiceResponse);
         return ApiResponse.<Page<InvoiceResponse>>builder()
                 .code(200)
@@ -51,7 +70,18 @@ public class InvoiceService {
                 .build();
     }
 
+    @Transactional
     public Invoice updateInvoiceStatus(Invoice invoice, InvoiceStatusEnum invoiceStatusEnum) {
+        if (invoiceStatusEnum == InvoiceStatusEnum.PAID && invoice.getStatus() != InvoiceStatusEnum.PAID) {
+            // Conditional, like the expiry sweep's cancel, so neither can overwrite the other.
+            if (invoiceRepository.transitionStatus(invoice.getId(), InvoiceStatusEnum.UNPAID, InvoiceStatusEnum.PAID) == 0) {
+                throw new RuntimeException("Invoice is cancelled");
+            }
+            outboxService.publish(OutboxEventType.INVOICE_PAID, invoice.getOrder().getId(), Map.of(
+                    "invoiceId", invoice.getId(),
+                    "invoiceNumber", invoice.getInvoiceNumber(),
+                    "totalAmount", invoice.getTotalAmount()));
+        }
         invoice.setStatus(invoiceStatusEnum);
         return invoiceRepository.save(invoice);
     }
@@ -0,0 +1,44 @@
+package com.doan.backend.services;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class LeaseLockService {
+
+    private static final String RENEW = "UPDATE scheduler_locks SET locked_until = ?, locked_by = ? " +
+            "WHERE name = ? AND (locked_until < ? OR locked_by = ?)";
+
+    private static final String INSERT = "INSERT IGNORE INTO scheduler_locks (name, locked_until, locked_by) VALUES (?, ?, ?)";
+
+    private static final String RELEASE = "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?";
+
+    JdbcTemplate jdbcTemplate;
+
+    String owner = UUID.randomUUID().toString();
+
+    // Lets one instance at a time run a scheduled job. Calling it again while holding the
+    // lease extends it; a holder that dies simply lets the lease run out.
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(lease));
+        if (jdbcTemplate.update(RENEW, until, owner, name, Timestamp.valueOf(now), owner) > 0) {
+            return true;
+        }
+        return jdbcTemplate.update(INSERT, name, until, owner) > 0;
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE, Timestamp.valueOf(LocalDateTime.now()), name, owner);
+    }
+}
@@ -0,0 +1,295 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.LoyaltyResponse;
+import com.doan.backend.enums.LoyaltyTierEnum;
+import com.doan.backend.enums.OrderStatusEnum;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class LoyaltyService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyService.class);
+
+    private static final String LOCK_NAME = "loyalty-reconcile";
+
+    // The flag flips at most once per direction, so a repeated or concurrent transition of
+    // the same order never moves the counters twice.
+    private static final String MARK_COUNTED = "UPDATE orders SET loyalty_counted = :counted " +
+            "WHERE id = :orderId AND loyalty_counted <> :counted AND user_id IS NOT NULL";
+
+    private static final String SELECT_ORDER = "SELECT user_id, COALESCE(total_price_after_discount, 0) AS total " +
+            "FROM orders WHERE id = :orderId";
+
+    private static final String ADD_SPEND = "INSERT INTO customer_loyalty (user_id, lifetime_spend, completed_orders, updated_at) " +
+            "VALUES (:userId, :spend, :orders, :now) ON DUPLICATE KEY UPDATE " +
+            "lifetime_spend = lifetime_spend + :spend, completed_orders = completed_orders + :orders, updated_at = :now";
+
+    private static final String SELECT_SPEND = "SELECT lifetime_spend FROM customer_loyalty WHERE user_id = :userId";
+
+    private static final String UPDATE_TIER = "UPDATE users SET loyalty_tier = :tier " +
+            "WHERE id = :userId AND (loyalty_tier IS NULL OR loyalty_tier <> :tier)";
+
+    private static final String SELECT_LOYALTY = "SELECT u.loyalty_tier, cl.lifetime_spend, cl.completed_orders FROM users u " +
+            "LEFT JOIN customer_loyalty cl ON cl.user_id = u.id WHERE u.id = :userId";
+
+    private static final String SELECT_USER_CHUNK = "SELECT id FROM users WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private static final String RECOUNT_FLAGS = "UPDATE orders SET loyalty_counted = (status = :completed) " +
+            "WHERE user_id IN (:userIds) AND loyalty_counted <> (status = :completed)";
+
+    private static final String RECOMPUTE_COUNTERS = "INSERT INTO customer_loyalty (user_id, lifetime_spend, completed_orders, updated_at) " +
+            "SELECT * FROM (SELECT u.id AS user_id, COALESCE(SUM(o.total_price_after_discount), 0) AS spend, " +
+            "COUNT(o.id) AS order_count, :now AS at FROM users u " +
+            "LEFT JOIN orders o ON o.user_id = u.id AND o.loyalty_counted = 1 " +
+            "WHERE u.id IN (:userIds) GROUP BY u.id) AS totals " +
+            "ON DUPLICATE KEY UPDATE lifetime_spend = totals.spend, completed_orders = totals.order_count, updated_at = totals.at";
+
+    private static final String APPLY_TIERS = "UPDATE users u JOIN customer_loyalty cl ON cl.user_id = u.id " +
+            "SET u.loyalty_tier = CASE WHEN cl.lifetime_spend >= :platinum THEN 'PLATINUM' " +
+            "WHEN cl.lifetime_spend >= :gold THEN 'GOLD' WHEN cl.lifetime_spend >= :silver THEN 'SILVER' ELSE 'BRONZE' END " +
+            "WHERE u.id IN (:userIds)";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    LeaseLockService leaseLockService;
+    ThreadPoolExecutor executor;
+    int parallelism;
+
+    @NonFinal
+    @Value("${loyalty.tiers.silver:5000000}")
+    BigDecimal silverSpend;
+
+    @NonFinal
+    @Value("${loyalty.tiers.gold:20000000}")
+    BigDecimal goldSpend;
+
+    @NonFinal
+    @Value("${loyalty.tiers.platinum:50000000}")
+    BigDecimal platinumSpend;
+
+    @NonFinal
+    @Value("${loyalty.reconcile.chunk-size:500}")
+    int chunkSize;
+
+    @NonFinal
+    @Value("${loyalty.reconcile.lease-seconds:1800}")
+    long leaseSeconds;
+
+    public LoyaltyService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          LeaseLockService leaseLockService,
+                          @Value("${loyalty.reconcile.parallelism:4}") int parallelism) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseLockService = leaseLockService;
+        this.parallelism = parallelism;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "loyalty-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Both run inside the caller's transaction, so the counters commit or roll back with
+    // the status change that moved them.
+    public void orderCompleted(String orderId) {
+        count(orderId, true);
+    }
+
+    public void orderReverted(String orderId) {
+        count(orderId, false);
+    }
+
+    private void count(String orderId, boolean counted) {
+        MapSqlParameterSource order = new MapSqlParameterSource()
+                .addValue("orderId", orderId)
+                .addValue("counted", counted);
+        if (namedParameterJdbcTemplate.update(MARK_COUNTED, order) == 0) {
+            return;
+        }
+        Map<String, Object> row = namedParameterJdbcTemplate.queryForMap(SELECT_ORDER, order);
+        String userId = (String) row.get("user_id");
+        BigDecimal total = (BigDecimal) row.get("total");
+
+        namedParameterJdbcTemplate.update(ADD_SPEND, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("spend", counted ? total : total.negate())
+                .addValue("orders", counted ? 1 : -1)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+
+        BigDecimal spend = namedParameterJdbcTemplate.queryForObject(SELECT_SPEND,
+                new MapSqlParameterSource("userId", userId), BigDecimal.class);
+        LoyaltyTierEnum tier = tierFor(spend);
+        if (namedParameterJdbcTemplate.update(UPDATE_TIER, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("tier", tier.name())) > 0) {
+            log.info("Customer {} moved to loyalty tier {}", userId, tier);
+        }
+    }
+
+    public LoyaltyTierEnum tierFor(BigDecimal spend) {
+        if (spend == null) {
+            return LoyaltyTierEnum.BRONZE;
+        }
+        if (spend.compareTo(platinumSpend) >= 0) {
+            return LoyaltyTierEnum.PLATINUM;
+        }
+        if (spend.compareTo(goldSpend) >= 0) {
+            return LoyaltyTierEnum.GOLD;
+        }
+        if (spend.compareTo(silverSpend) >= 0) {
+            return LoyaltyTierEnum.SILVER;
+        }
+        return LoyaltyTierEnum.BRONZE;
+    }
+
+    private BigDecimal threshold(LoyaltyTierEnum tier) {
+        return switch (tier) {
+            case BRONZE -> BigDecimal.ZERO;
+            case SILVER -> silverSpend;
+            case GOLD -> goldSpend;
+            case PLATINUM -> platinumSpend;
+        };
+    }
+
+    public ApiResponse<LoyaltyResponse> getLoyalty(String userId) {
+        List<LoyaltyResponse> rows = namedParameterJdbcTemplate.query(SELECT_LOYALTY,
+                new MapSqlParameterSource("userId", userId), (rs, rowNum) -> {
+                    BigDecimal spend = rs.getBigDecimal("lifetime_spend");
+                    String tier = rs.getString("loyalty_tier");
+                    return LoyaltyResponse.builder()
+                            .userId(userId)
+                            .tier(tier != null ? LoyaltyTierEnum.valueOf(tier) : tierFor(spend))
+                            .lifetimeSpend(spend != null ? spend : BigDecimal.ZERO)
+                            .completedOrders(rs.getInt("completed_orders"))
+                            .build();
+                });
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+
+        LoyaltyResponse loyalty = rows.getFirst();
+        LoyaltyTierEnum[] tiers = LoyaltyTierEnum.values();
+        if (loyalty.getTier().ordinal() < tiers.length - 1) {
+            LoyaltyTierEnum next = tiers[loyalty.getTier().ordinal() + 1];
+            loyalty.setNextTier(next);
+            loyalty.setSpendToNextTier(threshold(next).subtract(loyalty.getLifetimeSpend()).max(BigDecimal.ZERO));
+        }
+        return ApiResponse.<LoyaltyResponse>builder()
+                .code(200)
+                .message("Loyalty retrieved successfully")
+                .result(loyalty)
+                .build();
+    }
+
+    // Rebuilds the flags, counters and tiers from the orders themselves, one chunk of
+    // customers per transaction and up to `parallelism` chunks at a time. Chunks never share
+    // a customer, so they do not contend with each other. Both paths lock the order rows
+    // before the counter row, so a reconcile cannot deadlock with a live status change.
+    @Scheduled(cron = "${loyalty.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        if (!leaseLockService.tryAcquire(LOCK_NAME, lease)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        int customers = 0;
+        int corrected = 0;
+        try {
+            String afterId = "";
+            List<Future<Integer>> running = new ArrayList<>();
+            List<String> chunk;
+            do {
+                chunk = namedParameterJdbcTemplate.queryForList(SELECT_USER_CHUNK, new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("limit", chunkSize), String.class);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.getLast();
+                customers += chunk.size();
+
+                List<String> userIds = chunk;
+                running.add(executor.submit(() -> transactionTemplate.execute(status -> reconcileChunk(userIds))));
+                if (running.size() == parallelism) {
+                    corrected += await(running);
+                    if (!leaseLockService.tryAcquire(LOCK_NAME, lease)) {
+                        break;
+                    }
+                }
+            } while (chunk.size() == chunkSize);
+            corrected += await(running);
+            log.info("Reconciled loyalty for {} customers in {} ms, {} order flags corrected",
+                    customers, System.currentTimeMillis() - started, corrected);
+        } catch (RuntimeException e) {
+            log.warn("Loyalty reconciliation failed: {}", e.getMessage());
+        } finally {
+            leaseLockService.release(LOCK_NAME);
+        }
+    }
+
+    int reconcileChunk(List<String> userIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("completed", OrderStatusEnum.COMPLETED.ordinal())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("silver", silverSpend)
+                .addValue("gold", goldSpend)
+                .addValue("platinum", platinumSpend);
+        int corrected = namedParameterJdbcTemplate.update(RECOUNT_FLAGS, params);
+        namedParameterJdbcTemplate.update(RECOMPUTE_COUNTERS, params);
+        namedParameterJdbcTemplate.update(APPLY_TIERS, params);
+        return corrected;
+    }
+
+    private int await(List<Future<Integer>> running) {
+        int corrected = 0;
+        for (Future<Integer> future : running) {
+            try {
+                Integer result = future.get();
+                corrected += result != null ? result : 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Loyalty reconciliation interrupted", e);
+            } catch (ExecutionException e) {
+                log.warn("Loyalty reconciliation chunk failed: {}", e.getCause().getMessage());
+            }
+        }
+        running.clear();
+        return corrected;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.MessageResponse;
+import com.doan.backend.mapper.MessageMapper;
+import com.doan.backend.repositories.MessageRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class MessageBufferService {
+
+    private static final Comparator<MessageResponse> ORDER = Comparator.comparing(MessageResponse::getTimestamp)
+            .thenComparing(MessageResponse::getId);
+
+    MessageRepository messageRepository;
+    MessageMapper messageMapper;
+
+    Map<String, RoomBuffer> rooms = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${chat.buffer.capacity:50}")
+    int capacity;
+
+    @NonFinal
+    @Value("${chat.buffer.idle-minutes:30}")
+    long idleMinutes;
+
+    // Recent messages of one room, oldest first. Messages are appended before they are
+    // persisted, so the buffer is also what makes unflushed messages visible in history.
+    private class RoomBuffer {
+        final ArrayDeque<MessageResponse> messages = new ArrayDeque<>();
+        volatile boolean loaded;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        synchronized void append(MessageResponse message) {
+            lastAccess = System.currentTimeMillis();
+            MessageResponse last = messages.peekLast();
+            messages.addLast(message);
+            if (last != null && ORDER.compare(message, last) < 0) {
+                List<MessageResponse> sorted = new ArrayList<>(messages);
+                sorted.sort(ORDER);
+                messages.clear();
+                messages.addAll(sorted);
+            }
+            while (messages.size() > capacity) {
+                messages.pollFirst();
+            }
+        }
+
+        synchronized void load(List<MessageResponse> persisted) {
+            List<MessageResponse> merged = merge(persisted, new ArrayList<>(messages), capacity);
+            messages.clear();
+            messages.addAll(merged);
+            loaded = true;
+        }
+
+        synchronized List<MessageResponse> snapshot() {
+            lastAccess = System.currentTimeMillis();
+            return new ArrayList<>(messages);
+        }
+    }
+
+    public boolean isActive(String chatRoomId) {
+        return rooms.containsKey(chatRoomId);
+    }
+
+    public void append(String chatRoomId, MessageResponse message) {
+        rooms.computeIfAbsent(chatRoomId, id -> new RoomBuffer()).append(message);
+    }
+
+    // A page larger than the buffer is read from the table, with the buffer merged in for
+    // messages that are not flushed yet.
+    public List<MessageResponse> latest(String chatRoomId, int size) {
+        RoomBuffer room = rooms.computeIfAbsent(chatRoomId, id -> new RoomBuffer());
+        if (size > capacity) {
+            List<MessageResponse> persisted = findLatest(chatRoomId, size);
+            if (!room.loaded) {
+                room.load(persisted);
+            }
+            return merge(persisted, room.snapshot(), size);
+        }
+        if (!room.loaded) {
+            room.load(findLatest(chatRoomId, capacity));
+        }
+        List<MessageResponse> messages = room.snapshot();
+        return messages.subList(Math.max(0, messages.size() - size), messages.size());
+    }
+
+    public List<MessageResponse> before(String chatRoomId, LocalDateTime timestamp, String id, int size) {
+        List<MessageResponse> persisted = messageRepository
+                .findByChatRoomIdBefore(chatRoomId, timestamp, id, PageRequest.of(0, size)).stream()
+                .map(messageMapper::toMessageResponse)
+                .toList();
+
+        RoomBuffer room = rooms.get(chatRoomId);
+        if (room == null) {
+            return merge(persisted, List.of(), size);
+        }
+        MessageResponse cursor = MessageResponse.builder().timestamp(timestamp).id(id).build();
+        List<MessageResponse> buffered = room.snapshot().stream()
+                .filter(message -> ORDER.compare(message, cursor) < 0)
+                .toList();
+        return merge(persisted, buffered, size);
+    }
+
+    private List<MessageResponse> findLatest(String chatRoomId, int size) {
+        return messageRepository.findLatestByChatRoomId(chatRoomId, PageRequest.of(0, size)).stream()
+                .map(messageMapper::toMessageResponse)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.buffer.eviction-interval-ms:60000}")
+    public void evictIdleRooms() {
+        long threshold = System.currentTimeMillis() - idleMinutes * 60_000;
+        rooms.values().removeIf(room -> room.lastAccess < threshold);
+    }
+
+    private static List<MessageResponse> merge(List<MessageResponse> first, List<MessageResponse> second, int limit) {
+        Map<String, MessageResponse> byId = new LinkedHashMap<>();
+        Stream.concat(first.stream(), second.stream()).forEach(message -> byId.put(message.getId(), message));
+        List<MessageResponse> merged = new ArrayList<>(byId.values());
+        merged.sort(ORDER);
+        return new ArrayList<>(merged.subList(Math.max(0, merged.size() - limit), merged.size()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Message;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class MessageFlushService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageFlushService.class);
+
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO messages (id, chat_room_id, sender_id, content, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    BlockingQueue<Message> pending;
+    int batchSize;
+
+    public MessageFlushService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${chat.write-behind.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    // Messages must already carry their id and timestamp: they are broadcast and
+    // buffered before this row exists. When the queue is full the caller pays for
+    // the insert itself instead of the message being dropped.
+    public void enqueue(Message message) {
+        if (!pending.offer(message)) {
+            persist(List.of(message));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.write-behind.flush-interval-ms:500}")
+    public synchronized void flush() {
+        int remaining = pending.size();
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (remaining > 0 && pending.drainTo(batch, Math.min(batchSize, remaining)) > 0) {
+            remaining -= batch.size();
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void persist(List<Message> batch) {
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Isolate the rows that cannot be written so one bad message does not
+            // block the rest of the batch.
+            for (Message message : batch) {
+                try {
+                    insert(List.of(message));
+                } catch (DataIntegrityViolationException ex) {
+                    log.error("Dropping message {} for chat room {}: {}",
+                            message.getId(), message.getChatRoom().getId(), ex.getMessage());
+                } catch (RuntimeException ex) {
+                    requeue(message);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} chat messages, retrying on next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(this::requeue);
+        }
+    }
+
+    private void requeue(Message message) {
+        if (!pending.offer(message)) {
+            log.error("Dropping message {} for chat room {}: write-behind queue is full",
+                    message.getId(), message.getChatRoom().getId());
+        }
+    }
+
+    private void insert(List<Message> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_MESSAGE, batch, batch.size(),
+                (ps, message) -> {
+                    ps.setString(1, message.getId());
+                    ps.setString(2, message.getChatRoom().getId());
+                    ps.setString(3, message.getSender().getId());
+                    ps.setString(4, message.getContent());
+                    ps.setTimestamp(5, Timestamp.valueOf(message.getTimestamp()));
+                }));
+    }
+}
@@ -1,97 +1,109 @@
-//package com.doan.backend.services;
-//
-//import com.doan.backend.dto.request.BotRequest;
-//import com.doan.backend.dto.request.MessageRequest;
-//import com.doan.backend.dto.response.ApiResponse;
-//import com.doan.backend.dto.response.BotResponse;
-//import com.doan.backend.dto.response.MessageResponse;
-//import com.doan.backend.entity.ChatRoom;
-//import com.doan.backend.entity.Message;
-//import com.doan.backend.entity.User;
-//import com.doan.backend.enums.RoleEnum;
-//import com.doan.backend.mapper.MessageMapper;
-//import com.doan.backend.repositories.ChatRoomUserRepository;
-//import com.doan.backend.repositories.MessageRepository;
-//import com.doan.backend.repositories.UserRepository;
-//import lombok.RequiredArgsConstructor;
-//import lombok.experimental.FieldDefaults;
-//import org.springframework.beans.factory.annotation.Value;
-//import org.springframework.messaging.simp.SimpMessagingTemplate;
-//import org.springframework.stereotype.Service;
-//import org.springframework.web.client.RestTemplate;
-//
-//import java.util.List;
-//import java.util.Set;
-//
-//@FieldDefaults(makeFinal = true, level = lombok.AccessLevel.PRIVATE)
-//@RequiredArgsConstructor
-//@Service
-//public class MessageService {
-//    MessageRepository messageRepository;
-//    MessageMapper messageMapper;
-//    AuthService authService;
-//    SimpMessagingTemplate messagingTemplate;
-//    RestTemplate restTemplate;
-//    UserRepository userRepository;
-//    ChatRoomUserRepository chatRoomUserRepository;
-//
-//    @Value("${chatbot.url}")
-//    String BOT_API_URL = null;
-//
-//    public ApiResponse<Void> sendMessage(MessageRequest messageRequest) {
-//        User user = authService.getUserByToken();
-//
-//        Message message = messageMapper.toMessage(messageRequest);
-//        message.setSender(user);
-//
-//        MessageResponse messageResponse = messageMapper.toMessageResponse(messageRepository.save(message));
-//        messagingTemplate.convertAndSend("/topic/chatRoom/" + message.getChatRoom().getId(), messageResponse);
-//
-//        if (user.getRoles().contains(RoleEnum.CUSTOMER)) {
-//            Set<RoleEnum> rolesToCheck = Set.of(RoleEnum.ADMIN, RoleEnum.STAFF);
-//            boolean hasStaffOrAdmin = chatRoomUserRepository.existsByChatRoomIdAndUser_RolesIn(messageRequest.getChatRoomId(), rolesToCheck);
-//
-//            if (!hasStaffOrAdmin) {
-//                handleBotResponse(message.getContent(), message.getChatRoom());
-//            }
-//        }
-//
-//        return ApiResponse.<Void>builder().build();
-//    }
-//
-//    public List<MessageResponse> getMessages(String chatRoomId) {
-//        return messageRepository.findByChatRoomIdOrderByTimestampAsc(chatRoomId).stream().map(messageMapper::toMessageResponse).toList();
-//    }
-//
-//    private void handleBotResponse(String userMessage, ChatRoom chatRoom) {
-//        BotRequest botRequest = new BotRequest(userMessage);
-//        User chatBot = authService.getChatBotUser();
-//        try {
-//            BotResponse botResponse = restTemplate.postForObject(BOT_API_URL, botRequest, BotResponse.class);
-//
-//            if (botResponse != null && botResponse.getResponse() != null) {
-//
-//                Message botMessage = new Message();
-//                botMessage.setChatRoom(chatRoom);
-//                botMessage.setContent(botResponse.getResponse());
-//                botMessage.setSender(chatBot);
-//
-//                Message savedBotMessage = messageRepository.save(botMessage);
-//
-//                MessageResponse botMessageResponse = messageMapper.toMessageResponse(savedBotMessage);
-//
-//                messagingTemplate.convertAndSend("/topic/chatRoom/" + chatRoom.getId(), botMessageResponse);
-//            }
-//        } catch (Exception e) {
-//            System.err.println("Error " + e.getMessage());
-//            Message errorMessage = new Message();
-//            errorMessage.setChatRoom(chatRoom);
-//            errorMessage.setContent("Xin lỗi, tôi không thể xử lý yêu cầu của bạn lúc này.");
-//            errorMessage.setSender(chatBot);
-//
-//            Message savedErrorMessage = messageRepository.save(errorMessage);
-//            MessageResponse errorMessageResponse = messageMapper.toMessageResponse(savedErrorMessage);
-//            messagingTemplate.convertAndSend("/topic/chatRoom/" + chatRoom.getId(), errorMessageResponse);
-//        }
-//    }
-//}
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.MessageRequest;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.MessageResponse;
+import com.doan.backend.entity.ChatRoom;
+import com.doan.backend.entity.Message;
+import com.doan.backend.entity.User;
+import com.doan.backend.enums.RoleEnum;
+import com.doan.backend.exception.BadRequestException;
+import com.doan.backend.exception.Unauthorized;
+import com.doan.backend.mapper.MessageMapper;
+import com.doan.backend.repositories.ChatRoomRepository;
+import com.doan.backend.repositories.ChatRoomUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@FieldDefaults(makeFinal = true, level = lombok.AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+@Service
+public class MessageService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    MessageMapper messageMapper;
+    AuthService authService;
+    SimpMessagingTemplate messagingTemplate;
+    ChatRoomRepository chatRoomRepository;
+    ChatRoomUserRepository chatRoomUserRepository;
+    MessageBufferService messageBufferService;
+    MessageFlushService messageFlushService;
+    ChatbotBridgeService chatbotBridgeService;
+
+    public ApiResponse<Void> sendMessage(MessageRequest messageRequest) {
+        User user = authService.getUserByToken();
+
+        if (!messageBufferService.isActive(messageRequest.getChatRoomId())
+                && !chatRoomRepository.existsById(messageRequest.getChatRoomId())) {
+            throw new RuntimeException("Chat room not found");
+        }
+
+        Message message = messageMapper.toMessage(messageRequest);
+        message.setSender(user);
+        publish(message);
+
+        if (user.getRoles().contains(RoleEnum.CUSTOMER)) {
+            Set<RoleEnum> rolesToCheck = Set.of(RoleEnum.ADMIN, RoleEnum.STAFF);
+            boolean hasStaffOrAdmin = chatRoomUserRepository.existsByChatRoomIdAndUser_RolesIn(messageRequest.getChatRoomId(), rolesToCheck);
+
+            if (!hasStaffOrAdmin) {
+                handleBotResponse(message.getContent(), message.getChatRoom());
+            }
+        }
+
+        return ApiResponse.<Void>builder().build();
+    }
+
+    public ApiResponse<List<MessageResponse>> getMessages(String chatRoomId, LocalDateTime before, String beforeId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId).orElseThrow(() -> new RuntimeException("Chat room not found"));
+        User user = authService.getUserByToken();
+        Set<RoleEnum> roles = user.getRoles();
+        if (!roles.contains(RoleEnum.ADMIN) && !roles.contains(RoleEnum.STAFF) && !user.getId().equals(chatRoom.getCustomer().getId())) {
+            throw new Unauthorized("Unauthorized");
+        }
+
+        List<MessageResponse> messages = before == null || beforeId == null
+                ? messageBufferService.latest(chatRoomId, size)
+                : messageBufferService.before(chatRoomId, before, beforeId, size);
+
+        return ApiResponse.<List<MessageResponse>>builder()
+                .code(200)
+                .message("Messages retrieved successfully")
+                .result(messages)
+                .build();
+    }
+
+    // The message is visible to subscribers and to history reads as soon as it is
+    // buffered; the row itself is written later by MessageFlushService.
+    private void publish(Message message) {
+        message.setId(UUID.randomUUID().toString());
+        message.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        MessageResponse messageResponse = messageMapper.toMessageResponse(message);
+        messageBufferService.append(message.getChatRoom().getId(), messageResponse);
+        messagingTemplate.convertAndSend("/topic/chatRoom/" + message.getChatRoom().getId(), messageResponse);
+        messageFlushService.enqueue(message);
+    }
+
+    private void handleBotResponse(String userMessage, ChatRoom chatRoom) {
+        chatbotBridgeService.submit(chatRoom.getId(), userMessage, reply -> {
+            Message botMessage = new Message();
+            botMessage.setChatRoom(chatRoom);
+            botMessage.setContent(reply);
+            botMessage.setSender(authService.getChatBotUser());
+
+            publish(botMessage);
+        });
+    }
+}
@@ -0,0 +1,213 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.OrderExpiryStatsResponse;
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.repositories.DiscountRepository;
+import com.doan.backend.repositories.UserDiscountRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class OrderExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryService.class);
+
+    private static final String LOCK_NAME = "order-expiry";
+
+    private static final String SELECT_CANDIDATES = "SELECT id, created_at FROM orders " +
+            "WHERE status = :pending AND created_at < :expiredBefore " +
+            "AND (created_at > :afterCreatedAt OR (created_at = :afterCreatedAt AND id > :afterId)) " +
+            "ORDER BY created_at, id LIMIT :limit";
+
+    // Re-checks both conditions under lock: a payment or an admin edit may have landed
+    // since the candidates were read.
+    private static final String LOCK_EXPIRED = "SELECT o.id, o.user_discount_id, ud.discount_id FROM orders o " +
+            "LEFT JOIN invoices i ON i.order_id = o.id " +
+            "LEFT JOIN user_discounts ud ON ud.id = o.user_discount_id " +
+            "WHERE o.id IN (:orderIds) AND o.status = :pending AND (i.id IS NULL OR i.status = 'UNPAID') FOR UPDATE";
+
+    private static final String CANCEL_ORDERS = "UPDATE orders SET status = :cancelled, updated_at = :now WHERE id IN (:orderIds)";
+
+    private static final String CANCEL_INVOICES = "UPDATE invoices SET status = 'CANCELED', updated_at = :now " +
+            "WHERE order_id IN (:orderIds) AND status = 'UNPAID'";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    LeaseLockService leaseLockService;
+    InventoryRestockService inventoryRestockService;
+    UserDiscountRepository userDiscountRepository;
+    DiscountRepository discountRepository;
+    OutboxService outboxService;
+
+    LongAdder sweeps = new LongAdder();
+    LongAdder ordersCancelled = new LongAdder();
+    LongAdder unitsReleased = new LongAdder();
+    LongAdder discountsReleased = new LongAdder();
+
+    @NonFinal
+    volatile LocalDateTime lastSweepAt;
+
+    @NonFinal
+    volatile long lastSweepDurationMs;
+
+    @NonFinal
+    @Value("${order.expiry.unpaid-minutes:30}")
+    long unpaidMinutes;
+
+    @NonFinal
+    @Value("${order.expiry.chunk-size:200}")
+    int chunkSize;
+
+    @NonFinal
+    @Value("${order.expiry.lease-seconds:120}")
+    long leaseSeconds;
+
+    public OrderExpiryService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              LeaseLockService leaseLockService,
+                              InventoryRestockService inventoryRestockService,
+                              UserDiscountRepository userDiscountRepository,
+                              DiscountRepository discountRepository,
+                              OutboxService outboxService) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseLockService = leaseLockService;
+        this.inventoryRestockService = inventoryRestockService;
+        this.userDiscountRepository = userDiscountRepository;
+        this.discountRepository = discountRepository;
+        this.outboxService = outboxService;
+    }
+
+    private record Candidate(String id, LocalDateTime createdAt) {
+    }
+
+    private record Claim(String userDiscountId, String discountId) {
+    }
+
+    private record Released(int orders, long units, int discounts) {
+    }
+
+    @Scheduled(fixedDelayString = "${order.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        if (!leaseLockService.tryAcquire(LOCK_NAME, lease)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            LocalDateTime expiredBefore = LocalDateTime.now().minusMinutes(unpaidMinutes);
+            LocalDateTime afterCreatedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+            String afterId = "";
+            List<Candidate> candidates;
+            do {
+                candidates = findCandidates(expiredBefore, afterCreatedAt, afterId);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                Candidate last = candidates.getLast();
+                afterCreatedAt = last.createdAt();
+                afterId = last.id();
+
+                List<String> orderIds = candidates.stream().map(Candidate::id).toList();
+                Released released = transactionTemplate.execute(status -> release(orderIds));
+                ordersCancelled.add(released.orders());
+                unitsReleased.add(released.units());
+                discountsReleased.add(released.discounts());
+            } while (candidates.size() == chunkSize && leaseLockService.tryAcquire(LOCK_NAME, lease));
+        } catch (RuntimeException e) {
+            log.warn("Order expiry sweep failed: {}", e.getMessage());
+        } finally {
+            sweeps.increment();
+            lastSweepAt = LocalDateTime.now();
+            lastSweepDurationMs = System.currentTimeMillis() - started;
+            leaseLockService.release(LOCK_NAME);
+        }
+    }
+
+    public OrderExpiryStatsResponse stats() {
+        return OrderExpiryStatsResponse.builder()
+                .sweeps(sweeps.sum())
+                .ordersCancelled(ordersCancelled.sum())
+                .unitsReleased(unitsReleased.sum())
+                .discountsReleased(discountsReleased.sum())
+                .lastSweepAt(lastSweepAt)
+                .lastSweepDurationMs(lastSweepDurationMs)
+                .build();
+    }
+
+    private List<Candidate> findCandidates(LocalDateTime expiredBefore, LocalDateTime afterCreatedAt, String afterId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pending", OrderStatusEnum.PENDING.ordinal())
+                .addValue("expiredBefore", Timestamp.valueOf(expiredBefore))
+                .addValue("afterCreatedAt", Timestamp.valueOf(afterCreatedAt))
+                .addValue("afterId", afterId)
+                .addValue("limit", chunkSize);
+        return namedParameterJdbcTemplate.query(SELECT_CANDIDATES, params, (rs, rowNum) ->
+                new Candidate(rs.getString("id"), rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    private Released release(List<String> candidateIds) {
+        List<String> orderIds = new ArrayList<>();
+        List<Claim> claims = new ArrayList<>();
+        namedParameterJdbcTemplate.query(LOCK_EXPIRED, new MapSqlParameterSource()
+                .addValue("orderIds", candidateIds)
+                .addValue("pending", OrderStatusEnum.PENDING.ordinal()), rs -> {
+            orderIds.add(rs.getString("id"));
+            if (rs.getString("user_discount_id") != null) {
+                claims.add(new Claim(rs.getString("user_discount_id"), rs.getString("discount_id")));
+            }
+        });
+        if (orderIds.isEmpty()) {
+            return new Released(0, 0, 0);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderIds", orderIds)
+                .addValue("cancelled", OrderStatusEnum.CANCELLED.ordinal())
+                .addValue("now", now);
+        namedParameterJdbcTemplate.update(CANCEL_ORDERS, params);
+        namedParameterJdbcTemplate.update(CANCEL_INVOICES, params);
+
+        long units = inventoryRestockService.restockOrders(orderIds);
+
+        int discounts = 0;
+        for (Claim claim : claims) {
+            if (userDiscountRepository.releaseUserDiscount(claim.userDiscountId()) > 0) {
+                discountRepository.decrementUsedCount(claim.discountId());
+                discounts++;
+            }
+        }
+
+        for (String orderId : orderIds) {
+            outboxService.publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId, Map.of(
+                    "from", OrderStatusEnum.PENDING,
+                    "to", OrderStatusEnum.CANCELLED,
+                    "reason", "PAYMENT_EXPIRED"));
+        }
+
+        log.info("Cancelled {} unpaid orders, released {} units and {} discounts", orderIds.size(), units, discounts);
+        return new Released(orderIds.size(), units, discounts);
+    }
+}
@@ -0,0 +1,116 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Invoice;
+import com.doan.backend.entity.Order;
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.entity.Payment;
+import com.doan.backend.enums.InvoiceStatusEnum;
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.PaymentMethodEnum;
+import com.doan.backend.enums.PaymentStatusEnum;
+import com.doan.backend.repositories.InvoiceRepository;
+import com.doan.backend.repositories.OrderRepository;
+import com.doan.backend.repositories.PaymentRepository;
+import com.doan.backend.utils.CodeUtils;
+import com.doan.backend.utils.Constants;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class OrderInvoiceHandler implements OutboxEventHandler {
+
+    OrderRepository orderRepository;
+    InvoiceRepository invoiceRepository;
+    PaymentRepository paymentRepository;
+    PaymentService paymentService;
+    InvoiceService invoiceService;
+    TransactionTemplate transactionTemplate;
+
+    public OrderInvoiceHandler(OrderRepository orderRepository,
+                               InvoiceRepository invoiceRepository,
+                               PaymentRepository paymentRepository,
+                               PaymentService paymentService,
+                               InvoiceService invoiceService,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.invoiceService = invoiceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ORDER_CREATED;
+    }
+
+    // The PayOS call happens outside any transaction. On redelivery an existing invoice
+    // is reused and only a payment that still has no link is sent to PayOS again.
+    @Override
+    public void handle(OutboxEvent event) {
+        PendingLink pending = transactionTemplate.execute(status -> createInvoice(event.getAggregateId()));
+        if (pending == null) {
+            return;
+        }
+
+        String checkoutUrl = paymentService.createPaymentLink(pending.invoiceId());
+        transactionTemplate.executeWithoutResult(status -> paymentRepository.findById(pending.paymentId()).ifPresent(payment -> {
+            payment.setQrCodeUrl(checkoutUrl);
+            paymentRepository.save(payment);
+        }));
+    }
+
+    private record PendingLink(String invoiceId, String paymentId) {
+    }
+
+    private PendingLink createInvoice(String orderId) {
+        Optional<Invoice> existing = invoiceRepository.findByOrderId(orderId);
+        if (existing.isPresent()) {
+            Invoice invoice = existing.get();
+            Payment payment = invoice.getPayment();
+            if (invoice.getStatus() != InvoiceStatusEnum.UNPAID || payment == null || payment.getQrCodeUrl() != null) {
+                return null;
+            }
+            return new PendingLink(invoice.getId(), payment.getId());
+        }
+
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (order.getStatus() == OrderStatusEnum.CANCELLED) {
+            return null;
+        }
+
+        String invoiceNumber = CodeUtils.generateUniqueCode(Constants.INVOICE_PREFIX, invoiceRepository.count() + 5);
+
+        Invoice invoice = new Invoice();
+        invoice.setOrder(order);
+        invoice.setTotalAmount(order.getTotalPriceAfterDiscount());
+        invoice.setInvoiceNumber(invoiceNumber);
+        invoice.setStatus(InvoiceStatusEnum.UNPAID);
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+
+        Payment payment = new Payment();
+        payment.setInvoice(savedInvoice);
+        payment.setAmount(BigDecimal.ZERO);
+        payment.setPaymentMethod(PaymentMethodEnum.TRANSFER);
+        payment.setPaymentStatus(PaymentStatusEnum.PENDING);
+        Payment savedPayment = paymentRepository.save(payment);
+        savedInvoice.setPayment(savedPayment);
+
+        if (order.getTotalPriceAfterDiscount().compareTo(BigDecimal.ZERO) == 0) {
+            invoiceService.updateInvoiceStatus(savedInvoice, InvoiceStatusEnum.PAID);
+            return null;
+        }
+        invoiceRepository.save(savedInvoice);
+        return new PendingLink(savedInvoice.getId(), savedPayment.getId());
+    }
+}
@@ -0,0 +1,61 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.OrderEventResponse;
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.repositories.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Runs after the other handlers so subscribers are told about an order only once
+// its invoice and payment link exist. Events go to the owner's user destination,
+// /user/queue/order/{orderId}, so only that user's STOMP sessions receive them.
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class OrderNotificationHandler implements OutboxEventHandler {
+
+    SimpMessagingTemplate messagingTemplate;
+    ObjectMapper objectMapper;
+    OrderRepository orderRepository;
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return true;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        Optional<String> owner = orderRepository.findUserEmailById(event.getAggregateId());
+        if (owner.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> data;
+        try {
+            data = event.getPayload() == null ? Map.of() : objectMapper.readValue(event.getPayload(), new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid payload for outbox event " + event.getId());
+        }
+
+        messagingTemplate.convertAndSendToUser(owner.get(), "/queue/order/" + event.getAggregateId(), OrderEventResponse.builder()
+                .orderId(event.getAggregateId())
+                .type(event.getEventType())
+                .data(data)
+                .occurredAt(event.getCreatedAt())
+                .build());
+    }
+}
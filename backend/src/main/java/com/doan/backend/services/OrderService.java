@@ -4,12 +4,12 @@ import com.doan.backend.dto.request.OrderRequest;
 import com.doan.backend.dto.request.UpdateOrderRequest;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.OrderResponse;
+import com.doan.backend.dto.response.OrderSummaryResponse;
+import com.doan.backend.dto.response.ProductResponse;
 import com.doan.backend.entity.*;
 import com.doan.backend.enums.*;
 import com.doan.backend.mapper.OrderMapper;
 import com.doan.backend.repositories.*;
-import com.doan.backend.utils.CodeUtils;
-import com.doan.backend.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
@@ -20,7 +20,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -29,19 +31,23 @@ import java.util.Optional;
 public class OrderService {
 
     OrderRepository orderRepository;
+    InvoiceRepository invoiceRepository;
     OrderItemRepository orderItemRepository;
     CartRepository cartRepository;
     CartItemRepository cartItemRepository;
     ProductInventoryRepository productInventoryRepository;
     OrderMapper orderMapper;
+    ProductListingService productListingService;
+    LoyaltyService loyaltyService;
     DiscountRepository discountRepository;
     ShippingAddressRepository shippingAddressRepository;
-    PromotionProductRepository promotionProductRepository;
     PromotionService promotionService;
-    InvoiceRepository invoiceRepository;
-    PaymentRepository paymentRepository;
-    PaymentService paymentService;
     UserDiscountRepository userDiscountRepository;
+    DiscountRedemptionService discountRedemptionService;
+    InventoryEventService inventoryEventService;
+    OutboxService outboxService;
+    InventoryRestockService inventoryRestockService;
+    SearchIndexService searchIndexService;
 
     @Transactional
     public ApiResponse<OrderResponse> createOrderFromCart(OrderRequest orderRequest) {
@@ -62,13 +68,13 @@ public class OrderService {
                     .findByProductIdAndSizeId(cartItem.getProduct().getId(), cartItem.getSize().getId())
                     .orElseThrow(() -> new RuntimeException("Product inventory not found"));
 
-            BigDecimal itemPrice = promotionService.applyPromotionToProduct(cartItem.getProduct());
+            Promotion promotion = promotionService.findApplicablePromotion(cartItem.getProduct()).orElse(null);
+            BigDecimal itemPrice = promotionService.applyPromotion(cartItem.getProduct(), promotion);
 
-            if (productInventory.getQuantity() < cartItem.getQuantity()) {
+            if (productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity()) == 0) {
                 throw new RuntimeException("Insufficient stock for product: " + cartItem.getProduct().getName());
             }
-
-            List<Promotion> promotions = promotionProductRepository.findPromotionApplyByProductId(cartItem.getProduct().getId(), LocalDateTime.now());
+            inventoryEventService.markChanged(cartItem.getProduct().getId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(cartItem.getProduct());
@@ -77,15 +83,12 @@ public class OrderService {
             orderItem.setPrice(itemPrice);
             orderItem.setOrder(null);
 
-            orderItem.setPromotion(promotions.isEmpty() ? null : promotions.getFirst());
+            orderItem.setPromotion(promotion);
 
             orderItems.add(orderItem);
 
             totalPriceBeforeDiscount = totalPriceBeforeDiscount.add(cartItem.getProduct().getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
             totalPriceAfterDiscount = totalPriceAfterDiscount.add(itemPrice.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
-
-            productInventory.setQuantity(productInventory.getQuantity() - cartItem.getQuantity());
-            productInventoryRepository.save(productInventory);
         }
 
         if (orderRequest.getDiscountId() != null && !orderRequest.getDiscountId().isEmpty()) {
@@ -97,30 +100,29 @@ public class OrderService {
                     throw new RuntimeException("Discount has been used");
                 }
             }
-            Optional<Discount> discount = discountRepository.findById(orderRequest.getDiscountId());
+            Discount discount = discountRepository.findById(orderRequest.getDiscountId())
+                    .orElseThrow(() -> new RuntimeException("Discount not found"));
 
-            if (discount.isPresent()) {
-                if (discount.get().getMaxUses() <= discount.get().getUsedCount()) {
-                    throw new RuntimeException("Discount are out of stock");
-                }
+            if (discount.getMaxUses() <= discount.getUsedCount()) {
+                throw new RuntimeException("Discount are out of stock");
+            }
 
-                if (discount.get().getStartDate().isAfter(LocalDateTime.now()) || discount.get().getExpiryDate().isBefore(LocalDateTime.now())) {
-                    throw new RuntimeException("Discount is not yet valid");
-                }
+            if (discount.getStartDate().isAfter(LocalDateTime.now()) || discount.getExpiryDate().isBefore(LocalDateTime.now())) {
+                throw new RuntimeException("Discount is not yet valid");
+            }
 
-                if (discount.get().getMinOrderValue().compareTo(totalPriceAfterDiscount) <= 0) {
-//                    BigDecimal discountValue = totalPriceAfterDiscount.multiply(discount.get().getDiscountPercentage().divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP));
-                    BigDecimal discountValue = totalPriceAfterDiscount.multiply(
-                            discount.get().getDiscountPercentage().divide(BigDecimal.valueOf(100)).setScale(2, BigDecimal.ROUND_HALF_UP)
-                    );
-                    if (discount.get().getDiscountType() == DiscountType.PERCENTAGE) {
-                        if (discountValue.compareTo(discount.get().getMaxDiscountValue()) > 0) {
-                            discountValue = discount.get().getMaxDiscountValue();
-                        }
-                        totalPriceAfterDiscount = totalPriceAfterDiscount.subtract(discountValue);
-                    } else {
-                        totalPriceAfterDiscount = totalPriceAfterDiscount.subtract(discount.get().getDiscountValue());
+            if (discount.getMinOrderValue().compareTo(totalPriceAfterDiscount) <= 0) {
+//                    BigDecimal discountValue = totalPriceAfterDiscount.multiply(discount.getDiscountPercentage().divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP));
+                BigDecimal discountValue = totalPriceAfterDiscount.multiply(
+                        discount.getDiscountPercentage().divide(BigDecimal.valueOf(100)).setScale(2, BigDecimal.ROUND_HALF_UP)
+                );
+                if (discount.getDiscountType() == DiscountType.PERCENTAGE) {
+                    if (discountValue.compareTo(discount.getMaxDiscountValue()) > 0) {
+                        discountValue = discount.getMaxDiscountValue();
                     }
+                    totalPriceAfterDiscount = totalPriceAfterDiscount.subtract(discountValue);
+                } else {
+                    totalPriceAfterDiscount = totalPriceAfterDiscount.subtract(discount.getDiscountValue());
                 }
             }
 
@@ -138,16 +140,6 @@ public class OrderService {
         order.setTotalPriceAfterDiscount(totalPriceAfterDiscount);
         order.setShippingAddress(shippingAddress);
 
-        if (orderRequest.getDiscountId() != null && !orderRequest.getDiscountId().isEmpty()) {
-            Discount discount = discountRepository.findById(orderRequest.getDiscountId()).orElseThrow(() -> new RuntimeException("Discount not found"));
-            UserDiscount userDiscount = new UserDiscount();
-            userDiscount.setDiscount(discount);
-            userDiscount.setUser(cart.getUser());
-            userDiscount.setUsesCount(1);
-            UserDiscount userDiscountResponse = userDiscountRepository.save(userDiscount);
-            order.setUserDiscount(userDiscountResponse);
-        }
-
         Order savedOrder = orderRepository.save(order);
 
         for (OrderItem orderItem : orderItems) {
@@ -155,42 +147,20 @@ public class OrderService {
             orderItemRepository.save(orderItem);
         }
 
-        String invoiceNumber = CodeUtils.generateUniqueCode(Constants.INVOICE_PREFIX, invoiceRepository.count() + 5);
-
-        Invoice invoice = new Invoice();
-        invoice.setOrder(savedOrder);
-        invoice.setTotalAmount(totalPriceAfterDiscount);
-        invoice.setInvoiceNumber(invoiceNumber);
-        invoice.setStatus(InvoiceStatusEnum.UNPAID);
-        Invoice savedInvoice = invoiceRepository.save(invoice);
-
-        if (totalPriceAfterDiscount.equals(BigDecimal.ZERO)) {
-            invoice.setStatus(InvoiceStatusEnum.PAID);
-            invoiceRepository.save(invoice);
-        }
-
         cartItemRepository.deleteAll(cartItems);
 
-        Payment payment = new Payment();
-        payment.setInvoice(savedInvoice);
-        payment.setAmount(BigDecimal.ZERO);
-        payment.setPaymentMethod(PaymentMethodEnum.TRANSFER);
-        payment.setPaymentStatus(PaymentStatusEnum.PENDING);
-        if (totalPriceAfterDiscount.equals(BigDecimal.ZERO)) {
-            invoice.setStatus(InvoiceStatusEnum.PAID);
-        } else {
-            payment.setPaymentStatus(PaymentStatusEnum.PENDING);
+        if (orderRequest.getDiscountId() != null && !orderRequest.getDiscountId().isEmpty()) {
+            savedOrder.setUserDiscount(discountRedemptionService.claim(orderRequest.getDiscountId(), cart.getUser()));
         }
-        Payment paymentResponse = paymentRepository.save(payment);
-        invoice.setPayment(paymentResponse);
-        paymentResponse.setQrCodeUrl(paymentService.createPaymentLink(savedInvoice.getId()));
-        invoiceRepository.save(invoice);
-        paymentRepository.save(paymentResponse);
+
+        outboxService.publish(OutboxEventType.ORDER_CREATED, savedOrder.getId(), Map.of(
+                "userId", cart.getUser().getId(),
+                "totalAmount", totalPriceAfterDiscount));
 
         return ApiResponse.<OrderResponse>builder()
                 .code(200)
                 .message("Order created successfully")
-                .result(orderMapper.toOrderResponse(savedOrder))
+                .result(withProducts(orderMapper.toOrderResponse(savedOrder)))
                 .build();
     }
 
@@ -218,15 +188,24 @@ public class OrderService {
         return ApiResponse.<OrderResponse>builder()
                 .code(200)
                 .message("Order updated successfully")
-                .result(orderMapper.toOrderResponse(updatedOrder))
+                .result(withProducts(orderMapper.toOrderResponse(updatedOrder)))
                 .build();
     }
 
     @Transactional
     public ApiResponse<OrderResponse> adminEditOrder(String orderId, OrderRequest orderRequest) {
-        Order order = orderRepository.findById(orderId)
+        // Locked so the status read here is the one being replaced: the expiry sweep and
+        // shipment sync change status concurrently and Order has no version column.
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
+        // Cancelling returned the stock, the discount use and the invoice; reopening the order
+        // would ship stock that is no longer reserved for it.
+        if (order.getStatus() == OrderStatusEnum.CANCELLED && orderRequest.getStatus() != null
+                && orderRequest.getStatus() != OrderStatusEnum.CANCELLED) {
+            throw new RuntimeException("Cancelled order cannot be reopened");
+        }
+
         if (orderRequest.getShippingAddressId() != null) {
             ShippingAddress shippingAddress = shippingAddressRepository.findById(orderRequest.getShippingAddressId())
                     .orElseThrow(() -> new RuntimeException("Shipping address not found"));
@@ -234,6 +213,25 @@ public class OrderService {
         }
 
         if (orderRequest.getStatus() != null) {
+            if (orderRequest.getStatus() == OrderStatusEnum.CANCELLED
+                    && order.getStatus() != OrderStatusEnum.CANCELLED
+                    && orderRepository.transitionStatus(order.getId(), OrderStatusEnum.CANCELLED) > 0) {
+                inventoryRestockService.restockOrders(List.of(order.getId()));
+                invoiceRepository.transitionStatusByOrderId(order.getId(), InvoiceStatusEnum.UNPAID, InvoiceStatusEnum.CANCELED);
+                if (order.getUserDiscount() != null) {
+                    discountRedemptionService.release(order.getUserDiscount());
+                }
+            }
+            if (orderRequest.getStatus() != order.getStatus()) {
+                if (orderRequest.getStatus() == OrderStatusEnum.COMPLETED) {
+                    loyaltyService.orderCompleted(order.getId());
+                } else if (order.getStatus() == OrderStatusEnum.COMPLETED) {
+                    loyaltyService.orderReverted(order.getId());
+                }
+                outboxService.publish(OutboxEventType.ORDER_STATUS_CHANGED, order.getId(), Map.of(
+                        "from", order.getStatus(),
+                        "to", orderRequest.getStatus()));
+            }
             order.setStatus(orderRequest.getStatus());
         }
 
@@ -242,7 +240,7 @@ public class OrderService {
         return ApiResponse.<OrderResponse>builder()
                 .code(200)
                 .message("Order updated successfully")
-                .result(orderMapper.toOrderResponse(updatedOrder))
+                .result(withProductDetails(orderMapper.toOrderResponse(updatedOrder)))
                 .build();
     }
 
@@ -251,13 +249,35 @@ public class OrderService {
         return ApiResponse.<Iterable<OrderResponse>>builder()
                 .code(200)
                 .message("Order retrieved successfully")
-                .result(orderMapper.toOrderResponseIterable(orders))
+                .result(withProducts(orderMapper.toOrderResponseIterable(orders)))
+                .build();
+    }
+
+    public ApiResponse<Page<OrderSummaryResponse>> getOrderHistory(String userId, Pageable pageable) {
+        return ApiResponse.<Page<OrderSummaryResponse>>builder()
+                .code(200)
+                .message("Order history retrieved successfully")
+                .result(orderRepository.findSummariesByUserId(userId, pageable))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<OrderResponse> getOrderDetail(String userId, String orderId) {
+        Order order = orderRepository.findDetailByIdAndUserId(orderId, userId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        return ApiResponse.<OrderResponse>builder()
+                .code(200)
+                .message("Order retrieved successfully")
+                .result(withProducts(orderMapper.toOrderResponse(order)))
                 .build();
     }
 
     public ApiResponse<Page<OrderResponse>> getOrdersForAdmin(String productName, String customerEmail, OrderStatusEnum status, Pageable pageable) {
-        Page<Order> ordersPage = orderRepository.findOrdersForAdmin(productName, customerEmail, status, pageable);
-        Page<OrderResponse> responsePage = ordersPage.map(orderMapper::toOrderResponse);
+        Page<Order> ordersPage = searchIndexService.covers(SearchIndexService.Index.USER_EMAIL, customerEmail)
+                ? orderRepository.searchOrdersForAdminByEmail(productName, SearchIndexService.phrase(customerEmail),
+                customerEmail.strip(), status, pageable)
+                : orderRepository.findOrdersForAdmin(productName, customerEmail, status, pageable);
+        Page<OrderResponse> responsePage = withProductDetails(ordersPage.map(orderMapper::toOrderResponse));
 
         return ApiResponse.<Page<OrderResponse>>builder()
                 .code(200)
@@ -265,4 +285,36 @@ public class OrderService {
                 .result(responsePage)
                 .build();
     }
+
+    private OrderResponse withProducts(OrderResponse response) {
+        withProducts(Collections.singletonList(response));
+        return response;
+    }
+
+    // Order items carry id-only products from the mapper; one listing query fills them all.
+    private <T extends Iterable<OrderResponse>> T withProducts(T responses) {
+        productListingService.fill(products(responses));
+        return responses;
+    }
+
+    // The admin order screens also show each item's product description.
+    private OrderResponse withProductDetails(OrderResponse response) {
+        withProductDetails(Collections.singletonList(response));
+        return response;
+    }
+
+    private <T extends Iterable<OrderResponse>> T withProductDetails(T responses) {
+        productListingService.fillWithDescription(products(responses));
+        return responses;
+    }
+
+    private List<ProductResponse> products(Iterable<OrderResponse> responses) {
+        List<ProductResponse> products = new ArrayList<>();
+        for (OrderResponse response : responses) {
+            if (response != null && response.getOrderItems() != null) {
+                response.getOrderItems().forEach(item -> products.add(item.getProductResponse()));
+            }
+        }
+        return products;
+    }
 }
@@ -0,0 +1,183 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.repositories.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    // Only the oldest unfinished event of each aggregate is claimable, so events of one
+    // order are never handled concurrently or out of order. Expired PROCESSING leases
+    // belong to a dispatcher that died mid-batch and are picked up again.
+    private static final String CLAIM = "SELECT e.id FROM outbox_events e " +
+            "WHERE ((e.status = 'PENDING' AND e.next_attempt_at <= ?) OR (e.status = 'PROCESSING' AND e.locked_until < ?)) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_id = e.aggregate_id AND p.id < e.id " +
+            "AND p.status IN ('PENDING', 'PROCESSING')) " +
+            "ORDER BY e.id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String MARK_PROCESSING = "UPDATE outbox_events SET status = 'PROCESSING', locked_until = ? WHERE id = ?";
+
+    private static final String MARK_DONE = "UPDATE outbox_events SET status = 'DONE', processed_at = ?, locked_until = NULL, " +
+            "last_error = NULL WHERE id = ?";
+
+    private static final String MARK_RETRY = "UPDATE outbox_events SET status = ?, attempts = ?, next_attempt_at = ?, " +
+            "locked_until = NULL, last_error = ? WHERE id = ?";
+
+    private static final String PURGE = "DELETE FROM outbox_events WHERE status = 'DONE' AND processed_at < ? LIMIT 1000";
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    OutboxEventRepository outboxEventRepository;
+    List<OutboxEventHandler> handlers;
+    ThreadPoolExecutor workers;
+    ExecutorService trigger;
+    int batchSize;
+
+    @NonFinal
+    @Value("${outbox.lease-seconds:60}")
+    long leaseSeconds;
+
+    @NonFinal
+    @Value("${outbox.retry.max-attempts:10}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${outbox.retry.backoff-ms:2000}")
+    long backoffMs;
+
+    @NonFinal
+    @Value("${outbox.retry.max-backoff-ms:300000}")
+    long maxBackoffMs;
+
+    @NonFinal
+    @Value("${outbox.retention-hours:72}")
+    long retentionHours;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            OutboxEventRepository outboxEventRepository,
+                            List<OutboxEventHandler> handlers,
+                            @Value("${outbox.workers:4}") int workers,
+                            @Value("${outbox.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.batchSize = batchSize;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(batchSize), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.trigger = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // Wakes the dispatcher right after a transaction that wrote events commits; wakes
+    // arriving while a run is queued collapse into that run.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsWritten(OutboxService.EventsWritten ignored) {
+        trigger.execute(this::dispatch);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        try {
+            int delivered;
+            do {
+                delivered = dispatchBatch();
+            } while (delivered > 0);
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purgeDelivered() {
+        jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        trigger.shutdownNow();
+        workers.shutdown();
+    }
+
+    int dispatchBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claim());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            futures.add(workers.submit(() -> deliver(event)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            } catch (ExecutionException e) {
+                log.warn("Outbox worker failed: {}", e.getCause().getMessage());
+            }
+        }
+        return events.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = jdbcTemplate.queryForList(CLAIM, Long.class, now, now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Timestamp lockedUntil = Timestamp.valueOf(LocalDateTime.now().plusSeconds(leaseSeconds));
+        jdbcTemplate.batchUpdate(MARK_PROCESSING, ids.stream().map(id -> new Object[]{lockedUntil, id}).toList());
+
+        List<OutboxEvent> events = new ArrayList<>(outboxEventRepository.findAllById(ids));
+        events.sort(Comparator.comparing(OutboxEvent::getId));
+        return events;
+    }
+
+    void deliver(OutboxEvent event) {
+        try {
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event.getEventType())) {
+                    handler.handle(event);
+                }
+            }
+            jdbcTemplate.update(MARK_DONE, Timestamp.valueOf(LocalDateTime.now()), event.getId());
+        } catch (RuntimeException e) {
+            int attempts = event.getAttempts() + 1;
+            boolean exhausted = attempts >= maxAttempts;
+            long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 20));
+            log.warn("Outbox event {} ({} for {}) failed on attempt {}: {}", event.getId(), event.getEventType(),
+                    event.getAggregateId(), attempts, e.getMessage());
+            String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            jdbcTemplate.update(MARK_RETRY, exhausted ? "FAILED" : "PENDING", attempts,
+                    Timestamp.valueOf(LocalDateTime.now().plusNanos(delay * 1_000_000)),
+                    error.length() > 1000 ? error.substring(0, 1000) : error, event.getId());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.OutboxEventType;
+
+// Delivery is at-least-once: an event is redelivered to every handler of its type when
+// any of them fails, so handle() has to be idempotent.
+public interface OutboxEventHandler {
+
+    boolean supports(OutboxEventType eventType);
+
+    void handle(OutboxEvent event);
+}
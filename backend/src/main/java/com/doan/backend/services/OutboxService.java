@@ -0,0 +1,53 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.OutboxStatus;
+import com.doan.backend.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class OutboxService {
+
+    OutboxEventRepository outboxEventRepository;
+    ObjectMapper objectMapper;
+    ApplicationEventPublisher applicationEventPublisher;
+
+    public record EventsWritten(OutboxEventType eventType, String aggregateId, Map<String, Object> payload) {
+    }
+
+    // Must join the caller's transaction: the event is only worth anything if it commits
+    // or rolls back together with the state change it describes.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, String aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + eventType + " event");
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        applicationEventPublisher.publishEvent(new EventsWritten(eventType, aggregateId, payload));
+    }
+}
@@ -0,0 +1,53 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Invoice;
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.InvoiceStatusEnum;
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.repositories.InvoiceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+// A cancelled order must not stay payable: the PayOS link is cancelled once the order
+// is, whether by the expiry sweep or by an admin.
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class PaymentLinkCancelHandler implements OutboxEventHandler {
+
+    InvoiceRepository invoiceRepository;
+    PaymentService paymentService;
+    ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ORDER_STATUS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(event.getPayload() == null ? "{}" : event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid payload for outbox event " + event.getId());
+        }
+        if (!OrderStatusEnum.CANCELLED.name().equals(payload.path("to").asText())) {
+            return;
+        }
+
+        Optional<Invoice> invoice = invoiceRepository.findByOrderId(event.getAggregateId());
+        if (invoice.isEmpty() || invoice.get().getStatus() == InvoiceStatusEnum.PAID) {
+            return;
+        }
+        paymentService.cancelPaymentLink(invoice.get(), payload.path("reason").asText("ORDER_CANCELLED"));
+    }
+}
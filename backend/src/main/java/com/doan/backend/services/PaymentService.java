@@ -16,20 +16,27 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.payos.PayOS;
 import vn.payos.type.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = lombok.AccessLevel.PRIVATE)
 public class PaymentService {
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
 
+    @Lazy
     PayOS payOS;
     PaymentRepository paymentRepository;
     InvoiceRepository invoiceRepository;
@@ -39,6 +46,10 @@ public class PaymentService {
     @Value("${app.client-url}")
     String clientUrl;
 
+    @NonFinal
+    @Value("${order.expiry.unpaid-minutes:30}")
+    long unpaidMinutes;
+
     public String createPaymentLink(String invoiceId) {
 
         try {
@@ -61,6 +72,7 @@ public class PaymentService {
                     .item(item)
                     .returnUrl(returnUrl)
                     .cancelUrl(cancelUrl)
+                    .expiredAt(Instant.now().plus(Duration.ofMinutes(unpaidMinutes)).getEpochSecond())
                     .build();
 
             CheckoutResponseData data = payOS.createPaymentLink(paymentData);
@@ -70,6 +82,20 @@ public class PaymentService {
         }
     }
 
+    // Called when the order is cancelled. Only a link PayOS still shows as PENDING is
+    // cancelled, so a redelivered event or an already expired link is a no-op.
+    public void cancelPaymentLink(Invoice invoice, String reason) {
+        long orderCode = Long.parseLong(CodeUtils.removePrefix(invoice.getInvoiceNumber(), Constants.INVOICE_PREFIX));
+        try {
+            PaymentLinkData link = payOS.getPaymentLinkInformation(orderCode);
+            if ("PENDING".equals(link.getStatus())) {
+                payOS.cancelPaymentLink(orderCode, reason);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to cancel payment link for invoice " + invoice.getInvoiceNumber() + ": " + e.getMessage());
+        }
+    }
+
     public ObjectNode handlePaymentWebhook(Webhook webhookBody) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode response = objectMapper.createObjectNode();
@@ -92,6 +118,15 @@ public class PaymentService {
             payment.setPaymentDate(LocalDateTime.parse(data.getTransactionDateTime(), Constants.formatter));
             paymentRepository.save(payment);
 
+            // The money arrived after the order expired: keep the transfer on record for
+            // a refund, but the cancelled invoice and order stay cancelled.
+            if (invoice.getStatus() == InvoiceStatusEnum.CANCELED) {
+                log.warn("Payment {} received for cancelled invoice {}, refund required", data.getCode(), invoiceNumber);
+                response.put("error", 0);
+                response.put("message", "Invoice is cancelled, payment recorded for refund");
+                return response;
+            }
+
             invoiceService.updateInvoiceStatus(invoice, InvoiceStatusEnum.PAID);
 
             response.put("error", 0);
@@ -113,10 +148,13 @@ public class PaymentService {
             if (paymentRequest.getPaymentMethod() == null || paymentRequest.getAmount() == null) {
                 throw new RuntimeException("Payment status and amount are required");
             }
+            Invoice invoice = payment.getInvoice();
+            if (invoice != null && invoice.getStatus() == InvoiceStatusEnum.CANCELED) {
+                throw new RuntimeException("Invoice is cancelled");
+            }
             payment.setPaymentStatus(paymentRequest.getPaymentStatus());
             paymentRepository.save(payment);
 
-            Invoice invoice = payment.getInvoice();
             invoiceService.updateInvoiceStatus(invoice, InvoiceStatusEnum.PAID);
         } else {
             payment.setPaymentStatus(paymentRequest.getPaymentStatus());
@@ -0,0 +1,117 @@
+package com.doan.backend.services;
+
+import com.doan.backend.config.ReplicaRoutingDataSource;
+import com.doan.backend.dto.response.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class ProductDetailService {
+    private static final Logger log = LoggerFactory.getLogger(ProductDetailService.class);
+
+    private final ProductService productService;
+    private final ProductImageService productImageService;
+    private final ProductInventoryService productInventoryService;
+    private final ReviewService reviewService;
+    private final PromotionService promotionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long sectionTimeoutMs;
+
+    public ProductDetailService(ProductService productService,
+                                ProductImageService productImageService,
+                                ProductInventoryService productInventoryService,
+                                ReviewService reviewService,
+                                PromotionService promotionService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${product.detail.max-concurrency:16}") int maxConcurrency,
+                                @Value("${product.detail.queue-capacity:200}") int queueCapacity,
+                                @Value("${product.detail.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.productService = productService;
+        this.productImageService = productImageService;
+        this.productInventoryService = productInventoryService;
+        this.reviewService = reviewService;
+        this.promotionService = promotionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        // CallerRunsPolicy: when saturated the request thread loads the section itself
+        // instead of failing, which degrades to the old sequential behaviour.
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-detail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // The product itself is required and its errors propagate; every other section is
+    // optional and is reported in unavailableSections when it fails or times out.
+    public ApiResponse<ProductDetailResponse> getProductDetail(String productId) {
+        CompletableFuture<ProductResponse> product = section(() -> productService.getProductById(productId).getResult());
+        CompletableFuture<Iterable<ProductImageResponse>> images = section(() -> productImageService.getProductImagesByProductId(productId).getResult());
+        CompletableFuture<Iterable<ProductInventoryResponse>> inventories = section(() -> productInventoryService.getProductInventoryByProductId(productId).getResult());
+        CompletableFuture<Iterable<ReviewResponse>> reviews = section(() -> reviewService.getReviewByProductId(productId).getResult());
+        CompletableFuture<PromotionResponse> promotion = section(() -> promotionService.getActivePromotionByProductId(productId).getResult());
+
+        ProductResponse productResponse;
+        try {
+            productResponse = product.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Product is temporarily unavailable");
+        }
+
+        List<String> unavailableSections = new ArrayList<>();
+        ProductDetailResponse productDetailResponse = ProductDetailResponse.builder()
+                .product(productResponse)
+                .images(optional("images", images, unavailableSections))
+                .inventories(optional("inventories", inventories, unavailableSections))
+                .reviews(optional("reviews", reviews, unavailableSections))
+                .promotion(optional("promotion", promotion, unavailableSections))
+                .unavailableSections(unavailableSections)
+                .build();
+
+        return ApiResponse.<ProductDetailResponse>builder()
+                .code(200)
+                .message("Product detail retrieved successfully")
+                .result(productDetailResponse)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> section(Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(ReplicaRoutingDataSource.propagate(() -> transactionTemplate.execute(status -> loader.get())), executor)
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T optional(String name, CompletableFuture<T> future, List<String> unavailableSections) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            log.warn("Product detail section {} unavailable: {}", name, e.getCause() != null ? e.getCause().toString() : e.toString());
+            unavailableSections.add(name);
+            return null;
+        }
+    }
+}
@@ -20,12 +20,14 @@ import java.util.Optional;
 public class ProductInventoryService {
     ProductInventoryRepository productInventoryRepository;
     ProductInventoryMapper productInventoryMapper;
+    InventoryEventService inventoryEventService;
 
     public ApiResponse<ProductInventoryResponse> createProductInventory(ProductInventoryRequest productInventoryRequest) {
         if (productInventoryRepository.existsByProductIdAndSizeId(productInventoryRequest.getIdProduct(), productInventoryRequest.getIdSize())) {
             throw new RuntimeException("Product inventory already exists");
         }
         ProductInventoryResponse productInventoryResponse = productInventoryMapper.toProductInventoryResponse(productInventoryRepository.save(productInventoryMapper.toProductInventory(productInventoryRequest)));
+        inventoryEventService.markChanged(productInventoryRequest.getIdProduct());
         return ApiResponse.<ProductInventoryResponse>builder()
                 .code(200)
                 .message("Create product inventory successfully")
@@ -35,7 +37,7 @@ public class ProductInventoryService {
     }
 
     public ApiResponse<Iterable<ProductInventoryResponse>> getProductInventoryByProductId(String productId) {
-        Iterable<ProductInventoryResponse> productInventoryResponses = productInventoryMapper.toProductInventoryResponse(productInventoryRepository.findByProductId(productId));
+        Iterable<ProductInventoryResponse> productInventoryResponses = productInventoryRepository.findListingsByProductId(productId);
         return ApiResponse.<Iterable<ProductInventoryResponse>>builder()
                 .code(200)
                 .message("Get product inventory by product id successfully")
@@ -57,6 +59,7 @@ public class ProductInventoryService {
         productInventory.setQuantity(productInventoryRequest.getQuantity());
 
         ProductInventoryResponse productInventoryResponse = productInventoryMapper.toProductInventoryResponse(productInventoryRepository.save(productInventory));
+        inventoryEventService.markChanged(productInventory.getProduct().getId());
         return ApiResponse.<ProductInventoryResponse>builder()
                 .code(200)
                 .message("Update product inventory successfully")
@@ -65,7 +68,10 @@ public class ProductInventoryService {
     }
 
     public ApiResponse<String> deleteProductInventory(String id) {
-        productInventoryRepository.deleteById(id);
+        ProductInventory productInventory = productInventoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product inventory not found"));
+        productInventoryRepository.delete(productInventory);
+        inventoryEventService.markChanged(productInventory.getProduct().getId());
         return ApiResponse.<String>builder()
                 .code(200)
                 .message("Delete product inventory successfully")
@@ -74,7 +80,7 @@ public class ProductInventoryService {
     }
 
     public ApiResponse<Iterable<ProductInventoryResponse>> getProductInventoryByListProductId(List<String> productIds) {
-        Iterable<ProductInventoryResponse> productInventoryResponses = productInventoryMapper.toProductInventoryResponse(productInventoryRepository.findByProductIdIn(productIds));
+        Iterable<ProductInventoryResponse> productInventoryResponses = productInventoryRepository.findListingsByProductIdIn(productIds);
         return ApiResponse.<Iterable<ProductInventoryResponse>>builder()
                 .code(200)
                 .message("Get product inventory by list product id successfully")
@@ -0,0 +1,59 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.ProductResponse;
+import com.doan.backend.repositories.ProductRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ProductListingService {
+
+    ProductRepository productRepository;
+
+    // Cart and order item mappers emit id-only products (ProductMapper.toProductReference).
+    // This completes them in place from one listing query, which skips the description.
+    public void fill(Collection<ProductResponse> references) {
+        List<ProductResponse> products = references.stream()
+                .filter(product -> product != null && product.getId() != null)
+                .toList();
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<String, ProductResponse> listings = productRepository.findListingsByIdIn(
+                        products.stream().map(ProductResponse::getId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+        products.forEach(product -> {
+            ProductResponse listing = listings.get(product.getId());
+            if (listing != null) {
+                BeanUtils.copyProperties(listing, product);
+            }
+        });
+    }
+
+    // As fill, plus the description, for admin screens that show it per item.
+    public void fillWithDescription(Collection<ProductResponse> references) {
+        fill(references);
+        List<ProductResponse> products = references.stream()
+                .filter(product -> product != null && product.getId() != null)
+                .toList();
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<String, String> descriptions = new HashMap<>();
+        productRepository.findDescriptionsByIdIn(products.stream().map(ProductResponse::getId).collect(Collectors.toSet()))
+                .forEach(row -> descriptions.put((String) row[0], (String) row[1]));
+        products.forEach(product -> product.setDescription(descriptions.get(product.getId())));
+    }
+}
@@ -0,0 +1,70 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Promotion;
+import com.doan.backend.repositories.ProductRepository;
+import com.doan.backend.repositories.PromotionRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ProductPricingService {
+    private static final Logger log = LoggerFactory.getLogger(ProductPricingService.class);
+
+    ProductRepository productRepository;
+    PromotionRepository promotionRepository;
+
+    @NonFinal
+    volatile LocalDateTime lastBoundaryCheck;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = productRepository.refreshPricing(now);
+        lastBoundaryCheck = now;
+        log.info("Refreshed effective price of {} products", updated);
+    }
+
+    // Promotions start and end on their own, without any write to hit the hooks below,
+    // so every tick looks for a start or end date that passed since the previous one.
+    @Scheduled(fixedDelayString = "${product.pricing.boundary-check-interval-ms:60000}")
+    public void refreshAtPromotionBoundaries() {
+        LocalDateTime from = lastBoundaryCheck;
+        if (from == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (promotionRepository.existsBoundaryBetween(from, now)) {
+            int updated = productRepository.refreshPricing(now);
+            log.info("Promotion boundary passed, refreshed effective price of {} products", updated);
+        }
+        lastBoundaryCheck = now;
+    }
+
+    public void refreshAll() {
+        productRepository.refreshPricing(LocalDateTime.now());
+    }
+
+    public void refreshProduct(String productId) {
+        productRepository.refreshPricingByProductId(productId, LocalDateTime.now());
+    }
+
+    public void refreshPromotion(Promotion promotion, boolean wasApplyToAll) {
+        if (wasApplyToAll || Boolean.TRUE.equals(promotion.getApplyToAll())) {
+            refreshAll();
+        } else {
+            productRepository.refreshPricingByPromotionId(promotion.getId(), LocalDateTime.now());
+        }
+    }
+}
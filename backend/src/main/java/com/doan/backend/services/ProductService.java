@@ -15,15 +15,18 @@ import com.doan.backend.repositories.CategoryRepository;
 import com.doan.backend.repositories.ProductRepository;
 import com.doan.backend.repositories.PromotionProductRepository;
 import com.doan.backend.repositories.PromotionRepository;
+import com.doan.backend.enums.CacheRegion;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,8 +40,11 @@ public class ProductService {
     PromotionMapper promotionMapper;
     PromotionRepository promotionRepository;
     PromotionProductRepository promotionProductRepository;
+    ProductPricingService productPricingService;
+    CacheInvalidationService cacheInvalidationService;
 
 
+    @Transactional(readOnly = true)
     public ApiResponse<ProductResponse> getProductById(String id) {
         ProductResponse productResponse = productRepository.findByIdAndStatusNot(id, StatusEnum.DELETED)
                 .map(productMapper::toProductResponse)
@@ -62,6 +68,8 @@ public class ProductService {
         Product product = productMapper.toProduct(productRequest);
         Product productSave = productRepository.save(product);
         savePromotionProducts(productSave, productRequest.getPromotionIds());
+        productPricingService.refreshProduct(productSave.getId());
+        cacheInvalidationService.broadcast(CacheRegion.PRODUCTS, productSave.getId());
         return ApiResponse.<String>builder()
                 .code(200)
                 .result(productSave.getId())
@@ -75,6 +83,7 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setStatus(StatusEnum.DELETED);
         productRepository.save(product);
+        cacheInvalidationService.broadcast(CacheRegion.PRODUCTS, id);
         return ApiResponse.<Void>builder()
                 .code(200)
                 .message("Product deleted successfully")
@@ -100,6 +109,8 @@ public class ProductService {
         product.setCategory(category);
 
         productRepository.save(product);
+        productPricingService.refreshProduct(product.getId());
+        cacheInvalidationService.broadcast(CacheRegion.PRODUCTS, id);
         return ApiResponse.<String>builder()
                 .code(200)
                 .result(product.getId())
@@ -107,33 +118,22 @@ public class ProductService {
                 .build();
     }
 
-    public ApiResponse<Page<ProductResponse>> searchProducts(String name, String categoryId, Pageable pageable) {
-        Page<Product> products;
-        if (name != null && categoryId != null) {
-            products = productRepository.findByNameContainingIgnoreCaseAndCategory_IdAndStatusNot(name, categoryId, StatusEnum.DELETED, pageable);
-        } else if (name != null) {
-            products = productRepository.findByNameContainingIgnoreCaseAndStatusNot(name, StatusEnum.DELETED, pageable);
-        } else if (categoryId != null) {
-            products = productRepository.findByCategory_IdAndStatusNot(categoryId, StatusEnum.DELETED, pageable);
-        } else {
-            products = productRepository.findAll(pageable);
-        }
-
-        Page<ProductResponse> productResponsePage = products.map(product -> {
-            ProductResponse response = productMapper.toProductResponse(product);
+    @Transactional(readOnly = true)
+    public ApiResponse<Page<ProductResponse>> searchProducts(String name, String categoryId, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        Page<ProductResponse> productResponsePage = productRepository.searchProductListings(name, categoryId, minPrice, maxPrice, StatusEnum.DELETED, pageable);
 
-            List<Promotion> promotionApply = promotionProductRepository.findPromotionApplyByProductId(product.getId(), LocalDateTime.now());
+        productResponsePage.forEach(response -> {
+            List<Promotion> promotionApply = promotionProductRepository.findPromotionApplyByProductId(response.getId(), LocalDateTime.now());
             Optional<Promotion> promotionOptional = promotionApply.stream().findFirst();
-            List<PromotionResponse> promotions = promotionProductRepository.findAllPromotionByProductId(product.getId()).stream().map(promotionMapper::toPromotionResponse).toList();
+            List<PromotionResponse> promotions = promotionProductRepository.findAllPromotionByProductId(response.getId()).stream().map(promotionMapper::toPromotionResponse).toList();
 
-            response.setDiscountPercentage(
-                    promotionOptional.map(Promotion::getDiscountPercentage).orElse(BigDecimal.ZERO)
-            );
+            if (response.getDiscountPercentage() == null) {
+                response.setDiscountPercentage(promotionOptional.map(Promotion::getDiscountPercentage).orElse(BigDecimal.ZERO));
+            }
             response.setPromotionResponse(
                     promotionOptional.map(promotionMapper::toPromotionResponse).orElse(null)
             );
             response.setPromotions(promotions);
-            return response;
         });
         return ApiResponse.<Page<ProductResponse>>builder()
                 .code(200)
@@ -150,11 +150,12 @@ public class ProductService {
 
         if (promotionIds != null && !promotionIds.isEmpty()) {
             List<PromotionProduct> promotionProducts = new ArrayList<>();
+            List<Promotion> promotions = promotionRepository.findAllById(promotionIds);
+            if (promotions.size() != new HashSet<>(promotionIds).size()) {
+                throw new RuntimeException("Promotion not found");
+            }
 
-            for (String promotionId : promotionIds) {
-                Promotion promotion = promotionRepository.findById(promotionId)
-                        .orElseThrow(() -> new RuntimeException("Promotion not found"));
-
+            for (Promotion promotion : promotions) {
                 PromotionProduct promotionProduct = new PromotionProduct();
                 promotionProduct.setPromotion(promotion);
                 promotionProduct.setProduct(product);
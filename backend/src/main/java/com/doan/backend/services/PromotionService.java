@@ -8,6 +8,7 @@ import com.doan.backend.entity.Promotion;
 import com.doan.backend.mapper.PromotionMapper;
 import com.doan.backend.repositories.PromotionProductRepository;
 import com.doan.backend.repositories.PromotionRepository;
+import com.doan.backend.enums.CacheRegion;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -27,10 +28,15 @@ public class PromotionService {
     PromotionRepository promotionRepository;
     PromotionProductRepository promotionProductRepository;
     PromotionMapper promotionMapper;
+    ProductPricingService productPricingService;
+    SearchIndexService searchIndexService;
+    CacheInvalidationService cacheInvalidationService;
 
     public ApiResponse<PromotionResponse> createPromotion(PromotionRequest promotionRequest) {
         Promotion promotion = promotionMapper.toPromotion(promotionRequest);
         promotion = promotionRepository.save(promotion);
+        productPricingService.refreshPromotion(promotion, false);
+        cacheInvalidationService.broadcast(CacheRegion.PROMOTIONS, promotion.getId());
         return ApiResponse.<PromotionResponse>builder()
                 .code(200)
                 .message("Promotion created successfully")
@@ -42,6 +48,7 @@ public class PromotionService {
         Promotion promotion = promotionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Promotion not found"));
 
+        boolean wasApplyToAll = Boolean.TRUE.equals(promotion.getApplyToAll());
         promotion.setName(promotionRequest.getName());
         promotion.setDescription(promotionRequest.getDescription());
         promotion.setStartDate(promotionRequest.getStartDate());
@@ -51,6 +58,8 @@ public class PromotionService {
         promotion.setDiscountPercentage(promotionRequest.getDiscountPercentage());
 
         promotionRepository.save(promotion);
+        productPricingService.refreshPromotion(promotion, wasApplyToAll);
+        cacheInvalidationService.broadcast(CacheRegion.PROMOTIONS, id);
         return ApiResponse.<PromotionResponse>builder()
                 .code(200)
                 .message("Promotion update successfully")
@@ -60,6 +69,8 @@ public class PromotionService {
 
     public ApiResponse<Void> deletePromotion(String id) {
         promotionRepository.deleteById(id);
+        productPricingService.refreshAll();
+        cacheInvalidationService.broadcast(CacheRegion.PROMOTIONS, id);
         return ApiResponse.<Void>builder()
                 .code(200)
                 .message("Promotion deleted successfully")
@@ -78,7 +89,9 @@ public class PromotionService {
     }
 
     public ApiResponse<Page<PromotionResponse>> getAllPromotions(String name, Pageable pageable) {
-        Page<Promotion> promotions = promotionRepository.findByNameContaining(name, pageable);
+        Page<Promotion> promotions = searchIndexService.covers(SearchIndexService.Index.PROMOTION_NAME, name)
+                ? promotionRepository.searchByName(SearchIndexService.phrase(name), name.strip(), pageable)
+                : promotionRepository.findByNameContaining(name, pageable);
         Page<PromotionResponse> promotionResponses = promotions.map(promotionMapper::toPromotionResponse);
 
         return ApiResponse.<Page<PromotionResponse>>builder()
@@ -88,17 +101,35 @@ public class PromotionService {
                 .build();
     }
 
-    public BigDecimal applyPromotionToProduct(Product product) {
-        Optional<Promotion> promotionOptional = promotionProductRepository.findActivePromotionByProductId(product.getId(), LocalDateTime.now());
+    // Same precedence as the materialized products.effective_price: the newest active
+    // promotion linked to the product, otherwise the newest active apply-to-all one.
+    public Optional<Promotion> findApplicablePromotion(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        return promotionProductRepository.findActivePromotionByProductId(product.getId(), now)
+                .or(() -> promotionRepository.findActiveApplyToAllPromotion(now));
+    }
 
-        if (promotionOptional.isPresent()) {
-            Promotion promotion = promotionOptional.get();
+    public BigDecimal applyPromotionToProduct(Product product) {
+        return applyPromotion(product, findApplicablePromotion(product).orElse(null));
+    }
 
-            BigDecimal discount = product.getPrice().multiply(promotion.getDiscountPercentage().divide(BigDecimal.valueOf(100)));
-            return product.getPrice().subtract(discount);
+    public BigDecimal applyPromotion(Product product, Promotion promotion) {
+        if (promotion == null) {
+            return product.getPrice();
         }
+        BigDecimal discount = product.getPrice().multiply(promotion.getDiscountPercentage().divide(BigDecimal.valueOf(100)));
+        return product.getPrice().subtract(discount);
+    }
 
-        return product.getPrice();
+    public ApiResponse<PromotionResponse> getActivePromotionByProductId(String productId) {
+        PromotionResponse promotionResponse = promotionProductRepository.findActivePromotionByProductId(productId, LocalDateTime.now())
+                .map(promotionMapper::toPromotionResponse)
+                .orElse(null);
+        return ApiResponse.<PromotionResponse>builder()
+                .code(200)
+                .message("Promotion retrieved successfully")
+                .result(promotionResponse)
+                .build();
     }
 
     public ApiResponse<List<PromotionResponse>> getCurrentPromotionsExcludeApplyToAll() {
@@ -10,23 +10,36 @@ import com.doan.backend.dto.response.CustomerStatistics.CustomerStatisticRespons
 import com.doan.backend.dto.response.ProductStatistics.ProductRevenueResponse;
 import com.doan.backend.dto.response.ProductStatistics.ProductStatistic;
 import com.doan.backend.dto.response.ProductStatistics.ProductStatisticResponse;
+import com.doan.backend.dto.response.TopRevenueResponse;
+import com.doan.backend.enums.RevenueDimension;
 import com.doan.backend.repositories.OrderItemRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class RevenueService {
     OrderItemRepository orderItemRepository;
 
+    @NonFinal
+    @Value("${revenue.top.max-limit:100}")
+    int maxTopLimit;
+
     public ApiResponse<List<ProductRevenueResponse>> getProductRevenue(LocalDate startDate, LocalDate endDate) {
         List<ProductStatisticResponse> responses = orderItemRepository.getProductRevenue(startDate.atStartOfDay(), endDate.atStartOfDay());
 
@@ -106,4 +119,24 @@ public class RevenueService {
                 .result(customerRevenueResponses)
                 .build();
     }
+
+    public ApiResponse<List<TopRevenueResponse>> getTopRevenue(RevenueDimension dimension, LocalDate startDate, LocalDate endDate, int limit) {
+        if (limit < 1 || limit > maxTopLimit) {
+            throw new RuntimeException("Limit must be between 1 and " + maxTopLimit);
+        }
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.atStartOfDay();
+        Pageable top = PageRequest.of(0, limit);
+
+        List<TopRevenueResponse> responses = switch (dimension) {
+            case PRODUCT -> orderItemRepository.getTopProducts(start, end, top);
+            case CATEGORY -> orderItemRepository.getTopCategories(start, end, top);
+            case SIZE -> orderItemRepository.getTopSizes(start, end, top);
+            case CUSTOMER -> orderItemRepository.getTopCustomers(start, end, top);
+        };
+        return ApiResponse.<List<TopRevenueResponse>>builder()
+                .code(200)
+                .result(responses)
+                .build();
+    }
 }
@@ -16,6 +16,7 @@ import io.jsonwebtoken.lang.Assert;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE)
@@ -83,6 +84,7 @@ public class ReviewService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public ApiResponse<Iterable<ReviewResponse>> getReviewByProductId(String productId) {
         Iterable<Review> reviews = reviewRepository.findByProductId(productId);
         return ApiResponse.<Iterable<ReviewResponse>>builder()
@@ -117,6 +119,7 @@ public class ReviewService {
         productRepository.save(product);
     }
 
+    @Transactional(readOnly = true)
     public ApiResponse<Iterable<ReviewResponse>> getReviewByOrderId(String orderId) {
         Iterable<Review> reviews = reviewRepository.findByOrderId(orderId);
         return ApiResponse.<Iterable<ReviewResponse>>builder()
@@ -0,0 +1,87 @@
+package com.doan.backend.services;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final String INDEX_EXISTS = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+
+    JdbcTemplate jdbcTemplate;
+
+    Set<Index> ready = EnumSet.noneOf(Index.class);
+
+    @NonFinal
+    @Value("${admin.search.min-term-length:2}")
+    int minTermLength;
+
+    public enum Index {
+        USER_EMAIL("users", "email", "ft_users_email"),
+        USER_NAME("users", "name", "ft_users_name"),
+        DISCOUNT_CODE("discounts", "code", "ft_discounts_code"),
+        PROMOTION_NAME("promotions", "name", "ft_promotions_name");
+
+        final String table;
+        final String column;
+        final String name;
+
+        Index(String table, String column, String name) {
+            this.table = table;
+            this.column = column;
+            this.name = name;
+        }
+    }
+
+    // The indexes are created by migration V3; if one is missing anyway, searches on that
+    // column keep working on the LIKE queries.
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectIndexes() {
+        for (Index index : Index.values()) {
+            try {
+                Integer existing = jdbcTemplate.queryForObject(INDEX_EXISTS, Integer.class, index.table, index.name);
+                if (existing != null && existing > 0) {
+                    synchronized (ready) {
+                        ready.add(index);
+                    }
+                } else {
+                    log.warn("Full-text index {} missing, admin search on {}.{} falls back to LIKE", index.name, index.table, index.column);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not check full-text index {}: {}", index.name, e.getMessage());
+            }
+        }
+    }
+
+    // Terms shorter than the ngram token size produce no tokens and would match nothing.
+    public boolean covers(Index index, String term) {
+        if (term == null || term.strip().length() < minTermLength) {
+            return false;
+        }
+        synchronized (ready) {
+            return ready.contains(index);
+        }
+    }
+
+    // Inside a quoted boolean-mode phrase only the quote itself is an operator.
+    public static String phrase(String term) {
+        return "\"" + term.strip().replace("\"", "") + "\"";
+    }
+}
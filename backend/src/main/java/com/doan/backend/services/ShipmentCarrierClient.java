@@ -0,0 +1,16 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.ShipmentStatusEnum;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ShipmentCarrierClient {
+
+    record Tracking(ShipmentStatusEnum status, String carrierStatus) {
+    }
+
+    // Codes the carrier could not answer for are left out of the result and retried on
+    // the next sync.
+    Map<String, Tracking> track(List<String> trackingCodes);
+}
@@ -0,0 +1,73 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.ShipmentRequest;
+import com.doan.backend.dto.response.ApiResponse;
+import com.doan.backend.dto.response.ShipmentResponse;
+import com.doan.backend.entity.Order;
+import com.doan.backend.entity.Shipment;
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.ShipmentStatusEnum;
+import com.doan.backend.repositories.OrderRepository;
+import com.doan.backend.repositories.ShipmentRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ShipmentService {
+
+    ShipmentRepository shipmentRepository;
+    OrderRepository orderRepository;
+
+    public ApiResponse<ShipmentResponse> createShipment(ShipmentRequest shipmentRequest) {
+        Order order = orderRepository.findById(shipmentRequest.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (order.getStatus() == OrderStatusEnum.CANCELLED) {
+            throw new RuntimeException("Order has been cancelled");
+        }
+        if (shipmentRepository.existsByTrackingCode(shipmentRequest.getTrackingCode())) {
+            throw new RuntimeException("Tracking code already exists");
+        }
+
+        Shipment shipment = new Shipment();
+        shipment.setOrder(order);
+        shipment.setTrackingCode(shipmentRequest.getTrackingCode());
+        shipment.setStatus(ShipmentStatusEnum.CREATED);
+        shipment.setNextSyncAt(LocalDateTime.now());
+
+        return ApiResponse.<ShipmentResponse>builder()
+                .code(200)
+                .message("Create shipment successfully")
+                .result(toResponse(shipmentRepository.save(shipment)))
+                .build();
+    }
+
+    // Served from the last sync; viewing an order never calls the carrier.
+    public ApiResponse<List<ShipmentResponse>> getShipmentsByOrderId(String orderId) {
+        return ApiResponse.<List<ShipmentResponse>>builder()
+                .code(200)
+                .message("Get shipments by order id successfully")
+                .result(shipmentRepository.findByOrderIdOrderByCreatedAtDesc(orderId).stream()
+                        .map(this::toResponse)
+                        .toList())
+                .build();
+    }
+
+    private ShipmentResponse toResponse(Shipment shipment) {
+        return ShipmentResponse.builder()
+                .id(shipment.getId())
+                .orderId(shipment.getOrder().getId())
+                .trackingCode(shipment.getTrackingCode())
+                .status(shipment.getStatus())
+                .carrierStatus(shipment.getCarrierStatus())
+                .lastSyncedAt(shipment.getLastSyncedAt())
+                .createdAt(shipment.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.ShipmentStatusEnum;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ShipmentSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipmentSyncService.class);
+
+    private static final String LOCK_NAME = "shipment-sync";
+
+    private static final String SELECT_DUE = "SELECT id, order_id, tracking_code FROM shipments " +
+            "WHERE status IN ('CREATED', 'PICKED_UP', 'IN_TRANSIT') AND next_sync_at <= :now " +
+            "ORDER BY next_sync_at LIMIT :limit";
+
+    private static final String UPDATE_SHIPMENT = "UPDATE shipments SET status = :status, carrier_status = :carrierStatus, " +
+            "last_synced_at = :now, next_sync_at = :nextSyncAt, updated_at = :now WHERE id = :id";
+
+    private static final String RESCHEDULE = "UPDATE shipments SET next_sync_at = :nextSyncAt WHERE id IN (:ids)";
+
+    private static final String LOCK_ORDERS = "SELECT id, status FROM orders WHERE id IN (:orderIds) FOR UPDATE";
+
+    private static final String UPDATE_ORDERS = "UPDATE orders SET status = :status, updated_at = :now WHERE id IN (:orderIds)";
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    ShipmentCarrierClient shipmentCarrierClient;
+    LeaseLockService leaseLockService;
+    OutboxService outboxService;
+    ThreadPoolExecutor executor;
+
+    @NonFinal
+    @Value("${shipment.sync.batch-size:50}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${shipment.sync.max-per-run:1000}")
+    int maxPerRun;
+
+    @NonFinal
+    @Value("${shipment.sync.poll-interval-minutes:30}")
+    long pollIntervalMinutes;
+
+    @NonFinal
+    @Value("${shipment.sync.lease-seconds:300}")
+    long leaseSeconds;
+
+    public ShipmentSyncService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ShipmentCarrierClient shipmentCarrierClient,
+                               LeaseLockService leaseLockService,
+                               OutboxService outboxService,
+                               @Value("${shipment.sync.concurrency:4}") int concurrency) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shipmentCarrierClient = shipmentCarrierClient;
+        this.leaseLockService = leaseLockService;
+        this.outboxService = outboxService;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "shipment-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record Due(String id, String orderId, String trackingCode) {
+    }
+
+    @Scheduled(fixedDelayString = "${shipment.sync.interval-ms:60000}")
+    public void sync() {
+        if (!leaseLockService.tryAcquire(LOCK_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+        try {
+            List<Due> due = namedParameterJdbcTemplate.query(SELECT_DUE, new MapSqlParameterSource()
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                    .addValue("limit", maxPerRun), (rs, rowNum) ->
+                    new Due(rs.getString("id"), rs.getString("order_id"), rs.getString("tracking_code")));
+            if (due.isEmpty()) {
+                return;
+            }
+
+            Map<String, ShipmentCarrierClient.Tracking> tracking = track(due);
+            int changed = transactionTemplate.execute(status -> apply(due, tracking));
+            log.info("Synced {} shipments, {} answered by the carrier, {} orders advanced", due.size(), tracking.size(), changed);
+        } catch (RuntimeException e) {
+            log.warn("Shipment sync failed: {}", e.getMessage());
+        } finally {
+            leaseLockService.release(LOCK_NAME);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Map<String, ShipmentCarrierClient.Tracking> track(List<Due> due) {
+        List<String> codes = due.stream().map(Due::trackingCode).filter(Objects::nonNull).distinct().toList();
+        List<Future<Map<String, ShipmentCarrierClient.Tracking>>> futures = new ArrayList<>();
+        for (int from = 0; from < codes.size(); from += batchSize) {
+            List<String> batch = codes.subList(from, Math.min(from + batchSize, codes.size()));
+            futures.add(executor.submit(() -> shipmentCarrierClient.track(batch)));
+        }
+
+        Map<String, ShipmentCarrierClient.Tracking> result = new HashMap<>();
+        for (Future<Map<String, ShipmentCarrierClient.Tracking>> future : futures) {
+            try {
+                result.putAll(future.get(leaseSeconds, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                future.cancel(true);
+                log.warn("Carrier batch failed: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private int apply(List<Due> due, Map<String, ShipmentCarrierClient.Tracking> tracking) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nextSyncAt = Timestamp.valueOf(now.plusMinutes(pollIntervalMinutes));
+
+        List<SqlParameterSource> updates = new ArrayList<>();
+        List<String> unanswered = new ArrayList<>();
+        Map<String, OrderStatusEnum> targets = new HashMap<>();
+        for (Due shipment : due) {
+            ShipmentCarrierClient.Tracking answer = tracking.get(shipment.trackingCode());
+            if (answer == null) {
+                unanswered.add(shipment.id());
+                continue;
+            }
+            updates.add(new MapSqlParameterSource()
+                    .addValue("id", shipment.id())
+                    .addValue("status", answer.status().name())
+                    .addValue("carrierStatus", answer.carrierStatus())
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("nextSyncAt", isFinal(answer.status()) ? null : nextSyncAt));
+
+            OrderStatusEnum target = toOrderStatus(answer.status());
+            if (target != null && shipment.orderId() != null) {
+                targets.merge(shipment.orderId(), target, (a, b) -> a.ordinal() >= b.ordinal() ? a : b);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            namedParameterJdbcTemplate.batchUpdate(UPDATE_SHIPMENT, updates.toArray(SqlParameterSource[]::new));
+        }
+        if (!unanswered.isEmpty()) {
+            namedParameterJdbcTemplate.update(RESCHEDULE, new MapSqlParameterSource()
+                    .addValue("ids", unanswered)
+                    .addValue("nextSyncAt", nextSyncAt));
+        }
+        return advanceOrders(targets, now);
+    }
+
+    // Orders only move forward (PENDING/CONFIRMED -> SHIPPING -> DELIVERED); cancelled or
+    // completed orders are never touched by the carrier feed.
+    private int advanceOrders(Map<String, OrderStatusEnum> targets, LocalDateTime now) {
+        if (targets.isEmpty()) {
+            return 0;
+        }
+
+        Map<OrderStatusEnum, List<String>> byTarget = new EnumMap<>(OrderStatusEnum.class);
+        Map<String, OrderStatusEnum> previous = new HashMap<>();
+        OrderStatusEnum[] statuses = OrderStatusEnum.values();
+        namedParameterJdbcTemplate.query(LOCK_ORDERS, new MapSqlParameterSource("orderIds", targets.keySet()), rs -> {
+            String orderId = rs.getString("id");
+            OrderStatusEnum current = statuses[rs.getInt("status")];
+            OrderStatusEnum target = targets.get(orderId);
+            if (current.ordinal() <= OrderStatusEnum.SHIPPING.ordinal() && target.ordinal() > current.ordinal()) {
+                byTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(orderId);
+                previous.put(orderId, current);
+            }
+        });
+
+        byTarget.forEach((target, orderIds) -> {
+            namedParameterJdbcTemplate.update(UPDATE_ORDERS, new MapSqlParameterSource()
+                    .addValue("status", target.ordinal())
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("orderIds", orderIds));
+            for (String orderId : orderIds) {
+                outboxService.publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId, Map.of(
+                        "from", previous.get(orderId),
+                        "to", target,
+                        "reason", "CARRIER_UPDATE"));
+            }
+        });
+        return previous.size();
+    }
+
+    private static boolean isFinal(ShipmentStatusEnum status) {
+        return status == ShipmentStatusEnum.DELIVERED
+                || status == ShipmentStatusEnum.RETURNED
+                || status == ShipmentStatusEnum.CANCELLED;
+    }
+
+    private static OrderStatusEnum toOrderStatus(ShipmentStatusEnum status) {
+        return switch (status) {
+            case PICKED_UP, IN_TRANSIT -> OrderStatusEnum.SHIPPING;
+            case DELIVERED -> OrderStatusEnum.DELIVERED;
+            default -> null;
+        };
+    }
+}
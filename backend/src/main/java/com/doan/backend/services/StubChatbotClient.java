@@ -0,0 +1,30 @@
+package com.doan.backend.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Stands in for the chat-db service in local runs and tests (chatbot.mode=stub).
+@Service
+@ConditionalOnProperty(name = "chatbot.mode", havingValue = "stub")
+public class StubChatbotClient implements ChatbotClient {
+
+    private final long delayMs;
+
+    public StubChatbotClient(@Value("${chatbot.stub.delay-ms:0}") long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    @Override
+    public String reply(String userInput) {
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return "Bot: " + userInput;
+    }
+}
@@ -0,0 +1,36 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.ShipmentStatusEnum;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local stand-in for GHTK (shipment.carrier=stub): every poll moves a parcel one step
+// closer to DELIVERED.
+@Service
+@ConditionalOnProperty(name = "shipment.carrier", havingValue = "stub")
+public class StubShipmentCarrierClient implements ShipmentCarrierClient {
+
+    private static final ShipmentStatusEnum[] FLOW = {
+            ShipmentStatusEnum.CREATED,
+            ShipmentStatusEnum.PICKED_UP,
+            ShipmentStatusEnum.IN_TRANSIT,
+            ShipmentStatusEnum.DELIVERED
+    };
+
+    private final Map<String, Integer> steps = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Tracking> track(List<String> trackingCodes) {
+        Map<String, Tracking> result = new HashMap<>();
+        for (String code : trackingCodes) {
+            int step = steps.merge(code, 1, (current, one) -> Math.min(current + one, FLOW.length - 1));
+            result.put(code, new Tracking(FLOW[step], FLOW[step].name()));
+        }
+        return result;
+    }
+}
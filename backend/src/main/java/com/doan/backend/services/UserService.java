@@ -21,10 +21,14 @@ import java.util.List;
 public class UserService {
     UserRepository userRepository;
     UserMapper userMapper;
+    SearchIndexService searchIndexService;
 
     public ApiResponse<Page<UserResponse>> getAllUser(String name, Pageable pageable) {
 
-        Page<UserResponse> userResponses = userRepository.findByNameContainingIgnoreCaseAndStatusNot(name, StatusEnum.DELETED, pageable).map(userMapper::toUserResponse);
+        Page<User> users = searchIndexService.covers(SearchIndexService.Index.USER_NAME, name)
+                ? userRepository.searchByName(SearchIndexService.phrase(name), name.strip(), StatusEnum.DELETED, pageable)
+                : userRepository.findByNameContainingIgnoreCaseAndStatusNot(name, StatusEnum.DELETED, pageable);
+        Page<UserResponse> userResponses = users.map(userMapper::toUserResponse);
         return ApiResponse.<Page<UserResponse>>builder()
                 .code(200)
                 .message("Get all user successfully")
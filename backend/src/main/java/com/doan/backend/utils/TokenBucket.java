@@ -0,0 +1,50 @@
+package com.doan.backend.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Allows bursts up to capacity and refills at permitsPerSecond. acquire() blocks until a
+// permit is free; tryAcquire() never waits. Lock-free: the whole state is the time at
+// which the bucket would be full again, moved forward one interval per permit by CAS.
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double permitsPerSecond) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000d / permitsPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquireNanos() == 0;
+    }
+
+    // 0 when a permit was taken, otherwise the nanos until the next one is free
+    public long tryAcquireNanos() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireNanos()) > 0) {
+            Thread.sleep(Math.max(1, waitNanos / 1_000_000));
+        }
+    }
+
+    public boolean isFull() {
+        return fullAt.get() - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,451 @@
+-- Schema that ddl-auto=update left behind when migrations took over. Databases created
+-- before that are baselined at this version and skip it; later changes start at V1.1.
+create table cart_items (
+    id varchar(255) not null,
+    quantity integer not null,
+    cart_id varchar(255),
+    product_id varchar(255),
+    size_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table carts (
+    id varchar(255) not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    user_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table categories (
+    id varchar(255) not null,
+    created_at datetime(6),
+    description varchar(255),
+    name varchar(255) not null,
+    status tinyint not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table chat_room_users (
+    id varchar(255) not null,
+    chat_room_id varchar(255) not null,
+    user_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table chat_rooms (
+    id varchar(255) not null,
+    created_at datetime(6),
+    status tinyint,
+    updated_at datetime(6),
+    customer_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table discounts (
+    id varchar(255) not null,
+    `auto-apply` bit,
+    code varchar(20) not null,
+    created_at datetime(6),
+    discount_percentage decimal(38,2),
+    discount_type tinyint not null,
+    discount_value decimal(38,2),
+    expiry_date datetime(6),
+    max_discount_value decimal(38,2) not null,
+    max_uses integer not null,
+    min_order_value decimal(38,2) not null,
+    start_date datetime(6),
+    used_count integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table invoices (
+    id varchar(255) not null,
+    created_at datetime(6),
+    invoice_number varchar(255) not null,
+    status enum ('CANCELED','PAID','UNPAID') not null,
+    total_amount decimal(38,2) not null,
+    updated_at datetime(6),
+    order_id varchar(255) not null,
+    payment_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table messages (
+    id varchar(255) not null,
+    content TEXT,
+    timestamp datetime(6),
+    chat_room_id varchar(255) not null,
+    sender_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    id varchar(255) not null,
+    price decimal(38,2) not null,
+    quantity integer not null,
+    order_id varchar(255),
+    product_id varchar(255) not null,
+    promotion_id varchar(255),
+    size_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    id varchar(255) not null,
+    created_at datetime(6),
+    status tinyint not null,
+    total_price_after_discount decimal(38,2),
+    total_price_before_discount decimal(38,2),
+    updated_at datetime(6),
+    shipping_address_id varchar(255) not null,
+    user_id varchar(255),
+    user_discount_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table payments (
+    id varchar(255) not null,
+    amount decimal(38,2),
+    code varchar(255),
+    payment_date datetime(6),
+    payment_method enum ('CASH','TRANSFER'),
+    payment_status enum ('CANCELED','COMPLETED','FAILED','PENDING') not null,
+    qr_code_url varchar(255),
+    invoice_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_image (
+    id varchar(255) not null,
+    image_url varchar(500),
+    product_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table product_inventory (
+    id varchar(255) not null,
+    quantity integer not null,
+    product_id varchar(255) not null,
+    size_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    id varchar(255) not null,
+    created_at datetime(6),
+    description tinytext,
+    main_image varchar(255),
+    name varchar(255) not null,
+    price decimal(38,2) not null,
+    rating float(53),
+    status tinyint not null,
+    updated_at datetime(6),
+    category_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table promotion_products (
+    id varchar(255) not null,
+    product_id varchar(255),
+    promotion_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table promotions (
+    id varchar(255) not null,
+    apply_to_all bit not null,
+    created_at datetime(6),
+    description varchar(255),
+    discount_percentage decimal(38,2),
+    end_date datetime(6) not null,
+    is_active bit,
+    name varchar(255),
+    start_date datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table reviews (
+    id varchar(255) not null,
+    content varchar(255),
+    rating float(53),
+    order_id varchar(255) not null,
+    product_id varchar(255) not null,
+    user_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table shipments (
+    id varchar(255) not null,
+    created_at datetime(6),
+    status varchar(255) not null,
+    updated_at datetime(6),
+    order_id varchar(255),
+    shipper_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table shipping_addresses (
+    id varchar(255) not null,
+    address_detail varchar(255) not null,
+    city varchar(255) not null,
+    country varchar(255) not null,
+    district varchar(255) not null,
+    is_default bit not null,
+    phone_number varchar(255) not null,
+    recipient_name varchar(255) not null,
+    ward varchar(255) not null,
+    user_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table sizes (
+    id varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_discounts (
+    id varchar(255) not null,
+    uses_count integer not null,
+    discount_id varchar(255),
+    user_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id varchar(255) not null,
+    role enum ('ADMIN','CHATBOT','CUSTOMER','SHIPPER','STAFF') not null,
+    primary key (user_id, role)
+) engine=InnoDB;
+
+create table users (
+    id varchar(255) not null,
+    created_at datetime(6),
+    email varchar(255) not null,
+    google_id varchar(255),
+    loyalty_tier enum ('BRONZE','GOLD','PLATINUM','SILVER'),
+    name varchar(255),
+    password varchar(255),
+    status tinyint,
+    updated_at datetime(6),
+    verification_token varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cart_id
+   on cart_items (cart_id);
+
+create index idx_product_id
+   on cart_items (product_id);
+
+create index idx_code
+   on discounts (code);
+
+alter table discounts
+   add constraint UKbc29q3wh0lqhy0k84bx3afk08 unique (code);
+
+create index idx_order_id
+   on invoices (order_id);
+
+create index idx_payment_id
+   on invoices (payment_id);
+
+create index idx_invoice_number
+   on invoices (invoice_number);
+
+alter table invoices
+   add constraint UKl1x55mfsay7co0r3m9ynvipd5 unique (invoice_number);
+
+alter table invoices
+   add constraint UKe718q5klx5pempy28p2nx88a6 unique (order_id);
+
+alter table invoices
+   add constraint UK8cfbd92rwby0aqvqocuv6aa05 unique (payment_id);
+
+create index idx_order_id
+   on order_items (order_id);
+
+create index idx_product_id
+   on order_items (product_id);
+
+create index idx_promotion_id
+   on order_items (promotion_id);
+
+alter table payments
+   add constraint UK24qk9mseaueib5d38726wq6rm unique (invoice_id);
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table cart_items
+   add constraint FKpcttvuq4mxppo8sxggjtn5i2c
+   foreign key (cart_id)
+   references carts (id);
+
+alter table cart_items
+   add constraint FK1re40cjegsfvw58xrkdp6bac6
+   foreign key (product_id)
+   references products (id);
+
+alter table cart_items
+   add constraint FK13bjx0o7t93tkgan9ikdbw779
+   foreign key (size_id)
+   references sizes (id);
+
+alter table carts
+   add constraint FKb5o626f86h46m4s7ms6ginnop
+   foreign key (user_id)
+   references users (id);
+
+alter table chat_room_users
+   add constraint FKmnm9x3nr1fe9ukjgi5ykofvsx
+   foreign key (chat_room_id)
+   references chat_rooms (id);
+
+alter table chat_room_users
+   add constraint FKa4i754uhscevbsye3dmeuma5t
+   foreign key (user_id)
+   references users (id);
+
+alter table chat_rooms
+   add constraint FK42l1eff8qlbln1331stm3ml2h
+   foreign key (customer_id)
+   references users (id);
+
+alter table invoices
+   add constraint FK4ko3y00tkkk2ya3p6wnefjj2f
+   foreign key (order_id)
+   references orders (id);
+
+alter table invoices
+   add constraint FKq6fs19k0gqw3rg0mb87h60h6p
+   foreign key (payment_id)
+   references payments (id);
+
+alter table messages
+   add constraint FK67lyatc9udvn9fgepx08ckmbt
+   foreign key (chat_room_id)
+   references chat_rooms (id);
+
+alter table messages
+   add constraint FK4ui4nnwntodh6wjvck53dbk9m
+   foreign key (sender_id)
+   references users (id);
+
+alter table order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders (id);
+
+alter table order_items
+   add constraint FKocimc7dtr037rh4ls4l95nlfi
+   foreign key (product_id)
+   references products (id);
+
+alter table order_items
+   add constraint FKl3adxjx6wguwap1i5fl8yvi8a
+   foreign key (promotion_id)
+   references promotions (id);
+
+alter table order_items
+   add constraint FK9t2qyxv7hnjv24ox49t7oyga2
+   foreign key (size_id)
+   references sizes (id);
+
+alter table orders
+   add constraint FKstjxbn0162q6csb4f7ejx3fwe
+   foreign key (shipping_address_id)
+   references shipping_addresses (id);
+
+alter table orders
+   add constraint FK32ql8ubntj5uh44ph9659tiih
+   foreign key (user_id)
+   references users (id);
+
+alter table orders
+   add constraint FKdbppbe2ogo9yt39yimymxh0lh
+   foreign key (user_discount_id)
+   references user_discounts (id);
+
+alter table payments
+   add constraint FKrbqec6be74wab8iifh8g3i50i
+   foreign key (invoice_id)
+   references invoices (id);
+
+alter table product_image
+   add constraint FK1n91c4vdhw8pa4frngs4qbbvs
+   foreign key (product_id)
+   references products (id);
+
+alter table product_inventory
+   add constraint FK40jwyi5ktpjmllk3nvvgiy6r0
+   foreign key (product_id)
+   references products (id);
+
+alter table product_inventory
+   add constraint FKfebuq4hf0vi8fc4i956jrgd2l
+   foreign key (size_id)
+   references sizes (id);
+
+alter table products
+   add constraint FKog2rp4qthbtt2lfyhfo32lsw9
+   foreign key (category_id)
+   references categories (id);
+
+alter table promotion_products
+   add constraint FK9rm5m4rnoamh56kxetmoe1kk9
+   foreign key (product_id)
+   references products (id);
+
+alter table promotion_products
+   add constraint FKkn7hllhf1o8jjrolro4rqmxt7
+   foreign key (promotion_id)
+   references promotions (id);
+
+alter table reviews
+   add constraint FKqwgq1lxgahsxdspnwqfac6sv6
+   foreign key (order_id)
+   references orders (id);
+
+alter table reviews
+   add constraint FKpl51cejpw4gy5swfar8br9ngi
+   foreign key (product_id)
+   references products (id);
+
+alter table reviews
+   add constraint FKcgy7qjc1r99dp117y9en6lxye
+   foreign key (user_id)
+   references users (id);
+
+alter table shipments
+   add constraint FKrnt4wht95lxxplspltrg9681s
+   foreign key (order_id)
+   references orders (id);
+
+alter table shipments
+   add constraint FKedr38oic7jqbdv22wd03a44
+   foreign key (shipper_id)
+   references users (id);
+
+alter table shipping_addresses
+   add constraint FK6bp1apvusb3gj4170h4pesd3h
+   foreign key (user_id)
+   references users (id);
+
+alter table user_discounts
+   add constraint FKnj4scnpwyua3kbd46obaicr7u
+   foreign key (discount_id)
+   references discounts (id);
+
+alter table user_discounts
+   add constraint FK7s0r7c9l35acldfqd614btrus
+   foreign key (user_id)
+   references users (id);
+
+alter table user_roles
+   add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+   foreign key (user_id)
+   references users (id);
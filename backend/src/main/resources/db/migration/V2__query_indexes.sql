@@ -0,0 +1,29 @@
+-- Indexes for predicates the repositories filter on that had none besides the
+-- single-column indexes InnoDB adds for foreign keys.
+
+-- ProductInventoryRepository.findByProductIdAndSizeId / existsByProductIdAndSizeId, checkout stock reads
+create index idx_inventory_product_size on product_inventory (product_id, size_id);
+
+-- PromotionProductRepository lookups by product, ProductRepository.refreshPricing joins
+create index idx_promotion_product_product on promotion_products (product_id, promotion_id);
+
+-- OrderRepository.findByUserIdAndStatus / existsByUserIdAndStatus
+create index idx_order_user_status on orders (user_id, status);
+
+-- OrderItemRepository revenue statistics: status = COMPLETED and updated_at between
+create index idx_order_status_updated on orders (status, updated_at);
+
+-- ReviewRepository.findByProductId, calculateAverageRatingByProductId answered from the index
+create index idx_review_product_rating on reviews (product_id, rating);
+
+-- UserRepository.findByVerificationToken
+create index idx_user_verification_token on users (verification_token);
+
+-- CategoryRepository.findByNameAndStatusNot / existsByNameAndStatusNot
+create index idx_category_name on categories (name);
+
+-- ChatRoomUserRepository.existsByChatRoomIdAndUserId / findChatRoomUserByChatRoomIdAndUserId
+create index idx_chat_room_user_room_user on chat_room_users (chat_room_id, user_id);
+
+-- DiscountRepository.findByExpiryDateAfter (discount catalog reload)
+create index idx_discount_expiry on discounts (expiry_date);
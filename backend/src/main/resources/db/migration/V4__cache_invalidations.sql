@@ -0,0 +1,11 @@
+-- Change log polled by every instance to evict node-local caches after writes on another node.
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    region varchar(32) not null,
+    cache_key varchar(255),
+    origin varchar(36) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cache_invalidation_created on cache_invalidations (created_at);
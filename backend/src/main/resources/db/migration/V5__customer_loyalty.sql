@@ -0,0 +1,20 @@
+-- Lifetime counters per customer, maintained by LoyaltyService as orders enter and leave
+-- COMPLETED. orders.loyalty_counted records whether an order is included, so a repeated
+-- transition never counts it twice.
+create table customer_loyalty (
+    user_id varchar(255) not null,
+    lifetime_spend decimal(38,2) not null default 0,
+    completed_orders integer not null default 0,
+    updated_at datetime(6) not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table orders add column loyalty_counted bit not null default b'0';
+
+update orders set loyalty_counted = b'1' where status = 5 and user_id is not null;
+
+insert into customer_loyalty (user_id, lifetime_spend, completed_orders, updated_at)
+select user_id, coalesce(sum(total_price_after_discount), 0), count(*), now(6)
+from orders
+where loyalty_counted = b'1'
+group by user_id;
@@ -0,0 +1,4 @@
+-- DashboardMetricsService seeds: orders placed today, invoices paid today
+create index idx_order_created on orders (created_at);
+
+create index idx_invoice_status_updated on invoices (status, updated_at);
@@ -0,0 +1,113 @@
+package com.doan.backend.config;
+
+import com.doan.backend.enums.RequestPriority;
+import com.doan.backend.utils.TokenBucket;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TestRateLimitFilter {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private RequestRateLimiter rateLimiter;
+    private LoadShedder loadShedder;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setName("login");
+        login.setMethod("POST");
+        login.setPaths(List.of("/auth/login"));
+        login.setCapacity(2);
+        login.setPerSecond(0.01);
+        login.setKey(RateLimitProperties.KeyType.IP);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(login));
+
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        rateLimiter = new RequestRateLimiter(properties);
+        loadShedder = new LoadShedder(mock(DataSource.class), 2, 0.5, 10,
+                List.of("/payment/payos"), List.of("/product/**"));
+        filter = new RateLimitFilter(rateLimiter, loadShedder, jwtTokenProvider, 2);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, mock(FilterChain.class));
+        return response;
+    }
+
+    // ===============================================================
+    // TC-RL-001: Vượt quá số lần đăng nhập cho phép theo IP - trả về 429 kèm Retry-After
+    // ===============================================================
+    @Test
+    public void testLogin_RejectedAfterBurst() throws Exception {
+        assertEquals(200, send("POST", "/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, send("POST", "/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = send("POST", "/auth/login", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+
+        assertEquals(200, send("POST", "/auth/login", "10.0.0.2").getStatus());
+        assertEquals(1, rateLimiter.snapshot().getFirst().getRejected());
+        verifyNoInteractions(jwtTokenProvider);
+    }
+
+    // ===============================================================
+    // TC-RL-002: Route không có policy - không giới hạn
+    // ===============================================================
+    @Test
+    public void testUnlimitedRoute_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send("GET", "/auth/login", "10.0.0.1").getStatus());
+        }
+    }
+
+    // ===============================================================
+    // TC-RL-003: Server bận - bỏ request ưu tiên thấp, giữ request thường và quan trọng
+    // ===============================================================
+    @Test
+    public void testLoadShedding_ByPriority() throws Exception {
+        assertTrue(loadShedder.tryEnter(RequestPriority.NORMAL));
+
+        assertEquals(429, send("GET", "/product/abc", "10.0.0.1").getStatus());
+        assertEquals(200, send("POST", "/cart/add", "10.0.0.1").getStatus());
+
+        assertTrue(loadShedder.tryEnter(RequestPriority.NORMAL));
+        MockHttpServletResponse shed = send("POST", "/cart/add", "10.0.0.1");
+        assertEquals(429, shed.getStatus());
+        assertEquals("2", shed.getHeader("Retry-After"));
+        assertEquals(200, send("POST", "/payment/payos", "10.0.0.1").getStatus());
+
+        assertEquals(1L, loadShedder.snapshot().getShed().get("LOW"));
+        assertEquals(1L, loadShedder.snapshot().getShed().get("NORMAL"));
+        assertEquals(2, loadShedder.snapshot().getInFlight());
+    }
+
+    // ===============================================================
+    // TC-RL-004: Token bucket - cho phép đúng capacity lần liên tiếp
+    // ===============================================================
+    @Test
+    public void testTokenBucket_Burst() {
+        TokenBucket bucket = new TokenBucket(3, 0.01);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquireNanos() > 0);
+        assertFalse(bucket.isFull());
+    }
+}
@@ -0,0 +1,124 @@
+package com.doan.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestReadYourWritesFilter {
+
+    private ReadYourWritesFilter filter;
+    private final AtomicBoolean primaryOnly = new AtomicBoolean();
+
+    @BeforeEach
+    void setup() {
+        filter = new ReadYourWritesFilter(5000);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        ReplicaRoutingDataSource.setPrimaryOnly(false);
+    }
+
+    private void signIn() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain writeBody(int status) {
+        return (req, res) -> {
+            ((HttpServletResponse) res).setStatus(status);
+            res.getWriter().write("{}");
+            res.flushBuffer();
+        };
+    }
+
+    private FilterChain recordRouting() {
+        return (req, res) -> primaryOnly.set(ReplicaRoutingDataSource.isPrimaryOnly());
+    }
+
+    // ===============================================================
+    // TC-RYW-001: Ghi thành công - cookie ghim được đặt trước khi response commit
+    // ===============================================================
+    @Test
+    public void testWrite_SetsPinCookieBeforeCommit() throws Exception {
+        signIn();
+        long before = System.currentTimeMillis();
+
+        MockHttpServletResponse response = run(new MockHttpServletRequest("POST", "/cart"), writeBody(200));
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.PIN_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) >= before + 5000);
+        assertEquals(5, cookie.getMaxAge());
+        assertTrue(cookie.isHttpOnly());
+    }
+
+    // ===============================================================
+    // TC-RYW-002: Ghi không có body - cookie vẫn được đặt sau filter chain
+    // ===============================================================
+    @Test
+    public void testWriteWithoutBody_SetsPinCookie() throws Exception {
+        signIn();
+
+        MockHttpServletResponse response = run(new MockHttpServletRequest("DELETE", "/cart/1"), (req, res) -> { });
+
+        assertNotNull(response.getCookie(ReadYourWritesFilter.PIN_COOKIE));
+    }
+
+    // ===============================================================
+    // TC-RYW-003: Ghi thất bại hoặc người dùng ẩn danh - không ghim
+    // ===============================================================
+    @Test
+    public void testFailedOrAnonymousWrite_DoesNotPin() throws Exception {
+        MockHttpServletResponse anonymous = run(new MockHttpServletRequest("POST", "/cart"), writeBody(200));
+        signIn();
+        MockHttpServletResponse failed = run(new MockHttpServletRequest("POST", "/cart"), writeBody(400));
+
+        assertNull(anonymous.getCookie(ReadYourWritesFilter.PIN_COOKIE));
+        assertNull(failed.getCookie(ReadYourWritesFilter.PIN_COOKIE));
+    }
+
+    // ===============================================================
+    // TC-RYW-004: Đọc với cookie còn hạn - đi primary, hết hạn - đi replica
+    // ===============================================================
+    @Test
+    public void testRead_HonoursPinCookieFromAnyInstance() throws Exception {
+        signIn();
+        long now = System.currentTimeMillis();
+
+        MockHttpServletRequest pinned = new MockHttpServletRequest("GET", "/cart");
+        pinned.setCookies(new Cookie(ReadYourWritesFilter.PIN_COOKIE, String.valueOf(now + 5000)));
+        run(pinned, recordRouting());
+        assertTrue(primaryOnly.get());
+        assertFalse(ReplicaRoutingDataSource.isPrimaryOnly());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/cart");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.PIN_COOKIE, String.valueOf(now - 1)));
+        run(expired, recordRouting());
+        assertFalse(primaryOnly.get());
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/cart");
+        malformed.setCookies(new Cookie(ReadYourWritesFilter.PIN_COOKIE, "soon"));
+        run(malformed, recordRouting());
+        assertFalse(primaryOnly.get());
+    }
+}
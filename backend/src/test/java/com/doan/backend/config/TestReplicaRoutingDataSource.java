@@ -0,0 +1,110 @@
+package com.doan.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+public class TestReplicaRoutingDataSource {
+
+    private DataSource primary;
+    private HikariDataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ResultSet replicaStatus;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setup() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(HikariDataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        replicaStatus = mock(ResultSet.class);
+        Statement statement = mock(Statement.class);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getPoolName()).thenReturn("replica-1");
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(replicaStatus);
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), 5);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void cleanup() {
+        setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.setPrimaryOnly(false);
+    }
+
+    // ===============================================================
+    // TC-RR-001: Transaction đọc - replica khỏe, không có trạng thái replication
+    // ===============================================================
+    @Test
+    public void testReadOnly_RoutesToHealthyReplica() throws Exception {
+        when(replicaStatus.next()).thenReturn(false);
+        routing.checkReplicas();
+
+        setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    // ===============================================================
+    // TC-RR-002: Transaction ghi - luôn vào primary
+    // ===============================================================
+    @Test
+    public void testReadWrite_RoutesToPrimary() throws Exception {
+        when(replicaStatus.next()).thenReturn(false);
+        routing.checkReplicas();
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    // ===============================================================
+    // TC-RR-003: Replica trễ quá ngưỡng - đọc quay về primary
+    // ===============================================================
+    @Test
+    public void testLaggingReplica_FallsBackToPrimary() throws Exception {
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(30L);
+        routing.checkReplicas();
+
+        setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    // ===============================================================
+    // TC-RR-004: User vừa ghi - đọc của user đó dính vào primary, kể cả trên worker thread
+    // ===============================================================
+    @Test
+    public void testPinnedUser_ReadsFromPrimary() throws Exception {
+        when(replicaStatus.next()).thenReturn(false);
+        routing.checkReplicas();
+
+        ReplicaRoutingDataSource.setPrimaryOnly(true);
+        Supplier<Boolean> pinned = ReplicaRoutingDataSource.propagate(ReplicaRoutingDataSource::isPrimaryOnly);
+        ReplicaRoutingDataSource.setPrimaryOnly(false);
+        setCurrentTransactionReadOnly(true);
+
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPrimaryOnly());
+        ReplicaRoutingDataSource.setPrimaryOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+}
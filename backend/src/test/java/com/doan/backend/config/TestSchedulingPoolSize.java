@@ -0,0 +1,36 @@
+package com.doan.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSchedulingPoolSize {
+
+    // ===============================================================
+    // TC-SC-001: Mỗi job @Scheduled có một luồng riêng trong scheduler pool
+    // ===============================================================
+    @Test
+    public void testPoolSize_CoversEveryScheduledJob() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(true);
+        long jobs = 0;
+        for (BeanDefinition bean : scanner.findCandidateComponents("com.doan.backend")) {
+            Method[] methods = Class.forName(bean.getBeanClassName()).getDeclaredMethods();
+            jobs += Arrays.stream(methods).filter(method -> method.isAnnotationPresent(Scheduled.class)).count();
+        }
+
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        int poolSize = Integer.parseInt(properties.getProperty("spring.task.scheduling.pool.size"));
+
+        assertTrue(jobs > 0);
+        assertTrue(poolSize >= jobs, "spring.task.scheduling.pool.size=" + poolSize + " but there are " + jobs + " @Scheduled jobs");
+    }
+}
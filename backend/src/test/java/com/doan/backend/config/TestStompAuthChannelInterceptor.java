@@ -0,0 +1,102 @@
+package com.doan.backend.config;
+
+import com.doan.backend.services.CustomUserDetailService;
+import com.doan.backend.services.InventoryEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TestStompAuthChannelInterceptor {
+
+    private StompAuthChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setup() {
+        interceptor = new StompAuthChannelInterceptor(mock(JwtTokenProvider.class), mock(CustomUserDetailService.class));
+    }
+
+    private Message<?> subscribe(String destination, String role) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        if (role != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken("user@example.com", null,
+                    List.of(new SimpleGrantedAuthority(role))));
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<?> send(Message<?> message) {
+        return interceptor.preSend(message, mock(MessageChannel.class));
+    }
+
+    // ===============================================================
+    // TC-WS-001: Khách hàng đăng ký topic thường và user queue - được chấp nhận
+    // ===============================================================
+    @Test
+    public void testSubscribe_CustomerAllowedOnOwnDestinations() {
+        Message<?> topic = subscribe("/topic/products", "ROLE_CUSTOMER");
+        Message<?> queue = subscribe("/user/queue/order/order-001", "ROLE_CUSTOMER");
+
+        assertSame(topic, send(topic));
+        assertSame(queue, send(queue));
+    }
+
+    // ===============================================================
+    // TC-WS-002: Khách hàng đăng ký topic admin - bị từ chối
+    // ===============================================================
+    @Test
+    public void testSubscribe_CustomerRejectedOnAdminTopic() {
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/admin/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/admin/orders", null)));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe(InventoryEventService.LOW_STOCK_TOPIC, "ROLE_CUSTOMER")));
+    }
+
+    // ===============================================================
+    // TC-WS-003: Đường dẫn không chuẩn trỏ tới topic admin hoặc /queue - bị từ chối
+    // ===============================================================
+    @Test
+    public void testSubscribe_NormalisesBeforeChecking() {
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic//admin/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/./admin/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/products/../admin/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("//queue/order-001-user1", "ROLE_CUSTOMER")));
+    }
+
+    // ===============================================================
+    // TC-WS-004: Khách hàng đăng ký đích có wildcard - bị từ chối
+    // ===============================================================
+    @Test
+    public void testSubscribe_CustomerRejectedOnWildcards() {
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/**", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/*/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/{section}/orders", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/user/queue/**", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/?dmin/dashboard", "ROLE_CUSTOMER")));
+        assertThrows(MessageDeliveryException.class, () -> send(subscribe("/topic/chatRoom/????????-0000", "ROLE_CUSTOMER")));
+    }
+
+    // ===============================================================
+    // TC-WS-005: Admin đăng ký topic admin và wildcard - được chấp nhận
+    // ===============================================================
+    @Test
+    public void testSubscribe_AdminAllowed() {
+        Message<?> adminTopic = subscribe("/topic/admin/orders", "ROLE_ADMIN");
+        Message<?> wildcard = subscribe("/topic/admin/**", "ROLE_ADMIN");
+
+        assertSame(adminTopic, send(adminTopic));
+        assertSame(wildcard, send(wildcard));
+    }
+}
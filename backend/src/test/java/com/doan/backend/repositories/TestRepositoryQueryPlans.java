@@ -0,0 +1,321 @@
+package com.doan.backend.repositories;
+
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.StatusEnum;
+import com.doan.backend.services.DashboardMetricsService;
+import com.doan.backend.services.OrderExpiryService;
+import com.doan.backend.services.OutboxDispatcher;
+import com.doan.backend.services.SearchIndexService;
+import com.doan.backend.services.ShipmentSyncService;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Calls each hot repository query, and the JDBC statements of the schedulers, against a
+// local MySQL migrated by Flyway, captures the SQL and parameters that reach the driver and
+// runs EXPLAIN on exactly that, e.g.
+// EXPLAIN_DB_URL=jdbc:mysql://localhost:3306/backend EXPLAIN_DB_USERNAME=root EXPLAIN_DB_PASSWORD=... mvn test
+// A table read with type ALL and no usable index counts as a scan; small tables may still be
+// scanned by choice, so a scan with a candidate index does not. The LIKE fallbacks of the admin
+// searches match anywhere in the column and may scan the table they filter, but only that one.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+public class TestRepositoryQueryPlans {
+
+    private static final Pageable PAGE = PageRequest.of(1, 20);
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private static final List<Captured> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+
+    @DynamicPropertySource
+    static void explainDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("EXPLAIN_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("EXPLAIN_DB_USERNAME"));
+        registry.add("spring.datasource.password", () -> System.getenv("EXPLAIN_DB_PASSWORD"));
+    }
+
+    @TestConfiguration
+    static class CaptureStatements {
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+                            ? new CapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired DataSource dataSource;
+    @Autowired CartRepository cartRepository;
+    @Autowired CartItemRepository cartItemRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired ChatRoomUserRepository chatRoomUserRepository;
+    @Autowired DiscountRepository discountRepository;
+    @Autowired InvoiceRepository invoiceRepository;
+    @Autowired MessageRepository messageRepository;
+    @Autowired OrderItemRepository orderItemRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired ProductInventoryRepository productInventoryRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired PromotionProductRepository promotionProductRepository;
+    @Autowired PromotionRepository promotionRepository;
+    @Autowired ReviewRepository reviewRepository;
+    @Autowired ShipmentRepository shipmentRepository;
+    @Autowired UserDiscountRepository userDiscountRepository;
+    @Autowired UserRepository userRepository;
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                indexed("CartRepository.findByUserId", t -> t.cartRepository.findByUserId("u")),
+                indexed("CartItemRepository.findByCartId", t -> t.cartItemRepository.findByCartId("c")),
+                indexed("ProductInventoryRepository.findByProductIdAndSizeId",
+                        t -> t.productInventoryRepository.findByProductIdAndSizeId("p", "s")),
+                indexed("ProductInventoryRepository.decrementQuantity",
+                        t -> t.productInventoryRepository.decrementQuantity("i", 1)),
+                indexed("ProductInventoryRepository.findListingsByProductId",
+                        t -> t.productInventoryRepository.findListingsByProductId("p")),
+                indexed("PromotionProductRepository.findActivePromotionByProductId",
+                        t -> t.promotionProductRepository.findActivePromotionByProductId("p", NOW)),
+                indexed("PromotionRepository.findActiveApplyToAllPromotion",
+                        t -> t.promotionRepository.findActiveApplyToAllPromotion(NOW)),
+                indexed("ProductRepository.searchProductListings by category",
+                        t -> t.productRepository.searchProductListings(null, "c", null, null, StatusEnum.DELETED, PAGE)),
+                indexed("ProductRepository.refreshPricingByProductId",
+                        t -> t.productRepository.refreshPricingByProductId("p", NOW)),
+                indexed("OrderRepository.findSummariesByUserId", t -> t.orderRepository.findSummariesByUserId("u", PAGE)),
+                indexed("OrderRepository.findByUserIdAndStatus",
+                        t -> t.orderRepository.findByUserIdAndStatus("u", OrderStatusEnum.PENDING)),
+                indexed("OrderRepository.findDetailByIdAndUserId", t -> t.orderRepository.findDetailByIdAndUserId("o", "u")),
+                indexed("OrderRepository.existsByIdAndUserId", t -> t.orderRepository.existsByIdAndUserId("o", "u")),
+                indexed("OrderRepository.findByIdForUpdate", t -> t.orderRepository.findByIdForUpdate("o")),
+                indexed("OrderItemRepository.getProductRevenue",
+                        t -> t.orderItemRepository.getProductRevenue(NOW.minusMonths(1), NOW)),
+                indexed("InvoiceRepository.findByOrderId", t -> t.invoiceRepository.findByOrderId("o")),
+                indexed("InvoiceRepository.findByInvoiceNumberStartingWith",
+                        t -> t.invoiceRepository.findByInvoiceNumberStartingWith("INV", PAGE)),
+                indexed("ReviewRepository.calculateAverageRatingByProductId",
+                        t -> t.reviewRepository.calculateAverageRatingByProductId("p")),
+                indexed("UserRepository.findByVerificationToken", t -> t.userRepository.findByVerificationToken("t")),
+                indexed("UserDiscountRepository.findUsedDiscountIdsByUserId",
+                        t -> t.userDiscountRepository.findUsedDiscountIdsByUserId("u")),
+                indexed("UserDiscountRepository.reclaimUserDiscount",
+                        t -> t.userDiscountRepository.reclaimUserDiscount("u", "d")),
+                indexed("DiscountRepository.findByExpiryDateAfter", t -> t.discountRepository.findByExpiryDateAfter(NOW)),
+                indexed("CategoryRepository.findByNameAndStatusNot",
+                        t -> t.categoryRepository.findByNameAndStatusNot("n", StatusEnum.DELETED)),
+                indexed("ChatRoomUserRepository.existsByChatRoomIdAndUserId",
+                        t -> t.chatRoomUserRepository.existsByChatRoomIdAndUserId("c", "u")),
+                indexed("MessageRepository.findLatestByChatRoomId",
+                        t -> t.messageRepository.findLatestByChatRoomId("c", PageRequest.of(0, 50))),
+                indexed("MessageRepository.findByChatRoomIdBefore",
+                        t -> t.messageRepository.findByChatRoomIdBefore("c", NOW, "m", PageRequest.of(0, 50))),
+                indexed("ShipmentRepository.findByOrderIdOrderByCreatedAtDesc",
+                        t -> t.shipmentRepository.findByOrderIdOrderByCreatedAtDesc("o")),
+
+                // Admin searches on the full-text indexes
+                indexed("DiscountRepository.searchByCode",
+                        t -> t.discountRepository.searchByCode(SearchIndexService.phrase("sale"), "sale", PAGE)),
+                indexed("PromotionRepository.searchByName",
+                        t -> t.promotionRepository.searchByName(SearchIndexService.phrase("summer"), "summer", PAGE)),
+                indexed("UserRepository.searchByName",
+                        t -> t.userRepository.searchByName(SearchIndexService.phrase("nguyen"), "nguyen", StatusEnum.DELETED, PAGE)),
+                indexed("InvoiceRepository.searchByCustomerEmail",
+                        t -> t.invoiceRepository.searchByCustomerEmail(SearchIndexService.phrase("gmail"), "gmail", PAGE)),
+                indexed("OrderRepository.searchOrdersForAdminByEmail",
+                        t -> t.orderRepository.searchOrdersForAdminByEmail(null, SearchIndexService.phrase("gmail"), "gmail", null, PAGE)),
+
+                // LIKE fallbacks for terms shorter than the ngram size or a missing full-text index
+                likeFallback("DiscountRepository.findByCodeContaining", t -> t.discountRepository.findByCodeContaining("a", PAGE)),
+                likeFallback("PromotionRepository.findByNameContaining", t -> t.promotionRepository.findByNameContaining("a", PAGE)),
+                likeFallback("UserRepository.findByNameContainingIgnoreCaseAndStatusNot",
+                        t -> t.userRepository.findByNameContainingIgnoreCaseAndStatusNot("a", StatusEnum.DELETED, PAGE)),
+                likeFallback("CategoryRepository.findByNameContainingIgnoreCaseAndStatusNot",
+                        t -> t.categoryRepository.findByNameContainingIgnoreCaseAndStatusNot("a", StatusEnum.DELETED, PAGE)),
+                likeFallback("InvoiceRepository.findByAllSearchEmail", t -> t.invoiceRepository.findByAllSearchEmail("a", PAGE)),
+                likeFallback("OrderRepository.findOrdersForAdmin", t -> t.orderRepository.findOrdersForAdmin("a", "a", null, PAGE)),
+                likeFallback("ProductRepository.searchProductListings by name",
+                        t -> t.productRepository.searchProductListings("a", null, null, null, StatusEnum.DELETED, PAGE)),
+
+                // JDBC statements of the schedulers
+                indexed("OrderExpiryService.SELECT_CANDIDATES", t -> t.named(OrderExpiryService.class, "SELECT_CANDIDATES",
+                        new MapSqlParameterSource()
+                                .addValue("pending", OrderStatusEnum.PENDING.ordinal())
+                                .addValue("expiredBefore", Timestamp.valueOf(NOW))
+                                .addValue("afterCreatedAt", Timestamp.valueOf(NOW.minusDays(1)))
+                                .addValue("afterId", "")
+                                .addValue("limit", 200))),
+                indexed("ShipmentSyncService.SELECT_DUE", t -> t.named(ShipmentSyncService.class, "SELECT_DUE",
+                        new MapSqlParameterSource()
+                                .addValue("now", Timestamp.valueOf(NOW))
+                                .addValue("limit", 100))),
+                indexed("OutboxDispatcher.CLAIM", t -> t.positional(OutboxDispatcher.class, "CLAIM",
+                        Timestamp.valueOf(NOW), Timestamp.valueOf(NOW), 50)),
+                indexed("DashboardMetricsService.COUNT_ORDERS_SINCE", t -> t.positional(DashboardMetricsService.class,
+                        "COUNT_ORDERS_SINCE", Timestamp.valueOf(NOW.toLocalDate().atStartOfDay()))),
+                indexed("DashboardMetricsService.SUM_PAID_SINCE", t -> t.positional(DashboardMetricsService.class,
+                        "SUM_PAID_SINCE", Timestamp.valueOf(NOW.toLocalDate().atStartOfDay())))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesAnIndex(String repositoryQuery, int allowedScans, Call call) throws Exception {
+        CAPTURED.clear();
+        call.run(this);
+        List<Captured> statements = new ArrayList<>(CAPTURED);
+        assertFalse(statements.isEmpty(), repositoryQuery + " ran no SQL");
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            for (Captured captured : statements) {
+                List<String> fullScans = new ArrayList<>();
+                List<String> plan = new ArrayList<>();
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + captured.sql())) {
+                    for (Map.Entry<Integer, Object> parameter : captured.parameters().entrySet()) {
+                        explain.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                    try (ResultSet rs = explain.executeQuery()) {
+                        while (rs.next()) {
+                            String table = rs.getString("table");
+                            plan.add(table + " type=" + rs.getString("type") + " key=" + rs.getString("key"));
+                            if ("ALL".equals(rs.getString("type")) && rs.getString("possible_keys") == null
+                                    && table != null && !table.startsWith("<")) {
+                                fullScans.add(table);
+                            }
+                        }
+                    }
+                }
+                assertTrue(fullScans.size() <= allowedScans,
+                        repositoryQuery + " scans " + fullScans + ": " + captured.sql() + " " + plan);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static Arguments indexed(String name, Call call) {
+        return Arguments.of(name, 0, call);
+    }
+
+    private static Arguments likeFallback(String name, Call call) {
+        return Arguments.of(name, 1, call);
+    }
+
+    private void named(Class<?> owner, String field, MapSqlParameterSource parameters) throws Exception {
+        new NamedParameterJdbcTemplate(dataSource).queryForList(sql(owner, field), parameters);
+    }
+
+    private void positional(Class<?> owner, String field, Object... parameters) throws Exception {
+        new JdbcTemplate(dataSource).queryForList(sql(owner, field), parameters);
+    }
+
+    private static String sql(Class<?> owner, String field) throws Exception {
+        Field constant = owner.getDeclaredField(field);
+        constant.setAccessible(true);
+        return (String) constant.get(null);
+    }
+
+    @FunctionalInterface
+    interface Call {
+        void run(TestRepositoryQueryPlans test) throws Exception;
+    }
+
+    record Captured(String sql, Map<Integer, Object> parameters) {
+    }
+
+    // Records every prepared statement executed through the application's DataSource together
+    // with the parameters bound to it.
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capture(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capture(super.getConnection(username, password));
+        }
+
+        private static Connection capture(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return capture(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute") && args == null) {
+                            CAPTURED.add(new Captured(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.User;
+import com.doan.backend.repositories.OrderRepository;
+import com.doan.backend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceIsCurrentUserTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @Mock
+    private UserDetails userDetails;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void signIn(String email, String userId) {
+        User user = User.builder()
+                .email(email)
+                .build();
+        user.setId(userId);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn(email);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    void isCurrentUser_ShouldReturnTrue_WhenUserIdIsCaller() {
+        signIn("test@example.com", "user-001");
+
+        assertTrue(authService.isCurrentUser("user-001"));
+    }
+
+    @Test
+    void isCurrentUser_ShouldReturnFalse_WhenUserIdIsAnotherUser() {
+        signIn("test@example.com", "user-001");
+
+        assertFalse(authService.isCurrentUser("user-002"));
+    }
+
+    @Test
+    void isOrderOwner_ShouldReturnTrue_WhenOrderBelongsToCaller() {
+        signIn("test@example.com", "user-001");
+        when(orderRepository.existsByIdAndUserId("order-001", "user-001")).thenReturn(true);
+
+        assertTrue(authService.isOrderOwner("order-001"));
+    }
+
+    @Test
+    void isOrderOwner_ShouldReturnFalse_WhenOrderBelongsToAnotherUser() {
+        signIn("test@example.com", "user-001");
+        when(orderRepository.existsByIdAndUserId("order-002", "user-001")).thenReturn(false);
+
+        assertFalse(authService.isOrderOwner("order-002"));
+    }
+}
@@ -259,7 +259,7 @@ public class ProductServiceTest {
     @Test
     void testSearchProductsWithPaging_TC14() {
         assertDoesNotThrow(() -> {
-            Page<ProductResponse> page = productService.searchProducts("Test Category", null, PageRequest.of(0, 10)).getResult();
+            Page<ProductResponse> page = productService.searchProducts("Test Category", null, null, null, PageRequest.of(0, 10)).getResult();
             assertNotNull(page);
             assertTrue(page.getContent().stream().anyMatch(p -> p.getName().contains("Test")));
 
@@ -270,7 +270,7 @@ public class ProductServiceTest {
     @Test
     void testSearchProductsWithInvalidName_TC15() {
         assertDoesNotThrow(() -> {
-            Page<ProductResponse> page = productService.searchProducts("NoSuchName", null, PageRequest.of(0, 10)).getResult();
+            Page<ProductResponse> page = productService.searchProducts("NoSuchName", null, null, null, PageRequest.of(0, 10)).getResult();
             assertEquals(page.getContent().size(), productRepository.findAll().size());
         });
     }
@@ -279,7 +279,7 @@ public class ProductServiceTest {
     @Test
     void testSearchProductsWithInvalidCategory_TC16() {
         assertDoesNotThrow(() -> {
-            Page<ProductResponse> page = productService.searchProducts(null, "invalid-category", PageRequest.of(0, 10)).getResult();
+            Page<ProductResponse> page = productService.searchProducts(null, "invalid-category", null, null, PageRequest.of(0, 10)).getResult();
             assertTrue(page.getContent().isEmpty());
         });
     }
@@ -287,13 +287,13 @@ public class ProductServiceTest {
     // TC17 - Tìm kiếm Product với pageable null
     @Test
     void testSearchProductsWithNullPageable_TC17() {
-        assertThrows(RuntimeException.class, () -> productService.searchProducts("Test", null, null));
+        assertThrows(RuntimeException.class, () -> productService.searchProducts("Test", null, null, null, null));
     }
 
     // TC18 - Tìm kiếm Product với page size = 0
     @Test
     void testSearchProductsWithZeroPageSize_TC18() {
-        assertThrows(RuntimeException.class, () -> productService.searchProducts("Test", null, PageRequest.of(0, 0)));
+        assertThrows(RuntimeException.class, () -> productService.searchProducts("Test", null, null, null, PageRequest.of(0, 0)));
     }
 
     // TC19 - Áp dụng Promotion cho Product
@@ -0,0 +1,155 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.CacheRegion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestCacheInvalidationService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<CacheInvalidationListener> listeners;
+
+    @Mock
+    private CacheInvalidationListener listener;
+
+    @InjectMocks
+    private CacheInvalidationService cacheInvalidationService;
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(cacheInvalidationService, "batchSize", 500);
+        ReflectionTestUtils.setField(cacheInvalidationService, "gapTimeoutMs", 5000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows() {
+        lenient().when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        lenient().when(listener.supports(any())).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong(), anyInt())).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            long after = invocation.getArgument(2);
+            List<Object> mapped = new ArrayList<>();
+            for (Object[] row : rows) {
+                if ((Long) row[0] > after) {
+                    mapped.add(mapper.mapRow(resultSet(row), mapped.size()));
+                }
+            }
+            return mapped;
+        });
+    }
+
+    private ResultSet resultSet(Object[] row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn((Long) row[0]);
+        when(rs.getString("region")).thenReturn((String) row[1]);
+        when(rs.getString("cache_key")).thenReturn((String) row[2]);
+        when(rs.getString("origin")).thenReturn((String) row[3]);
+        return rs;
+    }
+
+    private String ownOrigin() {
+        return (String) ReflectionTestUtils.getField(cacheInvalidationService, "origin");
+    }
+
+    // ===============================================================
+    // TC-CI-001: Lần poll đầu tiên chỉ ghi nhận id lớn nhất, không xử lý lịch sử
+    // ===============================================================
+    @Test
+    public void testPoll_StartsFromCurrentMaxId() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L);
+        rows.add(new Object[]{8L, "DISCOUNTS", "discount-001", "other"});
+        stubRows();
+
+        cacheInvalidationService.poll();
+        verifyNoInteractions(listener);
+
+        cacheInvalidationService.poll();
+        verify(listener).evict(CacheRegion.DISCOUNTS, "discount-001");
+    }
+
+    // ===============================================================
+    // TC-CI-002: Bỏ qua thay đổi do chính máy này ghi
+    // ===============================================================
+    @Test
+    public void testPoll_SkipsOwnOrigin() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        rows.add(new Object[]{1L, "DISCOUNTS", "discount-001", ownOrigin()});
+        rows.add(new Object[]{2L, "PRODUCTS", "product-001", "other"});
+        stubRows();
+
+        cacheInvalidationService.poll();
+        cacheInvalidationService.poll();
+
+        verify(listener, never()).evict(CacheRegion.DISCOUNTS, "discount-001");
+        verify(listener).evict(CacheRegion.PRODUCTS, "product-001");
+    }
+
+    // ===============================================================
+    // TC-CI-003: Có khoảng trống id - chờ, rồi xử lý khi id còn thiếu xuất hiện
+    // ===============================================================
+    @Test
+    public void testPoll_WaitsForGapToFill() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        rows.add(new Object[]{2L, "PRODUCTS", "product-002", "other"});
+        stubRows();
+
+        cacheInvalidationService.poll();
+        cacheInvalidationService.poll();
+        verify(listener, never()).evict(any(), any());
+
+        rows.add(0, new Object[]{1L, "PRODUCTS", "product-001", "other"});
+        cacheInvalidationService.poll();
+
+        verify(listener).evict(CacheRegion.PRODUCTS, "product-001");
+        verify(listener).evict(CacheRegion.PRODUCTS, "product-002");
+    }
+
+    // ===============================================================
+    // TC-CI-004: Khoảng trống quá thời gian chờ - bỏ qua và xử lý tiếp
+    // ===============================================================
+    @Test
+    public void testPoll_SkipsGapAfterTimeout() {
+        ReflectionTestUtils.setField(cacheInvalidationService, "gapTimeoutMs", 0L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        rows.add(new Object[]{2L, "PRODUCTS", "product-002", "other"});
+        stubRows();
+
+        cacheInvalidationService.poll();
+        cacheInvalidationService.poll();
+
+        verify(listener).evict(CacheRegion.PRODUCTS, "product-002");
+    }
+
+    // ===============================================================
+    // TC-CI-005: Ghi thay đổi kèm origin của máy hiện tại
+    // ===============================================================
+    @Test
+    public void testBroadcast_RecordsOrigin() {
+        cacheInvalidationService.broadcast(CacheRegion.DISCOUNTS, "discount-001");
+
+        verify(jdbcTemplate).update(anyString(), eq("DISCOUNTS"), eq("discount-001"), eq(ownOrigin()), any());
+    }
+}
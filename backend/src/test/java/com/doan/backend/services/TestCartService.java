@@ -66,6 +66,9 @@ public class TestCartService {
     @Mock
     private CartMapper cartMapper;
 
+    @Mock
+    private ProductListingService productListingService;
+
 
 
     @Test
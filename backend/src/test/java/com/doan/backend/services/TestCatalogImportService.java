@@ -0,0 +1,187 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.CatalogImportResponse;
+import com.doan.backend.entity.CatalogImportJob;
+import com.doan.backend.enums.CatalogFormat;
+import com.doan.backend.enums.ImportJobStatus;
+import com.doan.backend.repositories.CatalogImportJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestCatalogImportService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CatalogImportJobRepository catalogImportJobRepository;
+
+    @Mock
+    private ProductPricingService productPricingService;
+
+    private CatalogImportService catalogImportService;
+
+    @BeforeEach
+    void setup() {
+        catalogImportService = new CatalogImportService(jdbcTemplate, transactionManager, catalogImportJobRepository,
+                productPricingService, new ObjectMapper(), 2, 100);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("name")).thenReturn("M");
+            when(rs.getString("id")).thenReturn("size-m");
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(eq("SELECT id, name FROM sizes"), any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForList("SELECT id FROM categories", String.class)).thenReturn(List.of("cat-1"));
+        when(catalogImportJobRepository.save(any(CatalogImportJob.class))).thenAnswer(invocation -> {
+            CatalogImportJob job = invocation.getArgument(0);
+            job.setId("job-1");
+            return job;
+        });
+    }
+
+    private ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ===============================================================
+    // TC-CI-001: Import CSV hợp lệ - ghi theo lô, báo lỗi từng dòng sai
+    // ===============================================================
+    @Test
+    public void testImportCsv_ValidAndInvalidRows() {
+        String csv = "sku,name,price,categoryId,inventory,images\n" +
+                "SKU-1,Áo thun,100000,cat-1,M:10,https://img/1.jpg\n" +
+                "SKU-2,Quần,abc,cat-1,,\n" +
+                "SKU-3,Mũ,50000,cat-9,,\n" +
+                "SKU-4,Váy,200000,cat-1,XL:1,\n" +
+                "SKU-1,Trùng,1,cat-1,,\n" +
+                "SKU-5,Giày,300000,cat-1,M:2|M:3,\n";
+
+        CatalogImportResponse result = catalogImportService.importCatalog(input(csv), CatalogFormat.CSV, null).getResult();
+
+        assertEquals(ImportJobStatus.COMPLETED, result.getStatus());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(6, result.getLastCommittedLine());
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.getErrors().stream().map(e -> e.getLine()).toList());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO products"), anyList(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(productPricingService).refreshAll();
+    }
+
+    // ===============================================================
+    // TC-CI-002: Tiếp tục job dang dở - bỏ qua các dòng đã commit
+    // ===============================================================
+    @Test
+    public void testImportNdjson_ResumeFromCheckpoint() {
+        CatalogImportJob job = CatalogImportJob.builder().id("job-1").status(ImportJobStatus.FAILED)
+                .lastCommittedLine(1L).imported(1L).failed(0L).build();
+        when(catalogImportJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        String ndjson = "{\"sku\":\"SKU-1\",\"name\":\"A\",\"price\":1,\"categoryId\":\"cat-1\"}\n" +
+                "\n" +
+                "{\"sku\":\"SKU-2\",\"name\":\"B\",\"price\":2,\"categoryId\":\"cat-1\"}\n" +
+                "{not json\n";
+
+        CatalogImportResponse result = catalogImportService.importCatalog(input(ndjson), CatalogFormat.NDJSON, "job-1").getResult();
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getLastCommittedLine());
+        assertEquals(3L, result.getErrors().getFirst().getLine());
+    }
+
+    // ===============================================================
+    // TC-CI-003: Job đã hoàn thành - không cho import lại
+    // ===============================================================
+    @Test
+    public void testImport_CompletedJobRejected() {
+        CatalogImportJob job = CatalogImportJob.builder().id("job-1").status(ImportJobStatus.COMPLETED)
+                .lastCommittedLine(10L).imported(10L).failed(0L).build();
+        when(catalogImportJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> catalogImportService.importCatalog(input(""), CatalogFormat.CSV, "job-1"));
+        assertEquals("Import job already completed", ex.getMessage());
+    }
+
+    // ===============================================================
+    // TC-CI-004: Sản phẩm không có SKU (khóa "id:") - tạo lại đúng id, SKU để trống
+    // ===============================================================
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImport_IdKeyKeepsProductIdWithoutSku() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        // The chunk list is cleared after commit, so the row is bound while the batch runs.
+        doAnswer(invocation -> {
+            List<Object> rows = invocation.getArgument(1);
+            invocation.<ParameterizedPreparedStatementSetter<Object>>getArgument(3).setValues(ps, rows.getFirst());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO products"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        String csv = "sku,name,price,categoryId\n" +
+                "id:prod-9,Khăn,10000,cat-1\n" +
+                "id:,Trống,1,cat-1\n";
+
+        CatalogImportResponse result = catalogImportService.importCatalog(input(csv), CatalogFormat.CSV, null).getResult();
+
+        assertEquals(1, result.getImported());
+        assertEquals("SKU is required", result.getErrors().getFirst().getMessage());
+        verify(ps).setString(1, "prod-9");
+        verify(ps).setString(2, null);
+    }
+
+    // ===============================================================
+    // TC-CI-005: Lô lỗi, ghi từng dòng - mỗi dòng commit cùng checkpoint của nó
+    // ===============================================================
+    @Test
+    public void testImport_RowFallbackCheckpointsEachRow() {
+        doAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(1);
+            if (rows.size() > 1 || invocation.<Integer>getArgument(2) == 1 && rows.toString().contains("SKU-2")) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO products"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        String csv = "sku,name,price,categoryId\n" +
+                "SKU-1,A,1,cat-1\n" +
+                "SKU-X,Lỗi,-1,cat-1\n" +
+                "SKU-2,B,2,cat-1\n";
+
+        CatalogImportResponse result = catalogImportService.importCatalog(input(csv), CatalogFormat.CSV, null).getResult();
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE catalog_import_jobs"), eq(1L), eq(1L), eq(0L), eq("RUNNING"), any(), eq("job-1"));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE catalog_import_jobs"), eq(3L), eq(1L), eq(2L), eq("RUNNING"), any(), eq("job-1"));
+    }
+}
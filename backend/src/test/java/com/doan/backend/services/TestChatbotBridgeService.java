@@ -0,0 +1,132 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.ChatTypingResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestChatbotBridgeService {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private ChatbotBridgeService chatbotBridgeService;
+
+    @AfterEach
+    void tearDown() {
+        chatbotBridgeService.shutdown();
+    }
+
+    // ===============================================================
+    // TC-CB-001: Bot trả lời - reply được gửi về và typing bật/tắt
+    // ===============================================================
+    @Test
+    public void testSubmit_DeliversReplyAndTyping() throws InterruptedException {
+        chatbotBridgeService = new ChatbotBridgeService(new StubChatbotClient(0), messagingTemplate, 1, 10, 1000);
+        List<String> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        chatbotBridgeService.submit("room-1", "xin chào", reply -> {
+            replies.add(reply);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("Bot: xin chào"), replies);
+        verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/chatRoom/room-1/typing"), eq(new ChatTypingResponse("room-1", true)));
+        verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/chatRoom/room-1/typing"), eq(new ChatTypingResponse("room-1", false)));
+    }
+
+    // ===============================================================
+    // TC-CB-002: Bot quá thời gian chờ - trả về câu trả lời mặc định
+    // ===============================================================
+    @Test
+    public void testSubmit_TimeoutFallsBack() throws InterruptedException {
+        chatbotBridgeService = new ChatbotBridgeService(new StubChatbotClient(2000), messagingTemplate, 1, 10, 100);
+        List<String> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        chatbotBridgeService.submit("room-1", "xin chào", reply -> {
+            replies.add(reply);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(ChatbotBridgeService.FALLBACK_REPLY), replies);
+    }
+
+    // ===============================================================
+    // TC-CB-003: Hàng đợi đầy - từ chối ngay, không chặn luồng gọi
+    // ===============================================================
+    @Test
+    public void testSubmit_QueueFullRejectsImmediately() {
+        chatbotBridgeService = new ChatbotBridgeService(new StubChatbotClient(2000), messagingTemplate, 1, 1, 5000);
+        List<String> replies = new CopyOnWriteArrayList<>();
+
+        chatbotBridgeService.submit("room-1", "1", replies::add);
+        chatbotBridgeService.submit("room-2", "2", replies::add);
+        chatbotBridgeService.submit("room-3", "3", replies::add);
+
+        assertEquals(List.of(ChatbotBridgeService.FALLBACK_REPLY), replies);
+    }
+
+    // ===============================================================
+    // TC-CB-004: Nhân viên vào phòng - huỷ yêu cầu bot đang chờ
+    // ===============================================================
+    @Test
+    public void testCancel_DropsPendingReply() throws InterruptedException {
+        chatbotBridgeService = new ChatbotBridgeService(new StubChatbotClient(300), messagingTemplate, 1, 10, 5000);
+        List<String> replies = new CopyOnWriteArrayList<>();
+
+        chatbotBridgeService.submit("room-1", "xin chào", replies::add);
+        chatbotBridgeService.cancel("room-1");
+
+        Thread.sleep(600);
+        assertTrue(replies.isEmpty());
+        verify(messagingTemplate).convertAndSend(eq("/topic/chatRoom/room-1/typing"), eq(new ChatTypingResponse("room-1", false)));
+    }
+
+    // ===============================================================
+    // TC-CB-005: Huỷ yêu cầu đang chạy - giải phóng luồng cho phòng khác
+    // ===============================================================
+    @Test
+    public void testCancel_FreesWorker() throws InterruptedException {
+        ChatbotClient slowFirst = userInput -> {
+            if (userInput.equals("chậm")) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            return "Bot: " + userInput;
+        };
+        chatbotBridgeService = new ChatbotBridgeService(slowFirst, messagingTemplate, 1, 10, 30_000);
+        List<String> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        chatbotBridgeService.submit("room-1", "chậm", replies::add);
+        Thread.sleep(100);
+        chatbotBridgeService.cancel("room-1");
+        chatbotBridgeService.submit("room-2", "xin chào", reply -> {
+            replies.add(reply);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("Bot: xin chào"), replies);
+    }
+}
@@ -0,0 +1,138 @@
+package com.doan.backend.services;
+
+import com.doan.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestCheckoutAdmissionService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InventoryEventService inventoryEventService;
+
+    @InjectMocks
+    private CheckoutAdmissionService checkoutAdmissionService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        ReflectionTestUtils.setField(checkoutAdmissionService, "hotThreshold", 2);
+        ReflectionTestUtils.setField(checkoutAdmissionService, "hotCooldownMs", 10_000L);
+        ReflectionTestUtils.setField(checkoutAdmissionService, "perKeyConcurrency", 1);
+        ReflectionTestUtils.setField(checkoutAdmissionService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(checkoutAdmissionService, "queueTimeoutMs", 2_000L);
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("product_id")).thenReturn("product-001");
+        when(rs.getString("size_id")).thenReturn("size-M");
+        when(rs.getInt("quantity")).thenReturn(2);
+        when(rs.getString("name")).thenReturn("Ao thun");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            return List.of(mapper.mapRow(rs, 0));
+        });
+        when(inventoryEventService.lastKnownQuantity(anyString(), anyString())).thenReturn(Optional.empty());
+    }
+
+    // ===============================================================
+    // TC-CA-001: Sản phẩm chưa "nóng" - checkout chạy thẳng
+    // ===============================================================
+    @Test
+    public void testAdmit_ColdKeyPassesThrough() {
+        assertEquals("ok", checkoutAdmissionService.admit("user-001", () -> "ok"));
+    }
+
+    // ===============================================================
+    // TC-CA-002: Sản phẩm nóng đã hết hàng theo dữ liệu tồn kho gần nhất - từ chối ngay
+    // ===============================================================
+    @Test
+    public void testAdmit_HotKeySoldOutRejectedFast() {
+        when(inventoryEventService.lastKnownQuantity("product-001", "size-M")).thenReturn(Optional.of(1));
+        checkoutAdmissionService.admit("user-001", () -> "ok");
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> checkoutAdmissionService.admit("user-002", () -> fail("checkout must not run")));
+
+        assertEquals("Insufficient stock for product: Ao thun", ex.getMessage());
+    }
+
+    // ===============================================================
+    // TC-CA-003: Hàng đợi của sản phẩm nóng đã đầy - trả về TooManyRequests
+    // ===============================================================
+    @Test
+    public void testAdmit_QueueFullRejected() throws Exception {
+        checkoutAdmissionService.admit("user-001", () -> "warm");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch inCheckout = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<String> holder = executor.submit(() -> checkoutAdmissionService.admit("user-002", () -> {
+                inCheckout.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(inCheckout.await(2, TimeUnit.SECONDS));
+
+            Future<String> queued = executor.submit(() -> checkoutAdmissionService.admit("user-003", () -> "second"));
+            waitUntilQueued();
+
+            assertThrows(TooManyRequestsException.class,
+                    () -> checkoutAdmissionService.admit("user-004", () -> "third"));
+
+            release.countDown();
+            assertEquals("first", holder.get(2, TimeUnit.SECONDS));
+            assertEquals("second", queued.get(2, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        Map<?, ?> states = (Map<?, ?>) ReflectionTestUtils.getField(checkoutAdmissionService, "keys");
+        for (int i = 0; i < 200; i++) {
+            AtomicInteger waiting = (AtomicInteger) ReflectionTestUtils.getField(states.values().iterator().next(), "waiting");
+            if (waiting.get() > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("second checkout never queued");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
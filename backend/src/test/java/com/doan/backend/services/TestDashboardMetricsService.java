@@ -0,0 +1,101 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.DashboardMetricsResponse;
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestDashboardMetricsService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private DashboardMetricsService dashboardMetricsService;
+
+    private void seed(long orders, BigDecimal revenue, long pending) {
+        when(jdbcTemplate.queryForObject(contains("created_at"), eq(Long.class), any())).thenReturn(orders);
+        when(jdbcTemplate.queryForObject(contains("invoices"), eq(BigDecimal.class), any())).thenReturn(revenue);
+        when(jdbcTemplate.queryForObject(contains("status = ?"), eq(Long.class), any())).thenReturn(pending);
+        dashboardMetricsService.reseed();
+    }
+
+    private OutboxService.EventsWritten event(OutboxEventType type, Map<String, Object> payload) {
+        return new OutboxService.EventsWritten(type, "order-001", payload);
+    }
+
+    // ===============================================================
+    // TC-DM-001: Khởi tạo bộ đếm từ CSDL
+    // ===============================================================
+    @Test
+    public void testReseed_SeedsCounters() {
+        seed(12, new BigDecimal("1500000.40"), 3);
+
+        DashboardMetricsResponse snapshot = dashboardMetricsService.snapshot();
+        assertEquals(12, snapshot.getOrdersToday());
+        assertEquals(BigDecimal.valueOf(1500000), snapshot.getRevenueToday());
+        assertEquals(3, snapshot.getPendingPayments());
+        assertNotNull(snapshot.getDate());
+    }
+
+    // ===============================================================
+    // TC-DM-002: Cập nhật bộ đếm theo sự kiện đơn hàng và thanh toán
+    // ===============================================================
+    @Test
+    public void testOnEventWritten_AppliesDeltas() {
+        seed(1, BigDecimal.ZERO, 1);
+
+        dashboardMetricsService.onEventWritten(event(OutboxEventType.ORDER_CREATED, Map.of("totalAmount", BigDecimal.valueOf(200000))));
+        dashboardMetricsService.onEventWritten(event(OutboxEventType.INVOICE_PAID, Map.of("totalAmount", BigDecimal.valueOf(200000))));
+        dashboardMetricsService.onEventWritten(event(OutboxEventType.ORDER_STATUS_CHANGED, Map.of(
+                "from", OrderStatusEnum.PENDING, "to", OrderStatusEnum.CONFIRMED)));
+
+        DashboardMetricsResponse snapshot = dashboardMetricsService.snapshot();
+        assertEquals(2, snapshot.getOrdersToday());
+        assertEquals(BigDecimal.valueOf(200000), snapshot.getRevenueToday());
+        assertEquals(1, snapshot.getPendingPayments());
+    }
+
+    // ===============================================================
+    // TC-DM-003: Chỉ đẩy lên topic khi số liệu thay đổi
+    // ===============================================================
+    @Test
+    public void testPush_OnlyWhenChanged() {
+        seed(1, BigDecimal.ZERO, 0);
+
+        dashboardMetricsService.push();
+        dashboardMetricsService.push();
+        verify(messagingTemplate, times(1)).convertAndSend(eq(DashboardMetricsService.TOPIC), any(DashboardMetricsResponse.class));
+
+        dashboardMetricsService.onEventWritten(event(OutboxEventType.ORDER_CREATED, Map.of()));
+        dashboardMetricsService.push();
+        verify(messagingTemplate, times(2)).convertAndSend(eq(DashboardMetricsService.TOPIC), any(DashboardMetricsResponse.class));
+    }
+
+    // ===============================================================
+    // TC-DM-004: Chưa khởi tạo - không đẩy số liệu
+    // ===============================================================
+    @Test
+    public void testPush_BeforeSeed() {
+        dashboardMetricsService.push();
+
+        verifyNoInteractions(messagingTemplate);
+    }
+}
@@ -0,0 +1,142 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Discount;
+import com.doan.backend.enums.CacheRegion;
+import com.doan.backend.mapper.DiscountMapper;
+import com.doan.backend.repositories.DiscountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestDiscountCatalogService {
+
+    @Mock
+    private DiscountRepository discountRepository;
+
+    @Spy
+    private DiscountMapper discountMapper = Mappers.getMapper(DiscountMapper.class);
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @InjectMocks
+    private DiscountCatalogService discountCatalogService;
+
+    private Discount active;
+    private Discount autoApply;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(discountCatalogService, "ttlSeconds", 60L);
+
+        active = new Discount();
+        active.setId("discount-001");
+        active.setCode("SUMMER2025");
+        active.setStartDate(LocalDateTime.now().minusDays(1));
+        active.setExpiryDate(LocalDateTime.now().plusDays(1));
+        active.setAutoApply(false);
+
+        autoApply = new Discount();
+        autoApply.setId("discount-002");
+        autoApply.setCode("AUTO2025");
+        autoApply.setStartDate(LocalDateTime.now().minusDays(1));
+        autoApply.setExpiryDate(LocalDateTime.now().plusDays(1));
+        autoApply.setAutoApply(true);
+    }
+
+    // ===============================================================
+    // TC-DC-001: Tra cứu nhiều lần chỉ load catalog một lần
+    // ===============================================================
+    @Test
+    public void testFindByCode_LoadsOnce() {
+        when(discountRepository.findByExpiryDateAfter(any(LocalDateTime.class))).thenReturn(List.of(active, autoApply));
+
+        assertEquals(active, discountCatalogService.findByCode("SUMMER2025").orElseThrow());
+        assertTrue(discountCatalogService.findByCode("UNKNOWN").isEmpty());
+        assertEquals(List.of(autoApply), discountCatalogService.findAutoApply());
+
+        verify(discountRepository, times(1)).findByExpiryDateAfter(any(LocalDateTime.class));
+    }
+
+    // ===============================================================
+    // TC-DC-002: invalidate() khiến lần tra cứu sau load lại catalog
+    // ===============================================================
+    @Test
+    public void testInvalidate_ReloadsOnNextLookup() {
+        when(discountRepository.findByExpiryDateAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(active))
+                .thenReturn(List.of());
+
+        assertTrue(discountCatalogService.findByCode("SUMMER2025").isPresent());
+        discountCatalogService.invalidate();
+        assertTrue(discountCatalogService.findByCode("SUMMER2025").isEmpty());
+
+        verify(discountRepository, times(2)).findByExpiryDateAfter(any(LocalDateTime.class));
+    }
+
+    // ===============================================================
+    // TC-DC-003: Discount hết hạn sau khi load không còn được trả về
+    // ===============================================================
+    @Test
+    public void testFindByCode_ExpiredAfterLoad() {
+        active.setExpiryDate(LocalDateTime.now().plusNanos(1));
+        when(discountRepository.findByExpiryDateAfter(any(LocalDateTime.class))).thenReturn(List.of(active));
+
+        discountCatalogService.findByCode("SUMMER2025");
+
+        assertTrue(discountCatalogService.findByCode("SUMMER2025").isEmpty());
+    }
+
+    // ===============================================================
+    // TC-DC-004: Mỗi lần tra cứu trả về bản sao - sửa bản sao không ảnh hưởng catalog
+    // ===============================================================
+    @Test
+    public void testFindByCode_ReturnsCopies() {
+        when(discountRepository.findByExpiryDateAfter(any(LocalDateTime.class))).thenReturn(List.of(active, autoApply));
+
+        Discount first = discountCatalogService.findByCode("SUMMER2025").orElseThrow();
+        active.setUsedCount(5);
+        first.setUsedCount(7);
+        Discount second = discountCatalogService.findByCode("SUMMER2025").orElseThrow();
+
+        assertNotSame(active, first);
+        assertNotSame(first, second);
+        assertEquals(0, second.getUsedCount());
+        assertNotSame(discountCatalogService.findAutoApply().getFirst(), discountCatalogService.findAutoApply().getFirst());
+    }
+
+    // ===============================================================
+    // TC-DC-005: Đổi usedCount - báo các instance khác và load lại catalog
+    // ===============================================================
+    @Test
+    public void testUsedCountChanged_BroadcastsAndReloads() {
+        Discount claimed = new Discount();
+        claimed.setId(active.getId());
+        claimed.setCode(active.getCode());
+        claimed.setExpiryDate(active.getExpiryDate());
+        claimed.setUsedCount(1);
+        when(discountRepository.findByExpiryDateAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(active))
+                .thenReturn(List.of(claimed));
+
+        assertEquals(0, discountCatalogService.findByCode("SUMMER2025").orElseThrow().getUsedCount());
+        discountCatalogService.usedCountChanged(active.getId());
+
+        assertEquals(1, discountCatalogService.findByCode("SUMMER2025").orElseThrow().getUsedCount());
+        verify(cacheInvalidationService).broadcast(CacheRegion.DISCOUNTS, active.getId());
+    }
+}
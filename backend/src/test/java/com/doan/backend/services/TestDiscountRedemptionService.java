@@ -0,0 +1,140 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Discount;
+import com.doan.backend.entity.User;
+import com.doan.backend.entity.UserDiscount;
+import com.doan.backend.repositories.DiscountRepository;
+import com.doan.backend.repositories.UserDiscountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestDiscountRedemptionService {
+
+    @Mock
+    private DiscountRepository discountRepository;
+
+    @Mock
+    private UserDiscountRepository userDiscountRepository;
+
+    @Mock
+    private DiscountCatalogService discountCatalogService;
+
+    @InjectMocks
+    private DiscountRedemptionService discountRedemptionService;
+
+    private User user;
+    private Discount discount;
+
+    @BeforeEach
+    void setup() {
+        user = new User();
+        user.setId("user-001");
+
+        discount = new Discount();
+        discount.setId("discount-001");
+        discount.setMaxUses(10);
+        discount.setUsedCount(0);
+    }
+
+    // ===============================================================
+    // TC-DR-001: Claim lần đầu - tạo UserDiscount và tăng usedCount
+    // ===============================================================
+    @Test
+    public void testClaim_FirstUse() {
+        when(userDiscountRepository.reclaimUserDiscount(user.getId(), discount.getId())).thenReturn(0);
+        when(discountRepository.getReferenceById(discount.getId())).thenReturn(discount);
+        when(userDiscountRepository.saveAndFlush(any(UserDiscount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(discountRepository.incrementUsedCount(discount.getId())).thenReturn(1);
+
+        UserDiscount result = discountRedemptionService.claim(discount.getId(), user);
+
+        assertEquals(1, result.getUsesCount());
+        assertEquals(user, result.getUser());
+        assertEquals(discount, result.getDiscount());
+        verify(discountRepository, times(1)).incrementUsedCount(discount.getId());
+        verify(discountCatalogService, times(1)).usedCountChanged(discount.getId());
+    }
+
+    // ===============================================================
+    // TC-DR-002: Claim lại sau khi lượt dùng đã được release - dùng lại bản ghi cũ
+    // ===============================================================
+    @Test
+    public void testClaim_ReclaimReleasedUse() {
+        UserDiscount released = new UserDiscount();
+        released.setId("ud-001");
+        released.setUsesCount(1);
+
+        when(userDiscountRepository.reclaimUserDiscount(user.getId(), discount.getId())).thenReturn(1);
+        when(userDiscountRepository.findByUserIdAndDiscount_Id(user.getId(), discount.getId())).thenReturn(Optional.of(released));
+        when(discountRepository.incrementUsedCount(discount.getId())).thenReturn(1);
+
+        UserDiscount result = discountRedemptionService.claim(discount.getId(), user);
+
+        assertEquals("ud-001", result.getId());
+        verify(userDiscountRepository, never()).saveAndFlush(any());
+    }
+
+    // ===============================================================
+    // TC-DR-003: User đã dùng discount - vi phạm unique (user_id, discount_id)
+    // ===============================================================
+    @Test
+    public void testClaim_AlreadyUsedByUser() {
+        when(userDiscountRepository.reclaimUserDiscount(user.getId(), discount.getId())).thenReturn(0);
+        when(discountRepository.getReferenceById(discount.getId())).thenReturn(discount);
+        when(userDiscountRepository.saveAndFlush(any(UserDiscount.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_user_discount"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> discountRedemptionService.claim(discount.getId(), user));
+
+        assertEquals("Discount has been used", ex.getMessage());
+        verify(discountRepository, never()).incrementUsedCount(any());
+    }
+
+    // ===============================================================
+    // TC-DR-004: Discount hết lượt - UPDATE có điều kiện không cập nhật dòng nào
+    // ===============================================================
+    @Test
+    public void testClaim_OutOfStock() {
+        when(userDiscountRepository.reclaimUserDiscount(user.getId(), discount.getId())).thenReturn(0);
+        when(discountRepository.getReferenceById(discount.getId())).thenReturn(discount);
+        when(userDiscountRepository.saveAndFlush(any(UserDiscount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(discountRepository.incrementUsedCount(discount.getId())).thenReturn(0);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> discountRedemptionService.claim(discount.getId(), user));
+
+        assertEquals("Discount are out of stock", ex.getMessage());
+        verify(discountCatalogService, never()).usedCountChanged(any());
+    }
+
+    // ===============================================================
+    // TC-DR-005: Release - giảm usedCount đúng một lần
+    // ===============================================================
+    @Test
+    public void testRelease_Idempotent() {
+        UserDiscount userDiscount = new UserDiscount();
+        userDiscount.setId("ud-001");
+        userDiscount.setDiscount(discount);
+
+        when(userDiscountRepository.releaseUserDiscount("ud-001")).thenReturn(1).thenReturn(0);
+
+        discountRedemptionService.release(userDiscount);
+        discountRedemptionService.release(userDiscount);
+
+        verify(discountRepository, times(1)).decrementUsedCount(discount.getId());
+        verify(discountCatalogService, times(1)).usedCountChanged(discount.getId());
+    }
+}
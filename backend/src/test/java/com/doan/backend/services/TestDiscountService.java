@@ -11,7 +11,6 @@ import com.doan.backend.dto.request.DiscountRequest;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.DiscountResponse;
 import com.doan.backend.entity.Discount;
-import com.doan.backend.entity.UserDiscount;
 import com.doan.backend.enums.DiscountType;
 import com.doan.backend.mapper.DiscountMapper;
 import com.doan.backend.repositories.DiscountRepository;
@@ -35,6 +34,15 @@ public class TestDiscountService {
     @Mock
     private DiscountMapper discountMapper;
 
+    @Mock
+    private DiscountCatalogService discountCatalogService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     private DiscountService discountService;
 
@@ -390,10 +398,10 @@ public class TestDiscountService {
         discount.setMaxUses(5);
         discount.setUsedCount(2);
 
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code))
-                .thenReturn(Optional.empty());
-        when(discountRepository.findByCodeAndExpiryDateAfter(eq(code), any(LocalDateTime.class)))
+        when(discountCatalogService.findByCode(code))
                 .thenReturn(Optional.of(discount));
+        when(userDiscountRepository.existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(userId, discount.getId(), 0))
+                .thenReturn(false);
 
         // Act
         ApiResponse<Discount> response = discountService.getDiscount(code, userId);
@@ -416,11 +424,15 @@ public class TestDiscountService {
         // Arrange
         String code = "DISCOUNT1";
         String userId = "user1";
-        UserDiscount userDiscount = new UserDiscount();
-        userDiscount.setUsesCount(1);  // Đã sử dụng discount
+        Discount discount = new Discount();
+        discount.setId("discount1");
+        discount.setCode(code);
 
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code))
-                .thenReturn(Optional.of(userDiscount));
+        when(discountCatalogService.findByCode(code))
+                .thenReturn(Optional.of(discount));
+        // Đã sử dụng discount
+        when(userDiscountRepository.existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(userId, discount.getId(), 0))
+                .thenReturn(true);
 
         // Act & Assert
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
@@ -447,10 +459,10 @@ public class TestDiscountService {
         discount.setMaxUses(5);
         discount.setUsedCount(5);
 
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code))
-                .thenReturn(Optional.empty());
-        when(discountRepository.findByCodeAndExpiryDateAfter(eq(code), any(LocalDateTime.class)))
+        when(discountCatalogService.findByCode(code))
                 .thenReturn(Optional.of(discount));
+        when(userDiscountRepository.existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(userId, discount.getId(), 0))
+                .thenReturn(false);
 
         // Act & Assert
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
@@ -477,10 +489,10 @@ public class TestDiscountService {
         discount.setMaxUses(5);
         discount.setUsedCount(0);
 
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code))
-                .thenReturn(Optional.empty());
-        when(discountRepository.findByCodeAndExpiryDateAfter(eq(code), any(LocalDateTime.class)))
+        when(discountCatalogService.findByCode(code))
                 .thenReturn(Optional.of(discount));
+        when(userDiscountRepository.existsByUserIdAndDiscount_IdAndUsesCountGreaterThan(userId, discount.getId(), 0))
+                .thenReturn(false);
 
         // Act & Assert
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
@@ -500,6 +512,7 @@ public class TestDiscountService {
         // Arrange
         String userId = "user123";
         Discount d1 = new Discount();
+        d1.setId("auto1");
         d1.setCode("AUTO1");
         d1.setAutoApply(true);
         d1.setExpiryDate(LocalDateTime.now().plusDays(1));
@@ -507,22 +520,19 @@ public class TestDiscountService {
         d1.setUsedCount(1);
 
         Discount d2 = new Discount();
+        d2.setId("auto2");
         d2.setCode("AUTO2");
         d2.setAutoApply(true);
         d2.setExpiryDate(LocalDateTime.now().plusDays(1));
         d2.setMaxUses(5);
         d2.setUsedCount(5); // hết lượt
 
-        Iterable<Discount> autoDiscounts = Arrays.asList(d1, d2);
-        when(discountRepository.findByAutoApplyTrueAndExpiryDateAfter(any(LocalDateTime.class)))
-                .thenReturn(autoDiscounts);
+        when(discountCatalogService.findAutoApply())
+                .thenReturn(Arrays.asList(d1, d2));
 
         // Giả lập user đã dùng discount d1
-        UserDiscount userDisc = new UserDiscount();
-        userDisc.setUsesCount(1);
-        userDisc.setDiscount(d1);
-        when(userDiscountRepository.findByUserId(userId))
-                .thenReturn(Collections.singletonList(userDisc));
+        when(userDiscountRepository.findUsedDiscountIdsByUserId(userId))
+                .thenReturn(Set.of(d1.getId()));
 
         // Act
         ApiResponse<Iterable<Discount>> response = discountService.getAllDiscountsByAutoApply(userId);
@@ -568,7 +578,7 @@ public class TestDiscountService {
 
     // ===============================================================
     // TC-DS-017: Lỗi khi discount không được tìm thấy
-    // Mục tiêu: Nếu discountRepository.findByCodeAndExpiryDateAfter trả về Optional.empty(), hàm getDiscount sẽ ném exception "Discount not found"
+    // Mục tiêu: Nếu discountCatalogService.findByCode trả về Optional.empty(), hàm getDiscount sẽ ném exception "Discount not found"
     // Input: code "NOT_FOUND", userId "user1"
     // Expected: RuntimeException với thông báo "Discount not found"
     // ===============================================================
@@ -577,9 +587,7 @@ public class TestDiscountService {
         // Arrange
         String code = "NOT_FOUND";
         String userId = "user1";
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code))
-                .thenReturn(Optional.empty());
-        when(discountRepository.findByCodeAndExpiryDateAfter(eq(code), any(LocalDateTime.class)))
+        when(discountCatalogService.findByCode(code))
                 .thenReturn(Optional.empty());
         // Act & Assert
         RuntimeException ex = assertThrows(RuntimeException.class, () -> {
@@ -628,11 +636,11 @@ public class TestDiscountService {
         discount.setExpiryDate(LocalDateTime.now().plusDays(1));
         discount.setMaxUses(5);
         discount.setUsedCount(2);
-        // Trả về discount từ repository
-        when(discountRepository.findByAutoApplyTrueAndExpiryDateAfter(any(LocalDateTime.class)))
+        // Trả về discount từ catalog
+        when(discountCatalogService.findAutoApply())
                 .thenReturn(Collections.singletonList(discount));
         // Giả lập rằng user chưa sử dụng discount nào
-        when(userDiscountRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(userDiscountRepository.findUsedDiscountIdsByUserId(userId)).thenReturn(Collections.emptySet());
         // Act
         ApiResponse<Iterable<Discount>> response = discountService.getAllDiscountsByAutoApply(userId);
         // Assert: danh sách discount autoApply phải chứa discount khả dụng
@@ -662,10 +670,8 @@ public class TestDiscountService {
         discount.setMaxUses(5);
         discount.setUsedCount(0);
 
-        // Giả lập rằng người dùng chưa sử dụng discount
-        when(userDiscountRepository.findByUserIdAndDiscount_Code(userId, code)).thenReturn(Optional.empty());
-        // Vì expiryDate equals now và logic dùng .isAfter(now), repository trả về Optional.empty()
-        when(discountRepository.findByCodeAndExpiryDateAfter(eq(code), any(LocalDateTime.class)))
+        // Vì expiryDate equals now và logic dùng .isAfter(now), catalog trả về Optional.empty()
+        when(discountCatalogService.findByCode(code))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -0,0 +1,122 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.request.InventoryAdjustmentRequest;
+import com.doan.backend.dto.response.InventoryAdjustmentReport;
+import com.doan.backend.enums.InventoryAdjustmentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestInventoryAdjustmentService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private InventoryEventService inventoryEventService;
+
+    private InventoryAdjustmentService inventoryAdjustmentService;
+
+    @BeforeEach
+    void setup() {
+        inventoryAdjustmentService = new InventoryAdjustmentService(jdbcTemplate, inventoryEventService, transactionManager, 100);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("inv-1", "p1", "s1", 10, 3));
+            handler.processRow(row("inv-2", "p2", "s1", 5, 1));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, product_id, size_id, quantity, version"), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private ResultSet row(String id, String productId, String sizeId, int quantity, long version) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(id);
+        when(rs.getString("product_id")).thenReturn(productId);
+        when(rs.getString("size_id")).thenReturn(sizeId);
+        when(rs.getInt("quantity")).thenReturn(quantity);
+        when(rs.getLong("version")).thenReturn(version);
+        return rs;
+    }
+
+    // ===============================================================
+    // TC-IA-001: Kiểm kê - số tuyệt đối, delta âm quá mức, dòng không tồn tại, dòng trùng
+    // ===============================================================
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAdjust_MixedRows() {
+        List<InventoryAdjustmentRequest> items = List.of(
+                InventoryAdjustmentRequest.builder().productId("p1").sizeId("s1").quantity(8).build(),
+                InventoryAdjustmentRequest.builder().productId("p2").sizeId("s1").delta(-6).build(),
+                InventoryAdjustmentRequest.builder().productId("p3").sizeId("s1").delta(1).build(),
+                InventoryAdjustmentRequest.builder().productId("p1").sizeId("s1").delta(1).build(),
+                InventoryAdjustmentRequest.builder().productId("p2").sizeId("s2").build());
+
+        InventoryAdjustmentReport report = inventoryAdjustmentService.adjust(items).getResult();
+
+        assertEquals(List.of(InventoryAdjustmentStatus.UPDATED, InventoryAdjustmentStatus.INVALID,
+                        InventoryAdjustmentStatus.NOT_FOUND, InventoryAdjustmentStatus.INVALID, InventoryAdjustmentStatus.INVALID),
+                report.getResults().stream().map(r -> r.getStatus()).toList());
+        assertEquals(10, report.getResults().getFirst().getBefore());
+        assertEquals(8, report.getResults().getFirst().getAfter());
+        assertEquals(4L, report.getResults().getFirst().getVersion());
+        assertEquals(1, report.getUpdated());
+        assertEquals(4, report.getFailed());
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE product_inventory"), updates.capture());
+        assertEquals(1, updates.getValue().size());
+        assertArrayEquals(new Object[]{8, "inv-1"}, updates.getValue().getFirst());
+    }
+
+    // ===============================================================
+    // TC-IA-002: expectedVersion lệch - không ghi đè thay đổi đồng thời
+    // ===============================================================
+    @Test
+    public void testAdjust_VersionConflict() {
+        List<InventoryAdjustmentRequest> items = List.of(
+                InventoryAdjustmentRequest.builder().productId("p1").sizeId("s1").quantity(20).expectedVersion(2L).build());
+
+        InventoryAdjustmentReport report = inventoryAdjustmentService.adjust(items).getResult();
+
+        assertEquals(InventoryAdjustmentStatus.CONFLICT, report.getResults().getFirst().getStatus());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    // ===============================================================
+    // TC-IA-003: Điều chỉnh từ file CSV - delta cộng dồn trên giá trị hiện tại
+    // ===============================================================
+    @Test
+    public void testAdjustFromCsv_Delta() {
+        String csv = "productId,sizeId,delta\np2,s1,-2\n";
+
+        InventoryAdjustmentReport report = inventoryAdjustmentService
+                .adjustFromCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).getResult();
+
+        assertEquals(InventoryAdjustmentStatus.UPDATED, report.getResults().getFirst().getStatus());
+        assertEquals(5, report.getResults().getFirst().getBefore());
+        assertEquals(3, report.getResults().getFirst().getAfter());
+    }
+}
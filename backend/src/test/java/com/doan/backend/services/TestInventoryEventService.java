@@ -0,0 +1,169 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.InventoryUpdateResponse;
+import com.doan.backend.dto.response.LowStockResponse;
+import com.doan.backend.enums.CacheRegion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestInventoryEventService {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @InjectMocks
+    private InventoryEventService inventoryEventService;
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(inventoryEventService, "lowStockThreshold", 5);
+        ReflectionTestUtils.setField(inventoryEventService, "batchSize", 500);
+    }
+
+    private void stubRows() throws SQLException {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("product_id")).thenReturn((String) row[0]);
+                when(rs.getString("size_id")).thenReturn((String) row[1]);
+                when(rs.getString("name")).thenReturn((String) row[2]);
+                when(rs.getInt("quantity")).thenReturn((Integer) row[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    // ===============================================================
+    // TC-IE-001: Nhiều thay đổi của cùng sản phẩm chỉ gửi một thông điệp
+    // ===============================================================
+    @Test
+    public void testPublish_CoalescesChanges() throws SQLException {
+        rows.add(new Object[]{"product-001", "size-M", "M", 10});
+        rows.add(new Object[]{"product-001", "size-L", "L", 7});
+        stubRows();
+
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+
+        ArgumentCaptor<InventoryUpdateResponse> captor = ArgumentCaptor.forClass(InventoryUpdateResponse.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/inventory/product-001"), captor.capture());
+        assertEquals(17, captor.getValue().getTotalQuantity());
+        assertEquals(2, captor.getValue().getSizes().size());
+        verify(namedParameterJdbcTemplate, times(1)).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    // ===============================================================
+    // TC-IE-002: Không có thay đổi - không truy vấn và không gửi gì
+    // ===============================================================
+    @Test
+    public void testPublish_NothingChanged() {
+        inventoryEventService.publish();
+
+        verifyNoInteractions(namedParameterJdbcTemplate, messagingTemplate);
+    }
+
+    // ===============================================================
+    // TC-IE-003: Tồn kho giảm xuống dưới ngưỡng - gửi cảnh báo một lần
+    // ===============================================================
+    @Test
+    public void testPublish_LowStockOnlyWhenCrossingThreshold() throws SQLException {
+        rows.add(new Object[]{"product-001", "size-M", "M", 8});
+        stubRows();
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+
+        rows.set(0, new Object[]{"product-001", "size-M", "M", 3});
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+
+        rows.set(0, new Object[]{"product-001", "size-M", "M", 2});
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+
+        ArgumentCaptor<LowStockResponse> captor = ArgumentCaptor.forClass(LowStockResponse.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/admin/inventory/low-stock"), captor.capture());
+        assertEquals(3, captor.getValue().getQuantity());
+        assertEquals("size-M", captor.getValue().getSizeId());
+    }
+
+    // ===============================================================
+    // TC-IE-004: Truy vấn lỗi - sản phẩm được giữ lại cho lần gửi sau
+    // ===============================================================
+    @Test
+    public void testPublish_RetriesAfterFailure() throws SQLException {
+        doThrow(new RuntimeException("db down"))
+                .when(namedParameterJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+        rows.add(new Object[]{"product-001", "size-M", "M", 10});
+        stubRows();
+        inventoryEventService.publish();
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/inventory/product-001"), any(InventoryUpdateResponse.class));
+    }
+
+    // ===============================================================
+    // TC-IE-005: Thay đổi tại máy này - thông báo cho các máy khác
+    // ===============================================================
+    @Test
+    public void testPublish_BroadcastsLocalChanges() throws SQLException {
+        rows.add(new Object[]{"product-001", "size-M", "M", 10});
+        stubRows();
+
+        inventoryEventService.markChanged("product-001");
+        inventoryEventService.publish();
+
+        verify(cacheInvalidationService).broadcast(CacheRegion.INVENTORY, List.of("product-001"));
+    }
+
+    // ===============================================================
+    // TC-IE-006: Thay đổi từ máy khác - gửi cho subscriber nhưng không thông báo lại
+    // ===============================================================
+    @Test
+    public void testEvict_PublishesWithoutBroadcastingBack() throws SQLException {
+        rows.add(new Object[]{"product-001", "size-M", "M", 4});
+        stubRows();
+
+        assertTrue(inventoryEventService.supports(CacheRegion.INVENTORY));
+        inventoryEventService.evict(CacheRegion.INVENTORY, "product-001");
+        inventoryEventService.publish();
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/inventory/product-001"), any(InventoryUpdateResponse.class));
+        verify(cacheInvalidationService, never()).broadcast(eq(CacheRegion.INVENTORY), eq(List.of("product-001")));
+        assertEquals(4, inventoryEventService.lastKnownQuantity("product-001", "size-M").orElseThrow());
+    }
+}
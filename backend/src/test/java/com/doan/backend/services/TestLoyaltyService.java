@@ -0,0 +1,168 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.LoyaltyTierEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestLoyaltyService {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LeaseLockService leaseLockService;
+
+    private LoyaltyService loyaltyService;
+
+    @BeforeEach
+    void setup() {
+        loyaltyService = new LoyaltyService(namedParameterJdbcTemplate, transactionManager, leaseLockService, 2);
+        ReflectionTestUtils.setField(loyaltyService, "silverSpend", BigDecimal.valueOf(5_000_000));
+        ReflectionTestUtils.setField(loyaltyService, "goldSpend", BigDecimal.valueOf(20_000_000));
+        ReflectionTestUtils.setField(loyaltyService, "platinumSpend", BigDecimal.valueOf(50_000_000));
+        ReflectionTestUtils.setField(loyaltyService, "chunkSize", 500);
+        ReflectionTestUtils.setField(loyaltyService, "leaseSeconds", 1800L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loyaltyService.shutdown();
+    }
+
+    // ===============================================================
+    // TC-LY-001: Xác định hạng theo tổng chi tiêu, đúng tại ngưỡng
+    // ===============================================================
+    @Test
+    public void testTierFor_Thresholds() {
+        assertEquals(LoyaltyTierEnum.BRONZE, loyaltyService.tierFor(null));
+        assertEquals(LoyaltyTierEnum.BRONZE, loyaltyService.tierFor(BigDecimal.valueOf(4_999_999)));
+        assertEquals(LoyaltyTierEnum.SILVER, loyaltyService.tierFor(BigDecimal.valueOf(5_000_000)));
+        assertEquals(LoyaltyTierEnum.GOLD, loyaltyService.tierFor(BigDecimal.valueOf(20_000_000)));
+        assertEquals(LoyaltyTierEnum.PLATINUM, loyaltyService.tierFor(BigDecimal.valueOf(75_000_000)));
+    }
+
+    // ===============================================================
+    // TC-LY-002: Đơn hoàn thành - cộng dồn chi tiêu và nâng hạng
+    // ===============================================================
+    @Test
+    public void testOrderCompleted_AddsDeltaAndPromotes() {
+        when(namedParameterJdbcTemplate.update(contains("loyalty_counted"), any(SqlParameterSource.class))).thenReturn(1);
+        when(namedParameterJdbcTemplate.queryForMap(anyString(), any(SqlParameterSource.class)))
+                .thenReturn(Map.of("user_id", "user-001", "total", BigDecimal.valueOf(2_000_000)));
+        when(namedParameterJdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(BigDecimal.class)))
+                .thenReturn(BigDecimal.valueOf(6_000_000));
+
+        loyaltyService.orderCompleted("order-001");
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).update(contains("ON DUPLICATE KEY UPDATE"), params.capture());
+        assertEquals(BigDecimal.valueOf(2_000_000), params.getValue().getValue("spend"));
+        assertEquals(1, params.getValue().getValue("orders"));
+
+        verify(namedParameterJdbcTemplate).update(contains("SET loyalty_tier"), params.capture());
+        assertEquals("SILVER", params.getValue().getValue("tier"));
+    }
+
+    // ===============================================================
+    // TC-LY-003: Đơn đã được tính - không cộng lần thứ hai
+    // ===============================================================
+    @Test
+    public void testOrderCompleted_AlreadyCounted() {
+        when(namedParameterJdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(0);
+
+        loyaltyService.orderCompleted("order-001");
+
+        verify(namedParameterJdbcTemplate, times(1)).update(anyString(), any(SqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, never()).queryForMap(anyString(), any(SqlParameterSource.class));
+    }
+
+    // ===============================================================
+    // TC-LY-004: Đơn rời trạng thái hoàn thành - trừ lại chi tiêu
+    // ===============================================================
+    @Test
+    public void testOrderReverted_SubtractsDelta() {
+        when(namedParameterJdbcTemplate.update(contains("loyalty_counted"), any(SqlParameterSource.class))).thenReturn(1);
+        when(namedParameterJdbcTemplate.queryForMap(anyString(), any(SqlParameterSource.class)))
+                .thenReturn(Map.of("user_id", "user-001", "total", BigDecimal.valueOf(2_000_000)));
+        when(namedParameterJdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(BigDecimal.class)))
+                .thenReturn(BigDecimal.valueOf(4_000_000));
+
+        loyaltyService.orderReverted("order-001");
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).update(contains("ON DUPLICATE KEY UPDATE"), params.capture());
+        assertEquals(BigDecimal.valueOf(-2_000_000), params.getValue().getValue("spend"));
+        assertEquals(-1, params.getValue().getValue("orders"));
+
+        verify(namedParameterJdbcTemplate).update(contains("SET loyalty_tier"), params.capture());
+        assertEquals("BRONZE", params.getValue().getValue("tier"));
+    }
+
+    // ===============================================================
+    // TC-LY-005: Không giữ được khóa - bỏ qua đối soát
+    // ===============================================================
+    @Test
+    public void testReconcile_LeaseHeldElsewhere() {
+        when(leaseLockService.tryAcquire(eq("loyalty-reconcile"), any(Duration.class))).thenReturn(false);
+
+        loyaltyService.reconcile();
+
+        verifyNoInteractions(namedParameterJdbcTemplate);
+        verify(leaseLockService, never()).release(anyString());
+    }
+
+    // ===============================================================
+    // TC-LY-006: Đối soát theo từng nhóm khách hàng rồi nhả khóa
+    // ===============================================================
+    @Test
+    public void testReconcile_ChunksCustomers() {
+        ReflectionTestUtils.setField(loyaltyService, "chunkSize", 2);
+        when(leaseLockService.tryAcquire(eq("loyalty-reconcile"), any(Duration.class))).thenReturn(true);
+        when(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("user-001", "user-002"), List.of("user-003"));
+
+        loyaltyService.reconcile();
+
+        verify(namedParameterJdbcTemplate, times(2)).queryForList(anyString(), any(SqlParameterSource.class), eq(String.class));
+        verify(namedParameterJdbcTemplate, times(2)).update(contains("loyalty_counted = (status"), any(SqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, times(2)).update(contains("CASE WHEN"), any(SqlParameterSource.class));
+        verify(leaseLockService).release("loyalty-reconcile");
+    }
+
+    // ===============================================================
+    // TC-LY-007: Xem hạng thành viên - người dùng không tồn tại
+    // ===============================================================
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetLoyalty_UserNotFound() {
+        when(namedParameterJdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> loyaltyService.getLoyalty("user-404"));
+        assertEquals("User not found", exception.getMessage());
+    }
+}
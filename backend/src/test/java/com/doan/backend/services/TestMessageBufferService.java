@@ -0,0 +1,130 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.MessageResponse;
+import com.doan.backend.entity.Message;
+import com.doan.backend.mapper.MessageMapper;
+import com.doan.backend.repositories.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestMessageBufferService {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @InjectMocks
+    private MessageBufferService messageBufferService;
+
+    private final LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(messageBufferService, "capacity", 3);
+    }
+
+    private MessageResponse response(String id, int minute) {
+        return MessageResponse.builder().id(id).timestamp(base.plusMinutes(minute)).build();
+    }
+
+    // ===============================================================
+    // TC-MB-001: Lần đọc đầu tiên nạp từ DB, trộn với tin chưa flush, giữ thứ tự tăng dần
+    // ===============================================================
+    @Test
+    public void testLatest_MergesPersistedAndBuffered() {
+        Message persisted = new Message();
+        when(messageRepository.findLatestByChatRoomId(eq("room-1"), any(Pageable.class))).thenReturn(List.of(persisted));
+        when(messageMapper.toMessageResponse(persisted)).thenReturn(response("m1", 1));
+
+        messageBufferService.append("room-1", response("m2", 2));
+        List<MessageResponse> result = messageBufferService.latest("room-1", 3);
+
+        assertEquals(List.of("m1", "m2"), result.stream().map(MessageResponse::getId).toList());
+
+        messageBufferService.latest("room-1", 3);
+        verify(messageRepository, times(1)).findLatestByChatRoomId(eq("room-1"), any(Pageable.class));
+    }
+
+    // ===============================================================
+    // TC-MB-002: Buffer giới hạn theo capacity - chỉ giữ các tin mới nhất
+    // ===============================================================
+    @Test
+    public void testAppend_KeepsOnlyNewest() {
+        when(messageRepository.findLatestByChatRoomId(eq("room-1"), any(Pageable.class))).thenReturn(List.of());
+
+        for (int i = 1; i <= 5; i++) {
+            messageBufferService.append("room-1", response("m" + i, i));
+        }
+
+        List<MessageResponse> result = messageBufferService.latest("room-1", 3);
+        assertEquals(List.of("m3", "m4", "m5"), result.stream().map(MessageResponse::getId).toList());
+    }
+
+    // ===============================================================
+    // TC-MB-003: Trang trước con trỏ - chỉ lấy tin cũ hơn (timestamp, id)
+    // ===============================================================
+    @Test
+    public void testBefore_OnlyOlderThanCursor() {
+        when(messageRepository.findByChatRoomIdBefore(eq("room-1"), eq(base.plusMinutes(3)), eq("m3"), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        messageBufferService.append("room-1", response("m2", 2));
+        messageBufferService.append("room-1", response("m3", 3));
+        messageBufferService.append("room-1", response("m4", 4));
+
+        List<MessageResponse> result = messageBufferService.before("room-1", base.plusMinutes(3), "m3", 10);
+        assertEquals(List.of("m2"), result.stream().map(MessageResponse::getId).toList());
+    }
+
+    // ===============================================================
+    // TC-MB-004: Trang lớn hơn capacity - đọc đủ số tin từ DB, trộn với tin chưa flush
+    // ===============================================================
+    @Test
+    public void testLatest_LargerThanBufferReadsFromRepository() {
+        List<Message> persisted = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Message message = new Message();
+            message.setId("m" + i);
+            persisted.add(message);
+            when(messageMapper.toMessageResponse(message)).thenReturn(response("m" + i, i));
+        }
+        when(messageRepository.findLatestByChatRoomId("room-1", PageRequest.of(0, 5))).thenReturn(persisted);
+
+        messageBufferService.append("room-1", response("m5", 5));
+        List<MessageResponse> result = messageBufferService.latest("room-1", 5);
+
+        assertEquals(List.of("m1", "m2", "m3", "m4", "m5"), result.stream().map(MessageResponse::getId).toList());
+    }
+
+    // ===============================================================
+    // TC-MB-005: Trang trước con trỏ lớn hơn capacity - truy vấn DB với đúng kích thước trang
+    // ===============================================================
+    @Test
+    public void testBefore_LargerThanBufferKeepsRequestedSize() {
+        when(messageRepository.findByChatRoomIdBefore("room-1", base.plusMinutes(9), "m9", PageRequest.of(0, 8)))
+                .thenReturn(List.of());
+
+        messageBufferService.before("room-1", base.plusMinutes(9), "m9", 8);
+
+        verify(messageRepository).findByChatRoomIdBefore("room-1", base.plusMinutes(9), "m9", PageRequest.of(0, 8));
+    }
+}
@@ -0,0 +1,150 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.repositories.DiscountRepository;
+import com.doan.backend.repositories.UserDiscountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestOrderExpiryService {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LeaseLockService leaseLockService;
+
+    @Mock
+    private InventoryRestockService inventoryRestockService;
+
+    @Mock
+    private UserDiscountRepository userDiscountRepository;
+
+    @Mock
+    private DiscountRepository discountRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private OrderExpiryService orderExpiryService;
+
+    @BeforeEach
+    void setup() {
+        orderExpiryService = new OrderExpiryService(namedParameterJdbcTemplate, transactionManager, leaseLockService,
+                inventoryRestockService, userDiscountRepository, discountRepository, outboxService);
+        ReflectionTestUtils.setField(orderExpiryService, "unpaidMinutes", 30L);
+        ReflectionTestUtils.setField(orderExpiryService, "chunkSize", 2);
+        ReflectionTestUtils.setField(orderExpiryService, "leaseSeconds", 120L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private void stubCandidates(List<List<String>> pages) {
+        List<List<String>> remaining = new ArrayList<>(pages);
+        when(namedParameterJdbcTemplate.query(startsWith("SELECT id, created_at"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    if (remaining.isEmpty()) {
+                        return List.of();
+                    }
+                    RowMapper<?> mapper = invocation.getArgument(2);
+                    List<Object> rows = new ArrayList<>();
+                    for (String id : remaining.removeFirst()) {
+                        ResultSet rs = mock(ResultSet.class);
+                        when(rs.getString("id")).thenReturn(id);
+                        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+                        rows.add(mapper.mapRow(rs, 0));
+                    }
+                    return rows;
+                });
+    }
+
+    private void stubLocked(String orderId, String userDiscountId, String discountId) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("id")).thenReturn(orderId);
+            when(rs.getString("user_discount_id")).thenReturn(userDiscountId);
+            when(rs.getString("discount_id")).thenReturn(discountId);
+            handler.processRow(rs);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    // ===============================================================
+    // TC-OE-001: Instance khác đang giữ lease - không quét
+    // ===============================================================
+    @Test
+    public void testSweep_LeaseHeldElsewhere() {
+        when(leaseLockService.tryAcquire(eq("order-expiry"), any())).thenReturn(false);
+
+        orderExpiryService.sweep();
+
+        verifyNoInteractions(namedParameterJdbcTemplate, inventoryRestockService, outboxService);
+        verify(leaseLockService, never()).release(any());
+    }
+
+    // ===============================================================
+    // TC-OE-002: Chỉ hủy đơn vẫn còn PENDING/UNPAID khi khóa - hoàn kho và trả discount
+    // ===============================================================
+    @Test
+    public void testSweep_CancelsOnlyOrdersStillUnpaidUnderLock() {
+        when(leaseLockService.tryAcquire(eq("order-expiry"), any())).thenReturn(true);
+        stubCandidates(List.of(List.of("order-001", "order-002")));
+        stubLocked("order-001", "ud-001", "discount-001");
+        when(inventoryRestockService.restockOrders(List.of("order-001"))).thenReturn(3L);
+        when(userDiscountRepository.releaseUserDiscount("ud-001")).thenReturn(1);
+
+        orderExpiryService.sweep();
+
+        verify(inventoryRestockService).restockOrders(List.of("order-001"));
+        verify(discountRepository).decrementUsedCount("discount-001");
+        verify(outboxService, times(1)).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), eq("order-001"), anyMap());
+        verify(leaseLockService).release("order-expiry");
+
+        assertEquals(1, orderExpiryService.stats().getOrdersCancelled());
+        assertEquals(3, orderExpiryService.stats().getUnitsReleased());
+        assertEquals(1, orderExpiryService.stats().getDiscountsReleased());
+    }
+
+    // ===============================================================
+    // TC-OE-003: Chunk đầy - tiếp tục quét chunk tiếp theo và gia hạn lease
+    // ===============================================================
+    @Test
+    public void testSweep_ContinuesWhileChunksAreFull() {
+        when(leaseLockService.tryAcquire(eq("order-expiry"), any())).thenReturn(true);
+        stubCandidates(List.of(List.of("order-001", "order-002"), List.of("order-003")));
+
+        orderExpiryService.sweep();
+
+        verify(namedParameterJdbcTemplate, times(2))
+                .query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+        verify(leaseLockService, times(2)).tryAcquire(eq("order-expiry"), any());
+        verify(inventoryRestockService, never()).restockOrders(anyCollection());
+    }
+}
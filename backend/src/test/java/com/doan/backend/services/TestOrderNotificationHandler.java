@@ -0,0 +1,73 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.OrderEventResponse;
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.repositories.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestOrderNotificationHandler {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderNotificationHandler orderNotificationHandler;
+
+    @BeforeEach
+    void setup() {
+        orderNotificationHandler = new OrderNotificationHandler(messagingTemplate, new ObjectMapper(), orderRepository);
+    }
+
+    private OutboxEvent event() {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(1L);
+        event.setAggregateId("order-001");
+        event.setEventType(OutboxEventType.ORDER_CREATED);
+        event.setPayload("{\"userId\":\"user-001\"}");
+        return event;
+    }
+
+    // ===============================================================
+    // TC-ON-001: Sự kiện đơn hàng chỉ gửi tới chủ đơn qua user destination
+    // ===============================================================
+    @Test
+    public void testHandle_SendsToOwnerOnly() {
+        when(orderRepository.findUserEmailById("order-001")).thenReturn(Optional.of("owner@example.com"));
+
+        orderNotificationHandler.handle(event());
+
+        ArgumentCaptor<OrderEventResponse> response = ArgumentCaptor.forClass(OrderEventResponse.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("owner@example.com"), eq("/queue/order/order-001"), response.capture());
+        assertEquals("user-001", response.getValue().getData().get("userId"));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    // ===============================================================
+    // TC-ON-002: Không tìm thấy chủ đơn - không gửi gì
+    // ===============================================================
+    @Test
+    public void testHandle_UnknownOrderSendsNothing() {
+        when(orderRepository.findUserEmailById("order-001")).thenReturn(Optional.empty());
+
+        orderNotificationHandler.handle(event());
+
+        verifyNoInteractions(messagingTemplate);
+    }
+}
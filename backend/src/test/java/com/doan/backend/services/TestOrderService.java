@@ -4,6 +4,7 @@ import com.doan.backend.dto.request.OrderRequest;
 import com.doan.backend.dto.request.UpdateOrderRequest;
 import com.doan.backend.dto.response.ApiResponse;
 import com.doan.backend.dto.response.OrderResponse;
+import com.doan.backend.dto.response.OrderSummaryResponse;
 import com.doan.backend.dto.response.ShippingAddressResponse;
 import com.doan.backend.dto.response.UserResponse;
 import com.doan.backend.entity.*;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -33,7 +35,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -62,8 +63,6 @@ public class TestOrderService {
     @Mock
     private ShippingAddressRepository shippingAddressRepository;
     @Mock
-    private PromotionProductRepository promotionProductRepository;
-    @Mock
     private PromotionService promotionService;
     @Mock
     private InvoiceRepository invoiceRepository;
@@ -73,6 +72,26 @@ public class TestOrderService {
     private PaymentService paymentService;
     @Mock
     private UserDiscountRepository userDiscountRepository;
+    @Mock
+    private DiscountRedemptionService discountRedemptionService;
+
+    @Mock
+    private InventoryEventService inventoryEventService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private InventoryRestockService inventoryRestockService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private ProductListingService productListingService;
+
+    @Mock
+    private LoyaltyService loyaltyService;
 
     @InjectMocks
     private OrderService orderService;
@@ -284,6 +303,8 @@ public class TestOrderService {
         productInventory.setQuantity(5);
 
         when(productInventoryRepository.findByProductIdAndSizeId(productId, sizeId)).thenReturn(Optional.of(productInventory));
+        // Câu UPDATE có điều kiện quantity >= 10 không cập nhật dòng nào
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), 10)).thenReturn(0);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -359,10 +380,11 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), cartItem.getSize().getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(userDiscountRepository.findByUserIdAndDiscount_Id(userId, discountId)).thenReturn(Optional.of(userDiscount));
 
         // Mock promotionService trả về giá hợp lệ (không null)
-        when(promotionService.applyPromotionToProduct(any(Product.class))).thenAnswer(invocation -> {
+        when(promotionService.applyPromotion(any(Product.class), any())).thenAnswer(invocation -> {
             Product p = invocation.getArgument(0);
             return p.getPrice();
         });
@@ -437,11 +459,12 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), cartItem.getSize().getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(discountRepository.findById(discountId)).thenReturn(Optional.of(discount));
 
 
         // Mock promotionService trả về giá trị gốc tránh lỗi null
-        when(promotionService.applyPromotionToProduct(any(Product.class))).thenAnswer(invocation -> {
+        when(promotionService.applyPromotion(any(Product.class), any())).thenAnswer(invocation -> {
             Product p = invocation.getArgument(0);
             return p.getPrice();
         });
@@ -514,10 +537,11 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), cartItem.getSize().getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(discountRepository.findById(discountId)).thenReturn(Optional.of(discount));
 
         // Mock promotionService trả về giá hợp lệ
-        when(promotionService.applyPromotionToProduct(any(Product.class))).thenAnswer(invocation -> {
+        when(promotionService.applyPromotion(any(Product.class), any())).thenAnswer(invocation -> {
             Product p = invocation.getArgument(0);
             return p.getPrice();
         });
@@ -605,19 +629,10 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), size.getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(discountRepository.findById(discountId)).thenReturn(Optional.of(discount));
-        when(promotionProductRepository.findPromotionApplyByProductId(eq(product.getId()), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
-        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
-            Invoice inv = invocation.getArgument(0);
-            if (inv.getId() == null) {
-                inv.setId("invoice-001"); // Giả lập id đã được tạo khi lưu
-            }
-            return inv;
-        });
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
         // Mock promotionService trả về giá gốc (không giảm)
-        when(promotionService.applyPromotionToProduct(any(Product.class))).thenAnswer(invocation -> {
+        when(promotionService.applyPromotion(any(Product.class), any())).thenAnswer(invocation -> {
             Product p = invocation.getArgument(0);
             return p.getPrice();
         });
@@ -718,18 +733,9 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), size.getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(discountRepository.findById(discountId)).thenReturn(Optional.of(discount));
-        when(promotionProductRepository.findPromotionApplyByProductId(eq(product.getId()), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
-        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
-            Invoice inv = invocation.getArgument(0);
-            if (inv.getId() == null) {
-                inv.setId("invoice-009");
-            }
-            return inv;
-        });
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(promotionService.applyPromotionToProduct(any(Product.class)))
+        when(promotionService.applyPromotion(any(Product.class), any()))
                 .thenAnswer(invocation -> invocation.<Product>getArgument(0).getPrice());
         when(orderMapper.toOrderResponse(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
@@ -810,18 +816,9 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), size.getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         // discountRepository.findById không được gọi vì không có discountId
-        when(promotionProductRepository.findPromotionApplyByProductId(eq(product.getId()), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
-        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
-            Invoice inv = invocation.getArgument(0);
-            if (inv.getId() == null) {
-                inv.setId("invoice-010");
-            }
-            return inv;
-        });
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(promotionService.applyPromotionToProduct(any(Product.class)))
+        when(promotionService.applyPromotion(any(Product.class), any()))
                 .thenAnswer(invocation -> invocation.<Product>getArgument(0).getPrice());
         when(orderMapper.toOrderResponse(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
@@ -920,18 +917,9 @@ public class TestOrderService {
         when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
         when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), size.getId()))
                 .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
         when(discountRepository.findById(discountId)).thenReturn(Optional.of(discount));
-        when(promotionProductRepository.findPromotionApplyByProductId(eq(product.getId()), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
-        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
-            Invoice inv = invocation.getArgument(0);
-            if (inv.getId() == null) {
-                inv.setId("invoice-011");
-            }
-            return inv;
-        });
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(promotionService.applyPromotionToProduct(any(Product.class)))
+        when(promotionService.applyPromotion(any(Product.class), any()))
                 .thenAnswer(invocation -> invocation.<Product>getArgument(0).getPrice());
         when(orderMapper.toOrderResponse(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
@@ -961,7 +949,9 @@ public class TestOrderService {
         // Verify lưu order
         verify(orderRepository, times(1)).save(any(Order.class));
         // Verify discountRepository được gọi
-        verify(discountRepository, times(2)).findById(discountId);
+        verify(discountRepository, times(1)).findById(discountId);
+        // Verify lượt dùng discount được claim
+        verify(discountRedemptionService, times(1)).claim(discountId, user);
         // Verify userDiscountRepository được gọi
         verify(userDiscountRepository, times(1)).findByUserIdAndDiscount_Id(userId, discountId);
     }
@@ -1162,7 +1152,7 @@ public class TestOrderService {
         orderRequest.setShippingAddressId("any-address");
         orderRequest.setStatus(OrderStatusEnum.CONFIRMED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -1171,7 +1161,7 @@ public class TestOrderService {
 
         assertEquals("Order not found", exception.getMessage());
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findByIdForUpdate(orderId);
     }
 
 
@@ -1189,7 +1179,7 @@ public class TestOrderService {
         orderRequest.setShippingAddressId(invalidAddressId);
         orderRequest.setStatus(OrderStatusEnum.CONFIRMED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(existingOrder));
         when(shippingAddressRepository.findById(invalidAddressId)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -1199,7 +1189,7 @@ public class TestOrderService {
 
         assertEquals("Shipping address not found", exception.getMessage());
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findByIdForUpdate(orderId);
         verify(shippingAddressRepository, times(1)).findById(invalidAddressId);
     }
 
@@ -1222,7 +1212,7 @@ public class TestOrderService {
         orderRequest.setShippingAddressId(shippingAddressId);
         orderRequest.setStatus(OrderStatusEnum.CONFIRMED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(existingOrder));
         when(shippingAddressRepository.findById(shippingAddressId)).thenReturn(Optional.of(newAddress));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderMapper.toOrderResponse(any(Order.class))).thenAnswer(invocation -> {
@@ -1244,7 +1234,7 @@ public class TestOrderService {
         assertEquals(orderId, response.getResult().getId());
 
         // Verify
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findByIdForUpdate(orderId);
         verify(shippingAddressRepository, times(1)).findById(shippingAddressId);
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(orderMapper, times(1)).toOrderResponse(any(Order.class));
@@ -1319,5 +1309,161 @@ public class TestOrderService {
 
     }
 
+    @Test
+    @DisplayName("TC_ORDER_022 - Admin hủy đơn - hoàn kho và trả lại lượt dùng discount đúng một lần")
+    void TC_ORDER_022_adminCancel_shouldRestockAndReleaseDiscountOnce() {
+        // Arrange
+        String orderId = "order-022";
+
+        UserDiscount userDiscount = new UserDiscount();
+        userDiscount.setId("ud-022");
+
+        Order existingOrder = new Order();
+        existingOrder.setId(orderId);
+        existingOrder.setStatus(OrderStatusEnum.PENDING);
+        existingOrder.setUserDiscount(userDiscount);
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setStatus(OrderStatusEnum.CANCELLED);
+
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.transitionStatus(orderId, OrderStatusEnum.CANCELLED)).thenReturn(1).thenReturn(0);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderService.adminEditOrder(orderId, orderRequest);
+        existingOrder.setStatus(OrderStatusEnum.PENDING);
+        orderService.adminEditOrder(orderId, orderRequest);
+
+        // Assert - lần hủy thứ hai không làm gì vì đơn đã bị hủy
+        verify(inventoryRestockService, times(1)).restockOrders(List.of(orderId));
+        verify(discountRedemptionService, times(1)).release(userDiscount);
+        assertEquals(OrderStatusEnum.CANCELLED, existingOrder.getStatus());
+    }
+
+    @Test
+    @DisplayName("TC_ORDER_023 - Lịch sử đơn hàng của user - trả về trang summary từ repository")
+    void TC_ORDER_023_getOrderHistory_shouldReturnSummaryPage() {
+        // Arrange
+        String userId = "user-023";
+        Pageable pageable = PageRequest.of(0, 10);
+        OrderSummaryResponse summary = OrderSummaryResponse.builder()
+                .id("order-023")
+                .status(OrderStatusEnum.PENDING)
+                .itemCount(2L)
+                .build();
+        when(orderRepository.findSummariesByUserId(userId, pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // Act
+        ApiResponse<Page<OrderSummaryResponse>> response = orderService.getOrderHistory(userId, pageable);
+
+        // Assert
+        assertEquals(200, response.getCode());
+        assertEquals(1, response.getResult().getTotalElements());
+        assertEquals(2L, response.getResult().getContent().get(0).getItemCount());
+    }
+
+    @Test
+    @DisplayName("TC_ORDER_024 - Chi tiết đơn hàng của user khác - báo không tìm thấy")
+    void TC_ORDER_024_getOrderDetail_otherUser_shouldThrow() {
+        // Arrange
+        when(orderRepository.findDetailByIdAndUserId("order-024", "user-024")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orderService.getOrderDetail("user-024", "order-024"));
+        assertEquals("Order not found", ex.getMessage());
+        verify(orderMapper, never()).toOrderResponse(any());
+    }
+
+    @Test
+    @DisplayName("TC_ORDER_025 - Admin mở lại đơn đã hủy - báo lỗi, không trừ kho hay đổi trạng thái")
+    void TC_ORDER_025_adminReopenCancelledOrder_shouldThrow() {
+        // Arrange
+        String orderId = "order-025";
+
+        Order existingOrder = new Order();
+        existingOrder.setId(orderId);
+        existingOrder.setStatus(OrderStatusEnum.CANCELLED);
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setStatus(OrderStatusEnum.CONFIRMED);
+
+        when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(existingOrder));
+
+        // Act & Assert
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orderService.adminEditOrder(orderId, orderRequest));
+        assertEquals("Cancelled order cannot be reopened", ex.getMessage());
+        assertEquals(OrderStatusEnum.CANCELLED, existingOrder.getStatus());
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(outboxService, loyaltyService);
+    }
+
+    @Test
+    @DisplayName("TC_ORDER_026 - Khuyến mãi áp dụng toàn bộ - giá tính và khuyến mãi ghi trên OrderItem là cùng một chương trình")
+    void TC_ORDER_026_applyToAllPromotion_shouldBeChargedAndRecorded() {
+        // Arrange
+        String userId = "user-026";
+        String shippingAddressId = "address-026";
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setUserId(userId);
+        orderRequest.setShippingAddressId(shippingAddressId);
+
+        Cart cart = new Cart();
+        cart.setId("cart-026");
+        User user = new User();
+        user.setId(userId);
+        cart.setUser(user);
+
+        ShippingAddress shippingAddress = new ShippingAddress();
+        shippingAddress.setId(shippingAddressId);
 
+        Product product = new Product();
+        product.setId("prod-026");
+        product.setName("Product 26");
+        product.setPrice(new BigDecimal("100"));
+
+        Size size = new Size();
+        size.setId("size-026");
+
+        CartItem cartItem = new CartItem();
+        cartItem.setProduct(product);
+        cartItem.setSize(size);
+        cartItem.setQuantity(2);
+
+        ProductInventory productInventory = new ProductInventory();
+        productInventory.setQuantity(10);
+
+        Promotion applyToAll = new Promotion();
+        applyToAll.setId("promo-all");
+        applyToAll.setApplyToAll(true);
+        applyToAll.setDiscountPercentage(new BigDecimal("10"));
+
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order o = invocation.getArgument(0);
+            o.setId("order-026");
+            return o;
+        });
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(shippingAddressRepository.findById(shippingAddressId)).thenReturn(Optional.of(shippingAddress));
+        when(cartItemRepository.findByCartId(cart.getId())).thenReturn(List.of(cartItem));
+        when(productInventoryRepository.findByProductIdAndSizeId(product.getId(), size.getId()))
+                .thenReturn(Optional.of(productInventory));
+        when(productInventoryRepository.decrementQuantity(productInventory.getId(), cartItem.getQuantity())).thenReturn(1);
+        when(promotionService.findApplicablePromotion(product)).thenReturn(Optional.of(applyToAll));
+        when(promotionService.applyPromotion(product, applyToAll)).thenReturn(new BigDecimal("90"));
+        when(orderMapper.toOrderResponse(any(Order.class))).thenReturn(new OrderResponse());
+
+        // Act
+        orderService.createOrderFromCart(orderRequest);
+
+        // Assert
+        ArgumentCaptor<OrderItem> captor = ArgumentCaptor.forClass(OrderItem.class);
+        verify(orderItemRepository).save(captor.capture());
+        assertSame(applyToAll, captor.getValue().getPromotion());
+        assertEquals(new BigDecimal("90"), captor.getValue().getPrice());
+        verify(promotionService, times(1)).findApplicablePromotion(product);
+    }
 }
@@ -0,0 +1,130 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.OutboxEvent;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.OutboxStatus;
+import com.doan.backend.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestOutboxDispatcher {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventHandler invoiceHandler;
+
+    @Mock
+    private OutboxEventHandler notificationHandler;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    private OutboxEvent event;
+
+    @BeforeEach
+    void setup() {
+        outboxDispatcher = new OutboxDispatcher(jdbcTemplate, transactionManager, outboxEventRepository,
+                List.of(invoiceHandler, notificationHandler), 2, 10);
+        ReflectionTestUtils.setField(outboxDispatcher, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxDispatcher, "backoffMs", 1000L);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxBackoffMs", 10_000L);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(invoiceHandler.supports(OutboxEventType.ORDER_CREATED)).thenReturn(true);
+        when(notificationHandler.supports(any())).thenReturn(true);
+
+        event = OutboxEvent.builder()
+                .id(1L)
+                .aggregateId("order-001")
+                .eventType(OutboxEventType.ORDER_CREATED)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxDispatcher.shutdown();
+    }
+
+    // ===============================================================
+    // TC-OB-001: Claim được sự kiện - gọi các handler phù hợp và đánh dấu DONE
+    // ===============================================================
+    @Test
+    public void testDispatchBatch_DeliversToMatchingHandlers() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), eq(10))).thenReturn(List.of(1L));
+        when(outboxEventRepository.findAllById(List.of(1L))).thenReturn(List.of(event));
+
+        assertEquals(1, outboxDispatcher.dispatchBatch());
+
+        verify(invoiceHandler).handle(event);
+        verify(notificationHandler).handle(event);
+        verify(jdbcTemplate).batchUpdate(contains("'PROCESSING'"), anyList());
+        verify(jdbcTemplate).update(contains("'DONE'"), any(), eq(1L));
+    }
+
+    // ===============================================================
+    // TC-OB-002: Handler lỗi - sự kiện quay lại PENDING với lịch thử lại
+    // ===============================================================
+    @Test
+    public void testDeliver_FailureSchedulesRetry() {
+        doThrow(new RuntimeException("PayOS unavailable")).when(invoiceHandler).handle(event);
+
+        outboxDispatcher.deliver(event);
+
+        verify(notificationHandler, never()).handle(any());
+        verify(jdbcTemplate).update(contains("next_attempt_at"), eq("PENDING"), eq(1), any(), eq("PayOS unavailable"), eq(1L));
+        verify(jdbcTemplate, never()).update(contains("'DONE'"), any(), any());
+    }
+
+    // ===============================================================
+    // TC-OB-003: Hết số lần thử - sự kiện chuyển sang FAILED
+    // ===============================================================
+    @Test
+    public void testDeliver_ExhaustedAttemptsMarkedFailed() {
+        event.setAttempts(2);
+        doThrow(new RuntimeException("PayOS unavailable")).when(invoiceHandler).handle(event);
+
+        outboxDispatcher.deliver(event);
+
+        verify(jdbcTemplate).update(contains("next_attempt_at"), eq("FAILED"), eq(3), any(), anyString(), eq(1L));
+    }
+
+    // ===============================================================
+    // TC-OB-004: Không còn sự kiện - không gọi handler nào
+    // ===============================================================
+    @Test
+    public void testDispatchBatch_NothingToClaim() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), eq(10))).thenReturn(List.of());
+
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+
+        verifyNoInteractions(invoiceHandler, notificationHandler, outboxEventRepository);
+    }
+}
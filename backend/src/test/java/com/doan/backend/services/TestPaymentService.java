@@ -22,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import vn.payos.PayOS;
 import vn.payos.type.CheckoutResponseData;
+import vn.payos.type.PaymentLinkData;
 import vn.payos.type.Webhook;
 import vn.payos.type.WebhookData;
 
@@ -337,7 +338,71 @@ public class TestPaymentService {
         verify(invoiceRepository).findById(invoiceId);
     }
 
+    @Test
+    @DisplayName("TC_PAYMENT_010: Thanh toán đến sau khi invoice đã huỷ - Ghi nhận payment để hoàn tiền, invoice vẫn CANCELED")
+    void handlePaymentWebhook_cancelledInvoice_recordsPaymentWithoutPaying() throws Exception {
+        Webhook webhookBody = mock(Webhook.class);
+        WebhookData webhookData = mock(WebhookData.class);
+        when(payOS.verifyPaymentWebhookData(webhookBody)).thenReturn(webhookData);
+        when(webhookData.getOrderCode()).thenReturn(12345L);
+        when(webhookData.getCode()).thenReturn("PAY123");
+        when(webhookData.getAmount()).thenReturn(100000);
+        when(webhookData.getTransactionDateTime()).thenReturn("2025-05-15T10:30:00");
+
+        Payment payment = new Payment();
+        Invoice invoice = new Invoice();
+        invoice.setStatus(InvoiceStatusEnum.CANCELED);
+        invoice.setPayment(payment);
+        when(invoiceRepository.findByInvoiceNumber(CodeUtils.generateUniqueCode(Constants.INVOICE_PREFIX, 12345L)))
+                .thenReturn(Optional.of(invoice));
+
+        ObjectNode response = paymentService.handlePaymentWebhook(webhookBody);
+
+        assertEquals(0, response.get("error").asInt());
+        assertEquals(PaymentStatusEnum.COMPLETED, payment.getPaymentStatus());
+        verify(paymentRepository).save(payment);
+        verify(invoiceService, never()).updateInvoiceStatus(any(), any());
+        assertEquals(InvoiceStatusEnum.CANCELED, invoice.getStatus());
+    }
+
+    @Test
+    @DisplayName("TC_PAYMENT_011: Admin xác nhận thanh toán cho invoice đã huỷ - Báo lỗi, không thay đổi dữ liệu")
+    void updatePayment_cancelledInvoice_throwsException() {
+        Invoice invoice = new Invoice();
+        invoice.setStatus(InvoiceStatusEnum.CANCELED);
+        Payment payment = new Payment();
+        payment.setId("payment-003");
+        payment.setPaymentStatus(PaymentStatusEnum.PENDING);
+        payment.setInvoice(invoice);
+        when(paymentRepository.findById("payment-003")).thenReturn(Optional.of(payment));
+
+        PaymentRequest request = new PaymentRequest();
+        request.setPaymentStatus(PaymentStatusEnum.COMPLETED);
+        request.setPaymentMethod(PaymentMethodEnum.TRANSFER);
+        request.setAmount(new BigDecimal("150"));
 
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> paymentService.updatePayment("payment-003", request));
 
+        assertEquals("Invoice is cancelled", exception.getMessage());
+        assertEquals(PaymentStatusEnum.PENDING, payment.getPaymentStatus());
+        verify(paymentRepository, never()).save(any());
+        verify(invoiceService, never()).updateInvoiceStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("TC_PAYMENT_012: Huỷ link thanh toán - chỉ huỷ link PayOS còn PENDING")
+    void cancelPaymentLink_onlyCancelsPendingLink() throws Exception {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(Constants.INVOICE_PREFIX + "42");
+        PaymentLinkData pending = mock(PaymentLinkData.class);
+        PaymentLinkData expired = mock(PaymentLinkData.class);
+        when(pending.getStatus()).thenReturn("PENDING");
+        when(expired.getStatus()).thenReturn("EXPIRED");
+        when(payOS.getPaymentLinkInformation(42L)).thenReturn(pending, expired);
 
+        paymentService.cancelPaymentLink(invoice, "PAYMENT_EXPIRED");
+        paymentService.cancelPaymentLink(invoice, "PAYMENT_EXPIRED");
+
+        verify(payOS, Mockito.times(1)).cancelPaymentLink(42L, "PAYMENT_EXPIRED");
+    }
 }
@@ -0,0 +1,115 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestProductDetailService {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductImageService productImageService;
+
+    @Mock
+    private ProductInventoryService productInventoryService;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private PromotionService promotionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductDetailService productDetailService;
+
+    @BeforeEach
+    void setup() {
+        productDetailService = new ProductDetailService(productService, productImageService, productInventoryService,
+                reviewService, promotionService, transactionManager, 4, 10, 200);
+
+        ProductResponse product = ProductResponse.builder().id("p1").name("Áo").build();
+        when(productService.getProductById("p1")).thenReturn(ApiResponse.<ProductResponse>builder().result(product).build());
+        when(productImageService.getProductImagesByProductId("p1")).thenReturn(ApiResponse.<Iterable<ProductImageResponse>>builder().result(List.of()).build());
+        when(productInventoryService.getProductInventoryByProductId("p1")).thenReturn(ApiResponse.<Iterable<ProductInventoryResponse>>builder().result(List.of()).build());
+        when(reviewService.getReviewByProductId("p1")).thenReturn(ApiResponse.<Iterable<ReviewResponse>>builder().result(List.of()).build());
+        when(promotionService.getActivePromotionByProductId("p1")).thenReturn(ApiResponse.<PromotionResponse>builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productDetailService.shutdown();
+    }
+
+    // ===============================================================
+    // TC-PD-001: Tất cả các phần đều thành công
+    // ===============================================================
+    @Test
+    public void testGetProductDetail_AllSections() {
+        ProductDetailResponse result = productDetailService.getProductDetail("p1").getResult();
+
+        assertEquals("p1", result.getProduct().getId());
+        assertNotNull(result.getImages());
+        assertNotNull(result.getReviews());
+        assertTrue(result.getUnavailableSections().isEmpty());
+    }
+
+    // ===============================================================
+    // TC-PD-002: Một phần phụ bị lỗi - vẫn trả về sản phẩm, đánh dấu phần lỗi
+    // ===============================================================
+    @Test
+    public void testGetProductDetail_OptionalSectionFails() {
+        when(reviewService.getReviewByProductId("p1")).thenThrow(new RuntimeException("DB error"));
+
+        ProductDetailResponse result = productDetailService.getProductDetail("p1").getResult();
+
+        assertEquals("p1", result.getProduct().getId());
+        assertNull(result.getReviews());
+        assertEquals(List.of("reviews"), result.getUnavailableSections());
+    }
+
+    // ===============================================================
+    // TC-PD-003: Phần phụ quá thời gian chờ - không chặn response
+    // ===============================================================
+    @Test
+    public void testGetProductDetail_OptionalSectionTimesOut() {
+        when(productImageService.getProductImagesByProductId("p1")).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return ApiResponse.<Iterable<ProductImageResponse>>builder().result(List.of()).build();
+        });
+
+        long start = System.currentTimeMillis();
+        ProductDetailResponse result = productDetailService.getProductDetail("p1").getResult();
+
+        assertTrue(System.currentTimeMillis() - start < 900);
+        assertEquals(List.of("images"), result.getUnavailableSections());
+    }
+
+    // ===============================================================
+    // TC-PD-004: Sản phẩm không tồn tại - ném lỗi như GET /product/{id}
+    // ===============================================================
+    @Test
+    public void testGetProductDetail_ProductNotFound() {
+        when(productService.getProductById("p1")).thenThrow(new RuntimeException("Product not found"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> productDetailService.getProductDetail("p1"));
+        assertEquals("Product not found", ex.getMessage());
+    }
+}
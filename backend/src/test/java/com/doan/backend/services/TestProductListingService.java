@@ -0,0 +1,90 @@
+package com.doan.backend.services;
+
+import com.doan.backend.dto.response.ProductResponse;
+import com.doan.backend.enums.StatusEnum;
+import com.doan.backend.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestProductListingService {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductListingService productListingService;
+
+    private ProductResponse reference(String id) {
+        return ProductResponse.builder().id(id).build();
+    }
+
+    private ProductResponse listing(String id, String name) {
+        return new ProductResponse(id, name, BigDecimal.valueOf(100), BigDecimal.valueOf(90), BigDecimal.TEN,
+                4.5, StatusEnum.ACTIVE, "img.png", LocalDateTime.now(), LocalDateTime.now(), "cat-001", "Shirts");
+    }
+
+    // ===============================================================
+    // TC-PL-001: Điền thông tin sản phẩm bằng một truy vấn, không có mô tả
+    // ===============================================================
+    @Test
+    public void testFill_OneQueryForAllReferences() {
+        ProductResponse first = reference("product-001");
+        ProductResponse second = reference("product-002");
+        ProductResponse duplicate = reference("product-001");
+        when(productRepository.findListingsByIdIn(Set.of("product-001", "product-002")))
+                .thenReturn(List.of(listing("product-001", "Shirt"), listing("product-002", "Pants")));
+
+        productListingService.fill(List.of(first, second, duplicate));
+
+        assertEquals("Shirt", first.getName());
+        assertEquals("Pants", second.getName());
+        assertEquals("Shirt", duplicate.getName());
+        assertEquals("cat-001", first.getCategoryResponse().getId());
+        assertNull(first.getDescription());
+        verify(productRepository, times(1)).findListingsByIdIn(any());
+    }
+
+    // ===============================================================
+    // TC-PL-002: Không có sản phẩm - không truy vấn
+    // ===============================================================
+    @Test
+    public void testFill_NothingToFill() {
+        productListingService.fill(new ArrayList<>(Arrays.asList(null, ProductResponse.builder().build())));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    // ===============================================================
+    // TC-PL-003: Màn hình đơn hàng của admin - điền thêm mô tả sản phẩm
+    // ===============================================================
+    @Test
+    public void testFillWithDescription_AddsDescription() {
+        ProductResponse first = reference("product-001");
+        ProductResponse second = reference("product-002");
+        when(productRepository.findListingsByIdIn(Set.of("product-001", "product-002")))
+                .thenReturn(List.of(listing("product-001", "Shirt"), listing("product-002", "Pants")));
+        when(productRepository.findDescriptionsByIdIn(Set.of("product-001", "product-002")))
+                .thenReturn(List.<Object[]>of(new Object[]{"product-001", "Cotton shirt"}, new Object[]{"product-002", null}));
+
+        productListingService.fillWithDescription(List.of(first, second));
+
+        assertEquals("Shirt", first.getName());
+        assertEquals("Cotton shirt", first.getDescription());
+        assertNull(second.getDescription());
+    }
+}
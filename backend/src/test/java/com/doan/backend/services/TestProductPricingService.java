@@ -0,0 +1,84 @@
+package com.doan.backend.services;
+
+import com.doan.backend.entity.Promotion;
+import com.doan.backend.repositories.ProductRepository;
+import com.doan.backend.repositories.PromotionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestProductPricingService {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @InjectMocks
+    private ProductPricingService productPricingService;
+
+    // ===============================================================
+    // TC-PP-001: Có promotion bắt đầu/kết thúc từ lần kiểm tra trước - tính lại toàn bộ
+    // ===============================================================
+    @Test
+    public void testBoundaryPassed_RefreshesAll() {
+        productPricingService.refreshOnStartup();
+        when(promotionRepository.existsBoundaryBetween(any(), any())).thenReturn(true);
+
+        productPricingService.refreshAtPromotionBoundaries();
+
+        verify(productRepository, times(2)).refreshPricing(any(LocalDateTime.class));
+    }
+
+    // ===============================================================
+    // TC-PP-002: Không có mốc promotion nào - không cập nhật
+    // ===============================================================
+    @Test
+    public void testNoBoundary_SkipsRefresh() {
+        productPricingService.refreshOnStartup();
+        when(promotionRepository.existsBoundaryBetween(any(), any())).thenReturn(false);
+
+        productPricingService.refreshAtPromotionBoundaries();
+
+        verify(productRepository, times(1)).refreshPricing(any(LocalDateTime.class));
+    }
+
+    // ===============================================================
+    // TC-PP-003: Sửa promotion theo sản phẩm - chỉ cập nhật sản phẩm thuộc promotion
+    // ===============================================================
+    @Test
+    public void testRefreshPromotion_ProductScoped() {
+        Promotion promotion = new Promotion();
+        promotion.setId("promo-1");
+        promotion.setApplyToAll(false);
+
+        productPricingService.refreshPromotion(promotion, false);
+
+        verify(productRepository).refreshPricingByPromotionId(eq("promo-1"), any(LocalDateTime.class));
+        verify(productRepository, never()).refreshPricing(any());
+    }
+
+    // ===============================================================
+    // TC-PP-004: Promotion bỏ apply-to-all - phải tính lại toàn bộ sản phẩm
+    // ===============================================================
+    @Test
+    public void testRefreshPromotion_NoLongerApplyToAll() {
+        Promotion promotion = new Promotion();
+        promotion.setId("promo-1");
+        promotion.setApplyToAll(false);
+
+        productPricingService.refreshPromotion(promotion, true);
+
+        verify(productRepository).refreshPricing(any(LocalDateTime.class));
+    }
+}
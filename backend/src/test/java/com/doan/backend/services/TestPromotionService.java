@@ -34,6 +34,15 @@ public class TestPromotionService {
     @Mock
     private PromotionMapper promotionMapper;
 
+    @Mock
+    private ProductPricingService productPricingService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     private PromotionService promotionService;
 
@@ -508,5 +517,31 @@ public class TestPromotionService {
         assertThrows(NullPointerException.class, () -> promotionService.applyPromotionToProduct(prod));
     }
 
-}
+    // ===============================================================
+    // TC-PS-018: Sản phẩm không có promotion riêng - áp dụng promotion toàn shop
+    // Mục tiêu: Giá checkout khớp với effective_price trên danh sách sản phẩm
+    // Input: Product.price = 200, không có promotion riêng, promotion applyToAll 10%
+    // Expected: Giá trả về = 180
+    // ===============================================================
+    @Test
+    public void testApplyPromotionToProduct_FallsBackToApplyToAll() {
+        // Arrange
+        Product prod = new Product();
+        prod.setId("all");
+        prod.setPrice(new BigDecimal("200"));
+        Promotion promo = new Promotion();
+        promo.setApplyToAll(true);
+        promo.setDiscountPercentage(new BigDecimal("10"));
+        when(promotionProductRepository.findActivePromotionByProductId(eq("all"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(promotionRepository.findActiveApplyToAllPromotion(any(LocalDateTime.class)))
+                .thenReturn(Optional.of(promo));
+
+        // Act
+        BigDecimal result = promotionService.applyPromotionToProduct(prod);
+
+        // Assert
+        assertEquals(0, new BigDecimal("180").compareTo(result));
+    }
 
+}
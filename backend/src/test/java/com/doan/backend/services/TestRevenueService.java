@@ -16,11 +16,14 @@ import com.doan.backend.dto.response.CustomerStatistics.CustomerRevenueResponse;
 import com.doan.backend.dto.response.CustomerStatistics.CustomerStatisticResponse;
 import com.doan.backend.dto.response.ProductStatistics.ProductRevenueResponse;
 import com.doan.backend.dto.response.ProductStatistics.ProductStatisticResponse;
+import com.doan.backend.enums.RevenueDimension;
 import com.doan.backend.repositories.OrderItemRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class TestRevenueService {
@@ -318,8 +321,50 @@ public class TestRevenueService {
         assertTrue(resp.getResult().isEmpty(), "Khi startDate > endDate, kết quả phải rỗng");
     }
 
+    // ===============================================================
+    // TC-RS-012: Top-N sản phẩm theo doanh thu - giới hạn truyền xuống truy vấn
+    // Mục tiêu: Đảm bảo getTopRevenue gọi truy vấn top sản phẩm với LIMIT = N
+    // Input: dimension=PRODUCT, limit=20
+    // Expected: repository nhận PageRequest(0, 20), kết quả trả về nguyên thứ tự
+    // ===============================================================
+    @Test
+    public void testGetTopRevenue_ProductsLimitedInQuery() {
+        // Arrange
+        ReflectionTestUtils.setField(revenueService, "maxTopLimit", 100);
+        LocalDate start = LocalDate.of(2025, 4, 1), end = LocalDate.of(2025, 5, 1);
+        List<TopRevenueResponse> top = List.of(
+                new TopRevenueResponse("p1", "Prod1", new BigDecimal("500"), 5L),
+                new TopRevenueResponse("p2", "Prod2", new BigDecimal("200"), 2L));
+        when(orderItemRepository.getTopProducts(any(), any(), any())).thenReturn(top);
 
+        // Act
+        ApiResponse<List<TopRevenueResponse>> resp =
+                revenueService.getTopRevenue(RevenueDimension.PRODUCT, start, end, 20);
 
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(orderItemRepository).getTopProducts(eq(start.atStartOfDay()), eq(end.atStartOfDay()), pageable.capture());
+        assertEquals(20, pageable.getValue().getPageSize());
+        assertEquals(top, resp.getResult());
+        verify(orderItemRepository, never()).getProductRevenue(any(), any());
+    }
 
+    // ===============================================================
+    // TC-RS-013: Top-N vượt giới hạn cho phép
+    // Mục tiêu: Không cho phép N lớn hơn revenue.top.max-limit
+    // Input: dimension=CUSTOMER, limit=101, max-limit=100
+    // Expected: RuntimeException, không truy vấn CSDL
+    // ===============================================================
+    @Test
+    public void testGetTopRevenue_LimitTooLarge() {
+        // Arrange
+        ReflectionTestUtils.setField(revenueService, "maxTopLimit", 100);
+        LocalDate start = LocalDate.of(2025, 4, 1), end = LocalDate.of(2025, 5, 1);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> revenueService.getTopRevenue(RevenueDimension.CUSTOMER, start, end, 101));
+        assertEquals("Limit must be between 1 and 100", exception.getMessage());
+        verifyNoInteractions(orderItemRepository);
+    }
 }
-
@@ -0,0 +1,81 @@
+package com.doan.backend.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TestSearchIndexService {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(searchIndexService, "minTermLength", 2);
+    }
+
+    // ===============================================================
+    // TC-SI-001: Index do migration tạo - dùng FULLTEXT cho từ khóa đủ dài
+    // ===============================================================
+    @Test
+    public void testDetectIndexes_UsesExistingIndexes() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any())).thenReturn(1);
+
+        searchIndexService.detectIndexes();
+
+        assertTrue(searchIndexService.covers(SearchIndexService.Index.USER_EMAIL, "gmail"));
+        assertTrue(searchIndexService.covers(SearchIndexService.Index.DISCOUNT_CODE, "SALE"));
+    }
+
+    // ===============================================================
+    // TC-SI-002: Thiếu index - chỉ index đó quay về LIKE
+    // ===============================================================
+    @Test
+    public void testDetectIndexes_MissingIndexFallsBack() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any())).thenReturn(1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("users"), eq("ft_users_name"))).thenReturn(0);
+
+        searchIndexService.detectIndexes();
+
+        assertFalse(searchIndexService.covers(SearchIndexService.Index.USER_NAME, "nguyen"));
+        assertTrue(searchIndexService.covers(SearchIndexService.Index.USER_EMAIL, "nguyen"));
+    }
+
+    // ===============================================================
+    // TC-SI-003: Không kiểm tra được index hoặc từ khóa quá ngắn - dùng LIKE
+    // ===============================================================
+    @Test
+    public void testCovers_FallsBackToLike() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("no ngram parser"));
+
+        searchIndexService.detectIndexes();
+
+        assertFalse(searchIndexService.covers(SearchIndexService.Index.PROMOTION_NAME, "summer"));
+        assertFalse(searchIndexService.covers(SearchIndexService.Index.PROMOTION_NAME, "s"));
+        assertFalse(searchIndexService.covers(SearchIndexService.Index.PROMOTION_NAME, null));
+    }
+
+    // ===============================================================
+    // TC-SI-004: Phrase - bỏ dấu nháy kép để từ khóa không đổi câu truy vấn
+    // ===============================================================
+    @Test
+    public void testPhrase_StripsQuotes() {
+        assertEquals("\"an@gmail.com\"", SearchIndexService.phrase("  an@gmail.com "));
+        assertEquals("\"abc) -x\"", SearchIndexService.phrase("\"abc) -x\""));
+    }
+}
@@ -0,0 +1,141 @@
+package com.doan.backend.services;
+
+import com.doan.backend.enums.OrderStatusEnum;
+import com.doan.backend.enums.OutboxEventType;
+import com.doan.backend.enums.ShipmentStatusEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TestShipmentSyncService {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ShipmentCarrierClient shipmentCarrierClient;
+
+    @Mock
+    private LeaseLockService leaseLockService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private ShipmentSyncService shipmentSyncService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        shipmentSyncService = new ShipmentSyncService(namedParameterJdbcTemplate, transactionManager,
+                shipmentCarrierClient, leaseLockService, outboxService, 2);
+        ReflectionTestUtils.setField(shipmentSyncService, "batchSize", 2);
+        ReflectionTestUtils.setField(shipmentSyncService, "maxPerRun", 100);
+        ReflectionTestUtils.setField(shipmentSyncService, "pollIntervalMinutes", 30L);
+        ReflectionTestUtils.setField(shipmentSyncService, "leaseSeconds", 60L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(leaseLockService.tryAcquire(eq("shipment-sync"), any())).thenReturn(true);
+
+        List<String[]> due = List.of(
+                new String[]{"ship-001", "order-001", "GHTK001"},
+                new String[]{"ship-002", "order-002", "GHTK002"},
+                new String[]{"ship-003", "order-003", "GHTK003"});
+        when(namedParameterJdbcTemplate.query(startsWith("SELECT id, order_id"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(2);
+                    List<Object> rows = new ArrayList<>();
+                    for (String[] row : due) {
+                        ResultSet rs = mock(ResultSet.class);
+                        when(rs.getString("id")).thenReturn(row[0]);
+                        when(rs.getString("order_id")).thenReturn(row[1]);
+                        when(rs.getString("tracking_code")).thenReturn(row[2]);
+                        rows.add(mapper.mapRow(rs, 0));
+                    }
+                    return rows;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentSyncService.shutdown();
+    }
+
+    // ===============================================================
+    // TC-SS-001: Gom mã vận đơn thành batch và chỉ đẩy đơn hàng tiến lên
+    // ===============================================================
+    @Test
+    public void testSync_BatchesCallsAndAdvancesOrders() {
+        when(shipmentCarrierClient.track(anyList())).thenAnswer(invocation -> {
+            List<String> codes = invocation.getArgument(0);
+            if (codes.contains("GHTK001")) {
+                return Map.of("GHTK001", new ShipmentCarrierClient.Tracking(ShipmentStatusEnum.DELIVERED, "Đã giao hàng"),
+                        "GHTK002", new ShipmentCarrierClient.Tracking(ShipmentStatusEnum.IN_TRANSIT, "Đang giao hàng"));
+            }
+            return Map.of();
+        });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(orderRow("order-001", OrderStatusEnum.SHIPPING));
+            handler.processRow(orderRow("order-002", OrderStatusEnum.CANCELLED));
+            return null;
+        }).when(namedParameterJdbcTemplate).query(contains("FOR UPDATE"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        shipmentSyncService.sync();
+
+        verify(shipmentCarrierClient, times(2)).track(anyList());
+
+        ArgumentCaptor<MapSqlParameterSource> updates = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).update(startsWith("UPDATE orders"), updates.capture());
+        assertEquals(OrderStatusEnum.DELIVERED.ordinal(), updates.getValue().getValue("status"));
+        assertEquals(List.of("order-001"), updates.getValue().getValue("orderIds"));
+
+        verify(outboxService, times(1)).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), eq("order-001"), anyMap());
+        verify(namedParameterJdbcTemplate).update(startsWith("UPDATE shipments SET next_sync_at"), any(MapSqlParameterSource.class));
+        verify(leaseLockService).release("shipment-sync");
+    }
+
+    // ===============================================================
+    // TC-SS-002: Instance khác đang đồng bộ - không gọi hãng vận chuyển
+    // ===============================================================
+    @Test
+    public void testSync_LeaseHeldElsewhere() {
+        when(leaseLockService.tryAcquire(eq("shipment-sync"), any())).thenReturn(false);
+
+        shipmentSyncService.sync();
+
+        verifyNoInteractions(shipmentCarrierClient, namedParameterJdbcTemplate);
+    }
+
+    private static ResultSet orderRow(String id, OrderStatusEnum status) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(id);
+        when(rs.getInt("status")).thenReturn(status.ordinal());
+        return rs;
+    }
+}
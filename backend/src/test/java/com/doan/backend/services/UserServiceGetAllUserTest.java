@@ -30,6 +30,9 @@ class UserServiceGetAllUserTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private UserService userService;
 